@@ -2,6 +2,8 @@ package com.aicontext.maven;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -11,13 +13,22 @@ import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -29,12 +40,33 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 
-import com.aicontext.maven.graph.ClassDependencyAnalyzer;
+import com.aicontext.maven.graph.ClassDependencies;
+import com.aicontext.maven.graph.DependencyCollector;
+import com.aicontext.maven.graph.DependencyGraph;
+import com.aicontext.maven.graph.GraphConsistency;
 import com.aicontext.maven.graph.GraphEdge;
+import com.aicontext.maven.graph.GraphExporter;
 import com.aicontext.maven.graph.GraphNode;
 import com.aicontext.maven.graph.GraphNotationParser;
+import com.aicontext.maven.graph.GraphQuery;
+import com.aicontext.maven.graph.GraphRollup;
+import com.aicontext.maven.graph.GraphValidationState;
+import com.aicontext.maven.graph.GraphValidator;
+import com.aicontext.maven.graph.InverseEdges;
+import com.aicontext.maven.graph.LayerRules;
+import com.aicontext.maven.graph.ProjectGraphBuilder;
+import com.aicontext.maven.graph.ProjectTypeIndex;
+import com.aicontext.maven.graph.ReactorTypeIndex;
+import com.aicontext.maven.graph.SymbolSolvingAnalyzer;
+import com.aicontext.maven.inference.InferenceRule;
+import com.aicontext.maven.inference.InferenceRules;
+import com.aicontext.maven.output.AsyncOutputWriter;
+import com.aicontext.maven.output.OutputCommitter;
+import com.aicontext.maven.output.OutputManifest;
+import com.aicontext.maven.output.SignatureDetector;
 import com.aicontext.maven.scaffolding.FileDefinition;
 import com.aicontext.maven.scaffolding.FilterDefinition;
+import com.aicontext.maven.scaffolding.FocusDefinition;
 import com.aicontext.maven.scaffolding.ScaffoldingConfig;
 import com.aicontext.maven.scaffolding.ScaffoldingConfigLoader;
 import com.aicontext.maven.scaffolding.SortDefinition;
@@ -43,8 +75,14 @@ import com.aicontext.maven.template.TemplateEngine;
 import com.aicontext.maven.template.TemplateLoader;
 import com.github.javaparser.JavaParser;
 import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.stmt.SynchronizedStmt;
 
 /**
  * Maven plugin to extract @aicontext-* tags and generate AI assistant
@@ -77,6 +115,70 @@ public class AIContextMojo extends AbstractMojo {
     @Parameter(property = "aicontext.validateGraph", defaultValue = "true")
     private boolean validateGraph;
 
+    // Resolve dependencies with the symbol solver (source roots + compile
+    // classpath) instead of import/package name matching; slower, cached
+    @Parameter(property = "aicontext.symbolSolving", defaultValue = "false")
+    private boolean symbolSolving;
+
+    @Parameter(defaultValue = "${project.compileSourceRoots}", readonly = true)
+    private List<String> compileSourceRoots;
+
+    // Only holds the dependency jars under generate-docs-resolved, which resolves them
+    @Parameter(defaultValue = "${project.compileClasspathElements}", readonly = true)
+    private List<String> classpathElements;
+
+    // Comma-separated export formats for the relationship graph: dot, mermaid,
+    // graphml, json (none by default)
+    @Parameter(property = "aicontext.graphExportFormats")
+    private String graphExportFormats;
+
+    // Comma-separated package prefixes to export (all packages when empty)
+    @Parameter(property = "aicontext.graphExportPackages")
+    private String graphExportPackages;
+
+    @Parameter(property = "aicontext.graphExportDir", defaultValue = "${project.build.directory}/aicontext-graph")
+    private File graphExportDir;
+
+    // Number of package segments that name a module in the graph roll-up
+    // (com.acme.billing.api belongs to module com.acme.billing with 3)
+    @Parameter(property = "aicontext.graphModuleDepth", defaultValue = "3")
+    private int graphModuleDepth = 3;
+
+    // Write the package roll-up files (scaffolding files marked graphRollup: true);
+    // only when the project documents graphs with @aicontext-graph
+    @Parameter(property = "aicontext.graphRollupFiles", defaultValue = "false")
+    private boolean graphRollupFiles;
+
+    // Layered architecture rules checked with graph validation (see Layer)
+    @Parameter
+    private List<Layer> layers;
+
+    // Derive inference entries (transactions, concurrency, deprecations, entry
+    // points) from code structure during extraction
+    @Parameter(property = "aicontext.inference", defaultValue = "true")
+    private boolean inference = true;
+
+    // Maximum number of inference entries per source file
+    @Parameter(property = "aicontext.inferenceBudget", defaultValue = "10")
+    private int inferenceBudget = 10;
+
+    // Resolve types of the other modules of a multi-module build during graph
+    // validation (see ReactorTypeIndex)
+    @Parameter(property = "aicontext.reactorTypes", defaultValue = "true")
+    private boolean reactorTypes = true;
+
+    @Parameter(defaultValue = "${session.executionRootDirectory}", readonly = true)
+    private File executionRoot;
+
+    @Parameter(defaultValue = "${session.startTime}", readonly = true)
+    private Date buildStart;
+
+    @Parameter(property = "aicontext.fsync", defaultValue = "false")
+    private boolean fsync;
+
+    @Parameter(property = "aicontext.writeQueueSize", defaultValue = "64")
+    private int writeQueueSize = 64;
+
     // Default output locations for each assistant (correct locations where they
     // read instructions)
     private static final Map<String, String> DEFAULT_OUTPUT_DIRS = Map.of(
@@ -97,11 +199,27 @@ public class AIContextMojo extends AbstractMojo {
             "payment", "transaction", "billing", "invoice", "critical", "compliance",
             "audit", "regulatory", "gdpr", "pci", "hipaa", "financial", "money");
 
+    // Annotations (Lombok) whose processors add methods the source does not show
+    private static final Set<String> GENERATED_MEMBER_ANNOTATIONS = Set.of(
+            "Getter", "Setter", "Data", "Value", "Builder", "SuperBuilder", "With", "Wither",
+            "ToString", "EqualsAndHashCode", "Delegate", "Accessors");
+
+    // Methods every enum has without declaring them
+    private static final List<String> ENUM_METHODS = List.of(
+            "values", "valueOf", "name", "ordinal", "compareTo", "getDeclaringClass", "describeConstable");
+
     // Signature marker to identify plugin-generated files
     private static final String SIGNATURE_MARKER = "AIContext:generated";
     private static final String MARKDOWN_SIGNATURE = "<!-- " + SIGNATURE_MARKER + " -->";
     private static final String YAML_SIGNATURE = "# " + SIGNATURE_MARKER;
 
+    // Stands in for {{lastUpdated}} until the committer writes a changed file, so
+    // the timestamp alone never makes a file look changed
+    private static final String LAST_UPDATED_PLACEHOLDER = "@@aicontext-last-updated@@";
+
+    // Reads only the header of candidate files (signature is on the first line)
+    private final SignatureDetector signatureDetector = new SignatureDetector(SIGNATURE_MARKER);
+
     // Custom section marker - content below this line is preserved on regeneration
     private static final String CUSTOM_SECTION_MARKER = "AICONTEXT:CUSTOM";
     private static final String MARKDOWN_CUSTOM_SECTION = "\n---\n\n<!-- " + CUSTOM_SECTION_MARKER
@@ -118,6 +236,35 @@ public class AIContextMojo extends AbstractMojo {
 
     private static final Pattern DATE_PATTERN = Pattern.compile("\\[(\\d{4}-\\d{2}-\\d{2})\\]");
 
+    // Manifest of the previous run (ownership, up-to-date and stale checks) and
+    // of the current run; null when no outputDir is configured
+    private OutputManifest previousManifest;
+    private OutputManifest manifest;
+
+    // Stages generated files as temp files and moves them into place per assistant
+    private OutputCommitter committer;
+
+    // Write-behind queue feeding the committer so rendering overlaps with disk I/O
+    private AsyncOutputWriter writer;
+
+    // Project types and per-class dependencies, collected while scanning
+    private ProjectTypeIndex projectTypes;
+    // Types of the modules this one depends on; null outside a reactor or when disabled
+    private ReactorTypeIndex reactor;
+    private Map<String, ClassDependencies> classDependencies;
+    // Content hash of every scanned source file, by path
+    private Map<String, String> fileHashes;
+    // Names of the methods every class declares, by fully qualified class name
+    private Map<String, Set<String>> declaredMethods;
+    // One instance per name found in any @aicontext-graph of the run
+    private Map<String, String> graphNames = new ConcurrentHashMap<>();
+    // Inference rules run by the entry extractor; empty when inference is off
+    private List<InferenceRule> inferenceRules = List.of();
+    private DependencyGraph projectGraph;
+    private InverseEdges inverseEdges;
+    private GraphRollup graphRollup;
+    private GraphQuery graphQuery;
+
     @Override
     public void execute() throws MojoExecutionException {
         // Check if assistants parameter is configured
@@ -135,6 +282,12 @@ public class AIContextMojo extends AbstractMojo {
             // Parse assistant list
             String[] assistantList = assistants.split(",");
 
+            // Load the manifest written by the previous run
+            loadManifests();
+            committer = new OutputCommitter(previousManifest, manifest, fsync, CUSTOM_SECTION_MARKER);
+            committer.setTimestamp(LAST_UPDATED_PLACEHOLDER, lastUpdated());
+            writer = new AsyncOutputWriter(committer, writeQueueSize);
+
             // Check for existing instruction files before generating
             if (!forceOverwrite) {
                 List<String> existingFiles = checkExistingInstructionFiles(assistantList);
@@ -155,6 +308,19 @@ public class AIContextMojo extends AbstractMojo {
 
             // Collect all AI context data
             List<AIContextEntry> entries = scanJavaFiles();
+            if (outputDir != null) {
+                // Lets validate-graph check changed files without parsing the tree
+                projectTypes.save(outputDir.toPath().resolve(ProjectTypeIndex.FILE_NAME));
+            }
+            if (reactor != null) {
+                reactor.publish(ReactorModules.moduleId(project, sourceDir), projectTypes);
+            }
+
+            // Project-wide graph of detected and documented class dependencies
+            projectGraph = buildProjectGraph(entries);
+            inverseEdges = new InverseEdges(projectGraph);
+            graphQuery = new GraphQuery(projectGraph);
+            graphRollup = GraphRollup.of(projectGraph, this::packageOfType, graphModuleDepth);
 
             // Validate graph documentation if enabled (dependency vs @aicontext-graph /
             // @aicontext-graph-ignore)
@@ -162,17 +328,46 @@ public class AIContextMojo extends AbstractMojo {
                 validateGraphDocumentation(entries);
             }
 
+            if (graphExportFormats != null && !graphExportFormats.isBlank()) {
+                exportGraphs(entries);
+            }
+
             // Generate documentation for each AI assistant
             for (String assistant : assistantList) {
                 generateAssistantDocs(assistant.trim(), entries);
             }
 
+            // Drop files that the previous run generated but this one did not
+            // (e.g. per-entry files for deleted tags), then persist the manifest
+            if (manifest != null) {
+                Set<String> activeAssistants = new TreeSet<>();
+                for (String assistant : assistantList) {
+                    activeAssistants.add(assistant.trim().toLowerCase());
+                }
+                manifest.carryOverExcept(previousManifest, activeAssistants);
+                removeStaleFiles();
+                manifest.save();
+            }
+
             getLog().info(String.format(
                     "AIContext: Generated docs for %d assistants with %d entries",
                     assistantList.length, entries.size()));
 
         } catch (IOException e) {
             throw new MojoExecutionException("Failed to generate AI context docs", e);
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException ignored) {
+                    // Every batch was flushed (and its failure reported) already
+                }
+                writer = null;
+            }
+            if (committer != null) {
+                committer.abort();
+                committer = null;
+            }
         }
     }
 
@@ -220,7 +415,10 @@ public class AIContextMojo extends AbstractMojo {
 
     private void checkFile(Path path, List<String> existingFiles) {
         if (Files.exists(path) && Files.isRegularFile(path)) {
-            // Check if the file was generated by the plugin (has our signature marker)
+            // Files listed in the manifest are ours; otherwise look for the signature marker
+            if (previousManifest != null && previousManifest.contains(path)) {
+                return;
+            }
             if (!isPluginGeneratedFile(path)) {
                 existingFiles.add(path.toString());
             }
@@ -229,22 +427,20 @@ public class AIContextMojo extends AbstractMojo {
 
     /**
      * Check if a file was generated by this plugin by looking for the signature
-     * marker.
+     * marker. Only the first few kilobytes are read unless the marker is missing
+     * there; unreadable files are assumed not to be ours.
      */
     private boolean isPluginGeneratedFile(Path path) {
-        try {
-            // Read first few lines to check for signature
-            String content = Files.readString(path);
-            return content.contains(SIGNATURE_MARKER);
-        } catch (IOException e) {
-            // If we can't read the file, assume it's not ours
-            return false;
-        }
+        return signatureDetector.isSigned(path);
     }
 
     private void checkDirectory(Path path, List<String> existingFiles) {
         if (Files.exists(path) && Files.isDirectory(path)) {
-            // Check if any file in the directory has our signature marker
+            // Directories holding manifest entries are ours; otherwise check if any
+            // file in the directory has our signature marker
+            if (previousManifest != null && previousManifest.containsAnyUnder(path)) {
+                return;
+            }
             if (!isPluginGeneratedDirectory(path)) {
                 existingFiles.add(path.toString() + " (directory)");
             }
@@ -265,6 +461,46 @@ public class AIContextMojo extends AbstractMojo {
         }
     }
 
+    /**
+     * Loads the previous run's manifest from outputDir and starts an empty one
+     * for this run. Without an outputDir both stay null and every check falls
+     * back to reading the files.
+     */
+    private void loadManifests() {
+        previousManifest = null;
+        manifest = null;
+        if (outputDir == null) {
+            return;
+        }
+        Path manifestDir = outputDir.toPath();
+        try {
+            previousManifest = OutputManifest.load(manifestDir);
+        } catch (IOException e) {
+            getLog().warn("Could not read " + OutputManifest.FILE_NAME + ", ignoring it: " + e.getMessage());
+            previousManifest = new OutputManifest(manifestDir);
+        }
+        manifest = new OutputManifest(manifestDir);
+    }
+
+    /**
+     * Deletes files recorded by the previous run that were not generated again.
+     * Files modified since the plugin wrote them are kept (they may hold custom
+     * notes) and reported instead.
+     */
+    private void removeStaleFiles() throws IOException {
+        for (Path stale : previousManifest.staleFiles(manifest)) {
+            if (!Files.isRegularFile(stale)) {
+                continue;
+            }
+            if (previousManifest.isUnmodified(stale)) {
+                Files.delete(stale);
+                getLog().debug("Removed stale generated file: " + stale);
+            } else {
+                getLog().warn("AIContext: " + stale + " is no longer generated but was modified; keeping it.");
+            }
+        }
+    }
+
     /**
      * Resolve the output directory for a given assistant.
      * Priority: 1. assistantOutputDirs override, 2. config outputDir, 3. default
@@ -318,13 +554,24 @@ public class AIContextMojo extends AbstractMojo {
     private List<AIContextEntry> scanJavaFiles() throws IOException {
         List<AIContextEntry> entries = new ArrayList<>();
         JavaParser parser = new JavaParser();
+        projectTypes = new ProjectTypeIndex();
+        reactor = reactorTypes && executionRoot != null ? ReactorModules.view(project, executionRoot, buildStart) : null;
+        projectTypes.setReactor(reactor);
+        classDependencies = new HashMap<>();
+        fileHashes = new HashMap<>();
+        declaredMethods = new HashMap<>();
+        graphNames = new ConcurrentHashMap<>();
+        inferenceRules = inference ? InferenceRules.load(getClass().getClassLoader()) : List.of();
 
         Files.walk(sourceDir.toPath())
                 .filter(path -> path.toString().endsWith(".java"))
                 .forEach(path -> {
                     try {
-                        CompilationUnit cu = parser.parse(path).getResult().orElse(null);
+                        String source = Files.readString(path, StandardCharsets.UTF_8);
+                        fileHashes.put(path.toString(), OutputManifest.hash(source));
+                        CompilationUnit cu = parser.parse(source).getResult().orElse(null);
                         if (cu != null) {
+                            projectTypes.addCompilationUnit(cu, path.toString());
                             entries.addAll(extractEntries(cu, path));
                         }
                     } catch (IOException e) {
@@ -332,62 +579,191 @@ public class AIContextMojo extends AbstractMojo {
                     }
                 });
 
+        for (AIContextEntry entry : entries) {
+            for (GraphNotationParser.Problem problem : entry.getGraphProblems()) {
+                getLog().warn(entry.filePath + ":" + entry.lineNumber + ": @aicontext-graph " + problem
+                        + " (line skipped)");
+            }
+        }
+
         // Sort by priority (architectural > implementation)
         entries.sort(Comparator.comparingInt(AIContextEntry::getPriority).reversed());
 
         return entries;
     }
 
+    /**
+     * Extracts tag entries and class dependencies in a single traversal of the
+     * compilation unit.
+     */
     private List<AIContextEntry> extractEntries(CompilationUnit cu, Path filePath) {
-        List<AIContextEntry> entries = new ArrayList<>();
-        String packageName = cu.getPackageDeclaration()
-                .map(pd -> pd.getNameAsString())
-                .orElse("");
+        EntryExtractor extractor = new EntryExtractor(projectTypes.scopeOf(cu), filePath.toString());
+        classDependencies.putAll(extractor.collect(cu));
+
+        // Class-level entries first, then method-level, then inferred (per file)
+        List<AIContextEntry> entries = new ArrayList<>(extractor.classEntries);
+        entries.addAll(extractor.methodEntries);
+        entries.addAll(extractor.inferredEntries);
+        if (extractor.inferredEntries.size() >= inferenceBudget && !inferenceRules.isEmpty()) {
+            getLog().debug("AIContext: Inference budget of " + inferenceBudget + " reached in " + filePath);
+        }
+        return entries;
+    }
 
-        // Extract from classes (architectural level)
-        cu.findAll(ClassOrInterfaceDeclaration.class).forEach(cls -> {
+    /**
+     * Collects @aicontext-* tags from class (architectural) and method
+     * (implementation) Javadoc while the dependency collector walks the AST, and
+     * runs the inference rules on the same nodes (at most
+     * {@code inferenceBudget} inferred entries per file).
+     */
+    private class EntryExtractor extends DependencyCollector {
+        private final String packageName;
+        private final String filePath;
+        private final List<AIContextEntry> classEntries = new ArrayList<>();
+        private final List<AIContextEntry> methodEntries = new ArrayList<>();
+        private final List<AIContextEntry> inferredEntries = new ArrayList<>();
+
+        EntryExtractor(ProjectTypeIndex.Scope scope, String filePath) {
+            super(scope);
+            this.packageName = scope.getPackageName();
+            this.filePath = filePath;
+        }
+
+        @Override
+        public void visit(ClassOrInterfaceDeclaration cls, Void arg) {
             String className = cls.getNameAsString();
+            String qualifiedName = ProjectTypeIndex.qualifiedName(packageName, cls);
+            if (!generatesMembers(cls)) {
+                // Otherwise its methods are unknown, like those of an external supertype
+                declaredMethods.computeIfAbsent(qualifiedName, n -> new HashSet<>());
+            }
             cls.getJavadocComment().ifPresent(javadoc -> {
-                List<TagData> tags = extractTags(javadoc.getContent());
-                for (TagData tag : tags) {
-                    entries.add(new AIContextEntry(
+                for (TagData tag : extractTags(javadoc.getContent())) {
+                    classEntries.add(new AIContextEntry(
                             packageName + "." + className,
-                            filePath.toString(),
+                            filePath,
                             AIContextEntry.Level.ARCHITECTURAL,
                             tag.type,
                             tag.content,
                             tag.timestamp,
-                            cls.getBegin().map(pos -> pos.line).orElse(0)));
+                            cls.getBegin().map(pos -> pos.line).orElse(0),
+                            qualifiedName,
+                            graphNames));
                 }
             });
-        });
+            infer(packageName + "." + className, AIContextEntry.Level.ARCHITECTURAL, cls, qualifiedName,
+                    (rule, sink) -> rule.onClass(cls, sink));
+            super.visit(cls, arg);
+        }
+
+        @Override
+        public void visit(EnumDeclaration enumeration, Void arg) {
+            declaredMethods.computeIfAbsent(ProjectTypeIndex.qualifiedName(packageName, enumeration),
+                    n -> new HashSet<>()).addAll(ENUM_METHODS);
+            super.visit(enumeration, arg);
+        }
+
+        private static boolean generatesMembers(ClassOrInterfaceDeclaration cls) {
+            if (hasGeneratedMemberAnnotation(cls.getAnnotations())) {
+                return true;
+            }
+            for (FieldDeclaration field : cls.getFields()) {
+                if (hasGeneratedMemberAnnotation(field.getAnnotations())) {
+                    return true;
+                }
+            }
+            return false;
+        }
 
-        // Extract from methods (implementation level)
-        cu.findAll(MethodDeclaration.class).forEach(method -> {
+        private static boolean hasGeneratedMemberAnnotation(List<AnnotationExpr> annotations) {
+            for (AnnotationExpr annotation : annotations) {
+                if (GENERATED_MEMBER_ANNOTATIONS.contains(annotation.getName().getIdentifier())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void visit(FieldDeclaration field, Void arg) {
+            field.findAncestor(ClassOrInterfaceDeclaration.class).ifPresent(cls -> infer(
+                    packageName + "." + cls.getNameAsString(), AIContextEntry.Level.ARCHITECTURAL, field,
+                    ProjectTypeIndex.qualifiedName(packageName, cls), (rule, sink) -> rule.onField(field, sink)));
+            super.visit(field, arg);
+        }
+
+        @Override
+        public void visit(SynchronizedStmt block, Void arg) {
+            var cls = block.findAncestor(ClassOrInterfaceDeclaration.class);
+            if (cls.isPresent()) {
+                String location = block.findAncestor(MethodDeclaration.class)
+                        .map(m -> packageName + "." + cls.get().getNameAsString() + "." + m.getNameAsString() + "()")
+                        .orElse(packageName + "." + cls.get().getNameAsString());
+                infer(location, AIContextEntry.Level.IMPLEMENTATION, block,
+                        ProjectTypeIndex.qualifiedName(packageName, cls.get()),
+                        (rule, sink) -> rule.onSynchronized(block, sink));
+            }
+            super.visit(block, arg);
+        }
+
+        /**
+         * Runs every inference rule on one node until the file's budget is used up.
+         */
+        private void infer(String location, AIContextEntry.Level level, Node node, String qualifiedName,
+                BiConsumer<InferenceRule, Consumer<String>> rule) {
+            int line = node.getBegin().map(pos -> pos.line).orElse(0);
+            Consumer<String> sink = content -> {
+                if (inferredEntries.size() < inferenceBudget) {
+                    inferredEntries.add(new AIContextEntry(location, filePath, level, "inference", content, null,
+                            line, qualifiedName));
+                }
+            };
+            for (InferenceRule inferenceRule : inferenceRules) {
+                if (inferredEntries.size() >= inferenceBudget) {
+                    return;
+                }
+                rule.accept(inferenceRule, sink);
+            }
+        }
+
+        @Override
+        public void visit(MethodDeclaration method, Void arg) {
             String methodName = method.getNameAsString();
-            String className = method.findAncestor(ClassOrInterfaceDeclaration.class)
-                    .map(cls -> cls.getNameAsString())
-                    .orElse("Unknown");
+            var enclosing = method.findAncestor(ClassOrInterfaceDeclaration.class);
+            String className = enclosing.map(cls -> cls.getNameAsString()).orElse("Unknown");
+            String qualifiedName = enclosing.map(cls -> ProjectTypeIndex.qualifiedName(packageName, cls)).orElse(null);
+            if (method.getParentNode().orElse(null) instanceof TypeDeclaration<?> declaring) {
+                // Recorded for the class or enum declaring it, unless its members are unknown
+                Set<String> methods = declaredMethods.get(ProjectTypeIndex.qualifiedName(packageName, declaring));
+                if (methods != null) {
+                    methods.add(methodName);
+                }
+            }
 
             method.getJavadocComment().ifPresent(javadoc -> {
-                List<TagData> tags = extractTags(javadoc.getContent());
-                for (TagData tag : tags) {
-                    entries.add(new AIContextEntry(
+                for (TagData tag : extractTags(javadoc.getContent())) {
+                    methodEntries.add(new AIContextEntry(
                             packageName + "." + className + "." + methodName + "()",
-                            filePath.toString(),
+                            filePath,
                             AIContextEntry.Level.IMPLEMENTATION,
                             tag.type,
                             tag.content,
                             tag.timestamp,
-                            method.getBegin().map(pos -> pos.line).orElse(0)));
+                            method.getBegin().map(pos -> pos.line).orElse(0),
+                            qualifiedName,
+                            graphNames));
                 }
             });
-        });
-
-        return entries;
+            infer(packageName + "." + className + "." + methodName + "()", AIContextEntry.Level.IMPLEMENTATION,
+                    method, qualifiedName, (rule, sink) -> rule.onMethod(method, sink));
+            super.visit(method, arg);
+        }
     }
 
-    private List<TagData> extractTags(String javadocContent) {
+    /**
+     * @aicontext-* tags of one Javadoc comment (shared with generate-graphs).
+     */
+    static List<TagData> extractTags(String javadocContent) {
         List<TagData> tags = new ArrayList<>();
         Matcher matcher = TAG_PATTERN.matcher(javadocContent);
 
@@ -413,112 +789,530 @@ public class AIContextMojo extends AbstractMojo {
      * Validates that classes with @aicontext-graph document all project
      * dependencies
      * (or list them in @aicontext-graph-ignore). Lenient: warns if graph documents
-     * unused types.
+     * unused types. Layer rule violations fail the build in the same step.
      */
     private void validateGraphDocumentation(List<AIContextEntry> entries) throws MojoExecutionException {
+        List<String> errors = checkLayerRules();
+        validateClassGraphs(entries, errors);
+        for (String warning : checkGraphConsistency(entries)) {
+            getLog().warn(warning);
+        }
+        if (!errors.isEmpty()) {
+            for (String err : errors) {
+                getLog().error(err);
+            }
+            throw new MojoExecutionException(
+                    "Graph validation failed: undocumented dependencies or layer violations. See errors above.");
+        }
+    }
+
+    /**
+     * Mismatches between the [calls] and [by] edges of different graphs, and
+     * [calls] to methods that do not exist. Runs on every build (linear in edges).
+     */
+    private List<String> checkGraphConsistency(List<AIContextEntry> entries) {
+        if (declaredMethods == null || classDependencies == null) {
+            return List.of();
+        }
+        GraphConsistency consistency = new GraphConsistency(declaredMethods, classDependencies);
+        for (AIContextEntry entry : entries) {
+            if ("graph".equals(entry.type) && entry.className != null) {
+                consistency.add(entry.className, entry.filePath + ":" + entry.lineNumber, entry.getGraphNodes(),
+                        classDependencies.get(entry.className));
+            }
+        }
+        return consistency.check();
+    }
+
+    /**
+     * Layer rule violations in the detected dependencies; none without {@code layers}.
+     */
+    private List<String> checkLayerRules() throws MojoExecutionException {
+        List<String> errors = new ArrayList<>();
+        if (layers == null || layers.isEmpty() || projectGraph == null) {
+            return errors;
+        }
+        LayerRules rules;
+        try {
+            rules = new LayerRules(Layer.toRules(layers));
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException("Invalid layers configuration: " + e.getMessage(), e);
+        }
+        errors.addAll(rules.check(projectGraph, this::packageOfType));
+        getLog().debug("AIContext: Checked " + rules.layers().size() + " layer(s), "
+                + errors.size() + " violation(s)");
+        return errors;
+    }
+
+    /**
+     * Compares every @aicontext-graph with the collected dependencies, adding
+     * its errors to {@code errors}; unchanged classes replay the stored state.
+     */
+    private void validateClassGraphs(List<AIContextEntry> entries, List<String> errors)
+            throws MojoExecutionException {
         List<AIContextEntry> graphEntries = entries.stream()
                 .filter(e -> e.level == AIContextEntry.Level.ARCHITECTURAL && "graph".equals(e.type))
                 .collect(Collectors.toList());
         if (graphEntries.isEmpty())
             return;
 
-        Map<String, String> ignoreByLocation = entries.stream()
+        Map<String, String> ignoreByClass = entries.stream()
                 .filter(e -> e.level == AIContextEntry.Level.ARCHITECTURAL && "graph-ignore".equals(e.type))
-                .collect(Collectors.toMap(AIContextEntry::getLocation, e -> e.content, (a, b) -> a));
+                .collect(Collectors.toMap(AIContextEntry::getClassName, e -> e.content, (a, b) -> a));
 
-        Set<String> projectClasses = new HashSet<>();
-        JavaParser parser = new JavaParser();
-        try {
-            Files.walk(sourceDir.toPath())
-                    .filter(p -> p.toString().endsWith(".java"))
-                    .forEach(path -> {
-                        try {
-                            CompilationUnit cu = parser.parse(path).getResult().orElse(null);
-                            if (cu != null) {
-                                projectClasses.addAll(ClassDependencyAnalyzer.getClassSimpleNamesInCu(cu));
-                            }
-                        } catch (IOException ignored) {
-                        }
-                    });
-        } catch (IOException e) {
-            getLog().warn("Could not build project class set for graph validation: " + e.getMessage());
+        if (classDependencies == null) {
+            getLog().warn("Class dependencies were not collected; skipping graph validation");
             return;
         }
 
-        List<String> errors = new ArrayList<>();
+        // Only classes whose file changed, or that mention a project type that was
+        // added or removed since the last run, are validated again
+        Map<String, String> hashByClass = new LinkedHashMap<>();
         for (AIContextEntry graphEntry : graphEntries) {
-            String location = graphEntry.getLocation();
-            String className = location.contains(".") ? location.substring(location.lastIndexOf('.') + 1) : location;
-            Path path = Paths.get(graphEntry.filePath);
-            if (!Files.isRegularFile(path) && project != null && project.getBasedir() != null) {
-                path = project.getBasedir().toPath().resolve(graphEntry.filePath);
+            if (classDependencies.containsKey(graphEntry.getClassName())) {
+                hashByClass.put(graphEntry.getClassName(),
+                        fileHashes != null ? fileHashes.getOrDefault(graphEntry.filePath, "") : "");
+            } else {
+                getLog().debug("Skipping graph validation for " + graphEntry.getLocation() + ": class not indexed");
             }
-            if (!Files.isRegularFile(path)) {
-                getLog().debug("Skipping graph validation for " + location + ": file not found " + path);
-                continue;
+        }
+        Set<String> typeNames = projectTypes.declarations().stream()
+                .map(ProjectTypeIndex.Declaration::qualifiedName)
+                .collect(Collectors.toSet());
+        if (reactor != null) {
+            // A type added to or removed from a module this one depends on also makes classes dirty
+            typeNames.addAll(reactor.typeNames());
+        }
+        Path stateFile = outputDir != null ? outputDir.toPath().resolve(GraphValidationState.FILE_NAME) : null;
+        GraphValidationState state = GraphValidationState.load(stateFile, symbolSolving ? "symbols" : "names");
+        Set<String> dirty = state.dirtyClasses(hashByClass, typeNames);
+
+        // Optional: resolve the graph-annotated files up front (parallel, cached). What a
+        // class resolves to also depends on other files, so every graph file is asked for:
+        // the cache only re-resolves those whose inputs changed, and a class whose
+        // dependencies differ from the stored ones is validated again
+        Map<String, Set<String>> solved = null;
+        if (symbolSolving) {
+            Set<Path> graphFiles = new LinkedHashSet<>();
+            for (AIContextEntry graphEntry : graphEntries) {
+                if (hashByClass.containsKey(graphEntry.getClassName())) {
+                    graphFiles.add(Paths.get(graphEntry.filePath));
+                }
             }
-            CompilationUnit cu;
-            try {
-                cu = parser.parse(path).getResult().orElse(null);
-            } catch (IOException e) {
-                getLog().warn("Could not parse " + path + " for graph validation: " + e.getMessage());
+            solved = resolveWithSymbolSolver(graphFiles, projectTypes);
+            dirty.addAll(state.changedDependencies(solved, hashByClass.keySet()));
+        }
+
+        // Everything needed was collected during the scan: no parsing from here on
+        Set<String> validated = new HashSet<>();
+        for (AIContextEntry graphEntry : graphEntries) {
+            String qualifiedName = graphEntry.getClassName();
+            if (!hashByClass.containsKey(qualifiedName) || !validated.add(qualifiedName)) {
                 continue;
             }
-            if (cu == null)
-                continue;
-            var optCls = cu.findAll(ClassOrInterfaceDeclaration.class).stream()
-                    .filter(c -> className.equals(c.getNameAsString()))
-                    .findFirst();
-            if (optCls.isEmpty())
-                continue;
+            GraphValidationState.ClassState classState;
+            if (dirty.contains(qualifiedName)) {
+                Set<String> usedTypes = solved != null
+                        ? solved.getOrDefault(qualifiedName, Set.of())
+                        : classDependencies.get(qualifiedName).resolvedTypes();
+                classState = GraphValidator.validate(graphEntry.filePath + ":" + graphEntry.lineNumber,
+                        graphEntry.getGraphNodes(), classDependencies.get(qualifiedName), usedTypes,
+                        GraphValidator.parseIgnore(ignoreByClass.getOrDefault(qualifiedName, "")),
+                        hashByClass.get(qualifiedName));
+            } else {
+                classState = state.get(qualifiedName);
+            }
+            state.put(qualifiedName, classState);
+            errors.addAll(classState.errors());
+            for (String warning : classState.warnings()) {
+                getLog().warn(warning);
+            }
+        }
+        getLog().debug("AIContext: Validated " + dirty.size() + " of " + hashByClass.size()
+                + " graph(s); the rest were unchanged");
+        state.retain(hashByClass.keySet());
+        state.setProjectTypes(typeNames);
+        try {
+            state.save();
+        } catch (IOException e) {
+            getLog().warn("Could not write " + GraphValidationState.FILE_NAME + ": " + e.getMessage());
+        }
 
-            Set<String> actual = ClassDependencyAnalyzer.findUsedProjectTypes(cu, optCls.get(), projectClasses);
-            Set<String> documented = GraphNotationParser.getDocumentedUses(graphEntry.content, className);
-            Set<String> ignoreSet = parseGraphIgnore(ignoreByLocation.getOrDefault(location, ""));
+        if (projectGraph != null) {
+            for (List<String> cycle : projectGraph.cycles()) {
+                getLog().warn("AIContext: Dependency cycle between " + cycle.stream()
+                        .map(ProjectTypeIndex::simpleName)
+                        .collect(Collectors.joining(", ")));
+            }
+        }
+    }
+
+    /**
+     * Resolves the dependencies of every class in the given files with the symbol
+     * solver. Results are cached in outputDir by file content hash, so unchanged
+     * files are not resolved again on the next build.
+     */
+    private Map<String, Set<String>> resolveWithSymbolSolver(Collection<Path> files, ProjectTypeIndex projectTypes)
+            throws MojoExecutionException {
+        List<Path> sourceRoots = new ArrayList<>();
+        sourceRoots.add(sourceDir.toPath());
+        if (compileSourceRoots != null) {
+            for (String root : compileSourceRoots) {
+                Path rootPath = Paths.get(root);
+                if (!sourceRoots.contains(rootPath)) {
+                    sourceRoots.add(rootPath);
+                }
+            }
+        }
+        List<Path> classpath = new ArrayList<>();
+        if (classpathElements != null) {
+            for (String element : classpathElements) {
+                classpath.add(Paths.get(element));
+            }
+        }
+        if (classpath.stream().noneMatch(element -> element.toString().endsWith(".jar"))) {
+            getLog().debug("AIContext: No dependency jars on the classpath; library types fall back to name "
+                    + "resolution (use the generate-docs-resolved goal to resolve them)");
+        }
+        Path cacheFile = outputDir != null ? outputDir.toPath().resolve(SymbolSolvingAnalyzer.CACHE_FILE_NAME) : null;
+        SymbolSolvingAnalyzer analyzer = new SymbolSolvingAnalyzer(sourceRoots, classpath, cacheFile,
+                Runtime.getRuntime().availableProcessors());
+        try {
+            analyzer.loadCache();
+        } catch (IOException e) {
+            getLog().warn("Could not read " + SymbolSolvingAnalyzer.CACHE_FILE_NAME + ", ignoring it: " + e.getMessage());
+        }
+        try {
+            Map<String, Set<String>> solved = analyzer.findUsedProjectTypes(files, projectTypes);
+            getLog().debug("Symbol solver resolved " + analyzer.getResolvedFileCount() + " of " + files.size()
+                    + " file(s); the rest came from the cache");
+            analyzer.saveCache();
+            return solved;
+        } catch (IOException e) {
+            throw new MojoExecutionException("Symbol solving for graph validation failed", e);
+        }
+    }
+
+    /**
+     * Builds the project dependency graph from the dependencies collected during
+     * the scan and the class-level edges of every @aicontext-graph.
+     */
+    private DependencyGraph buildProjectGraph(List<AIContextEntry> entries) {
+        ProjectGraphBuilder builder = new ProjectGraphBuilder();
+        if (classDependencies != null) {
+            builder.addDetected(classDependencies);
+        }
+        for (AIContextEntry entry : entries) {
+            if ("graph".equals(entry.type) && entry.className != null) {
+                ClassDependencies context = classDependencies != null ? classDependencies.get(entry.className) : null;
+                builder.addDocumented(entry.className, entry.getGraphNodes(), context);
+            }
+        }
+        DependencyGraph graph = builder.build();
+        getLog().debug("AIContext: Dependency graph has " + graph.nodeCount() + " nodes and "
+                + graph.edgeCount() + " edges");
+        return graph;
+    }
 
-            for (String dep : actual) {
-                if (!documented.contains(dep) && !ignoreSet.contains(dep)) {
-                    errors.add(String.format(
-                            "%s: Class dependency '%s' found but not in graph. Add to @aicontext-graph or @aicontext-graph-ignore.",
-                            graphEntry.filePath + ":" + graphEntry.lineNumber, dep));
+    /**
+     * Streams every documented graph to {@code graphExportDir/relationships.<ext>}
+     * in each configured format.
+     */
+    private void exportGraphs(List<AIContextEntry> entries) throws IOException, MojoExecutionException {
+        List<GraphExporter.Format> formats = new ArrayList<>();
+        try {
+            for (String name : graphExportFormats.split(",")) {
+                if (!name.isBlank()) {
+                    formats.add(GraphExporter.Format.parse(name));
                 }
             }
-            for (String doc : documented) {
-                if (!actual.contains(doc) && !ignoreSet.contains(doc)) {
-                    getLog().warn(graphEntry.filePath + ":" + graphEntry.lineNumber +
-                            " Graph documents '" + doc + "' but code does not use it (lenient).");
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+        List<String> packages = new ArrayList<>();
+        if (graphExportPackages != null) {
+            for (String pkg : graphExportPackages.split(",")) {
+                if (!pkg.isBlank()) {
+                    packages.add(pkg.trim());
                 }
             }
         }
-        if (!errors.isEmpty()) {
-            for (String err : errors) {
-                getLog().error(err);
+        List<GraphExporter.DocumentedGraph> graphs = new ArrayList<>();
+        for (AIContextEntry entry : entries) {
+            if ("graph".equals(entry.type) && entry.className != null) {
+                graphs.add(new GraphExporter.DocumentedGraph(entry.className, entry.getGraphNodes()));
             }
-            throw new MojoExecutionException(
-                    "Graph validation failed: dependency found but not documented. See errors above.");
         }
+
+        Path dir = graphExportDir != null ? graphExportDir.toPath() : outputDir.toPath().resolve("graph");
+        Files.createDirectories(dir);
+        GraphExporter exporter = new GraphExporter(packages);
+        for (GraphExporter.Format format : formats) {
+            Path file = dir.resolve("relationships." + format.getExtension());
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                exporter.export(graphs, format, out);
+            }
+            getLog().info("AIContext: Exported relationship graph to " + file);
+        }
+    }
+
+    /**
+     * Cycles and the most depended-on / most dependent classes of the project
+     * graph, for templates ({{#graphAnalysis}}).
+     */
+    private Map<String, Object> graphAnalysisToMap(DependencyGraph graph) {
+        Map<String, Object> m = new HashMap<>();
+        m.put("nodeCount", graph.nodeCount());
+        m.put("edgeCount", graph.edgeCount());
+
+        List<Map<String, Object>> cycles = new ArrayList<>();
+        for (List<String> cycle : graph.cycles()) {
+            Map<String, Object> c = new HashMap<>();
+            c.put("members", cycle.stream().map(ProjectTypeIndex::simpleName).collect(Collectors.toList()));
+            c.put("membersJoined", cycle.stream().map(ProjectTypeIndex::simpleName)
+                    .collect(Collectors.joining(", ")));
+            c.put("size", cycle.size());
+            cycles.add(c);
+        }
+        m.put("cycles", cycles);
+        m.put("hasCycles", !cycles.isEmpty());
+
+        List<Map<String, Object>> fanIn = new ArrayList<>();
+        for (int node : graph.top(10, true)) {
+            fanIn.add(Map.of("name", ProjectTypeIndex.simpleName(graph.name(node)), "count", graph.fanIn(node)));
+        }
+        List<Map<String, Object>> fanOut = new ArrayList<>();
+        for (int node : graph.top(10, false)) {
+            fanOut.add(Map.of("name", ProjectTypeIndex.simpleName(graph.name(node)), "count", graph.fanOut(node)));
+        }
+        m.put("topFanIn", fanIn);
+        m.put("topFanOut", fanOut);
+        m.put("hasFanMetrics", !fanIn.isEmpty());
+        return m;
+    }
+
+    /**
+     * Package of a project type by fully qualified name, or null for names that
+     * are not project types.
+     */
+    private String packageOfType(String qualifiedName) {
+        if (projectTypes == null || qualifiedName == null) {
+            return null;
+        }
+        ProjectTypeIndex.Declaration declaration = projectTypes.get(qualifiedName);
+        return declaration != null ? declaration.packageName() : null;
     }
 
-    private static Set<String> parseGraphIgnore(String content) {
-        if (content == null || content.isBlank())
-            return Set.of();
-        Set<String> set = new HashSet<>();
-        for (String s : content.split(",")) {
-            String t = s.trim();
-            if (!t.isEmpty())
-                set.add(t);
+    /**
+     * The focus class and its neighborhood for templates ({{#focus}}); adds the
+     * qualified names of the focus class and its neighbors to {@code members}.
+     */
+    Map<String, Object> focusToMap(FileDefinition fileDef, Set<String> members) {
+        FocusDefinition focus = fileDef.getFocus();
+        List<Map<String, Object>> neighbors = new ArrayList<>();
+        Map<String, Object> m = new HashMap<>();
+        m.put("class", ProjectTypeIndex.simpleName(focus.getClassName()));
+        m.put("hops", focus.getHops());
+        m.put("neighbors", neighbors);
+        int id = graphQuery != null ? graphQuery.resolve(focus.getClassName()) : -1;
+        if (id < 0) {
+            getLog().warn("AIContext: Focus class " + focus.getClassName() + " of " + fileDef.getName()
+                    + " is not in the dependency graph (or its simple name is ambiguous)");
+            m.put("hasNeighbors", false);
+            return m;
+        }
+        List<GraphQuery.Neighbor> result;
+        try {
+            result = graphQuery.neighborhood(focus.getClassName(), focus.getHops(),
+                    GraphQuery.relationMask(focus.getRelations()), GraphQuery.Direction.parse(focus.getDirection()));
+        } catch (IllegalArgumentException e) {
+            getLog().warn("AIContext: Invalid focus in " + fileDef.getName() + ": " + e.getMessage());
+            result = List.of();
+        }
+        members.add(projectGraph.name(id));
+        for (GraphQuery.Neighbor neighbor : result) {
+            members.add(neighbor.name());
+            Map<String, Object> n = new HashMap<>();
+            n.put("name", neighbor.name());
+            n.put("simpleName", ProjectTypeIndex.simpleName(neighbor.name()));
+            n.put("distance", neighbor.distance());
+            neighbors.add(n);
         }
-        return set;
+        m.put("qualifiedName", projectGraph.name(id));
+        m.put("hasNeighbors", !neighbors.isEmpty());
+        return m;
     }
 
+    /**
+     * {{#graphQuery.neighbors}}PaymentService 2 calls,uses out{{/graphQuery.neighbors}}:
+     * a class, then optionally hops (default 2), relations and direction (out,
+     * in or both); renders the simple names of the neighbors, nearest first.
+     */
+    String queryNeighbors(String spec) {
+        String[] tokens = spec.trim().split("\\s+");
+        int hops = 2;
+        List<String> relations = new ArrayList<>();
+        GraphQuery.Direction direction = GraphQuery.Direction.BOTH;
+        try {
+            for (int i = 1; i < tokens.length; i++) {
+                if (tokens[i].chars().allMatch(Character::isDigit)) {
+                    hops = Integer.parseInt(tokens[i]);
+                } else if (isDirection(tokens[i])) {
+                    direction = GraphQuery.Direction.parse(tokens[i]);
+                } else {
+                    relations.addAll(Arrays.asList(tokens[i].split(",")));
+                }
+            }
+            return graphQuery.neighborhood(tokens[0], hops, GraphQuery.relationMask(relations), direction).stream()
+                    .map(n -> ProjectTypeIndex.simpleName(n.name()))
+                    .collect(Collectors.joining(", "));
+        } catch (IllegalArgumentException e) {
+            getLog().warn("AIContext: Invalid graph query '" + spec.trim() + "': " + e.getMessage());
+            return "";
+        }
+    }
+
+    // Same spelling as GraphQuery.Direction.parse, which ignores case
+    private static boolean isDirection(String token) {
+        return Set.of("in", "out", "both").contains(token.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * {{#graphQuery.path}}OrderService PaymentRepository{{/graphQuery.path}}:
+     * two classes, then optionally relations and direction; renders a shortest
+     * path as {@code A → B → C}, or nothing when there is none.
+     */
+    String queryPath(String spec) {
+        String[] tokens = spec.trim().split("\\s+");
+        if (tokens.length < 2) {
+            getLog().warn("AIContext: Graph path query needs two classes: '" + spec.trim() + "'");
+            return "";
+        }
+        List<String> relations = new ArrayList<>();
+        GraphQuery.Direction direction = GraphQuery.Direction.OUTBOUND;
+        try {
+            for (int i = 2; i < tokens.length; i++) {
+                if (isDirection(tokens[i])) {
+                    direction = GraphQuery.Direction.parse(tokens[i]);
+                } else {
+                    relations.addAll(Arrays.asList(tokens[i].split(",")));
+                }
+            }
+            return graphQuery.shortestPath(tokens[0], tokens[1], GraphQuery.relationMask(relations), direction)
+                    .stream()
+                    .map(ProjectTypeIndex::simpleName)
+                    .collect(Collectors.joining(" → "));
+        } catch (IllegalArgumentException e) {
+            getLog().warn("AIContext: Invalid graph query '" + spec.trim() + "': " + e.getMessage());
+            return "";
+        }
+    }
+
+    /**
+     * Package and module graph for templates ({{#graphRollup}}).
+     */
+    private Map<String, Object> graphRollupToMap(GraphRollup rollup) {
+        Map<String, Object> m = new HashMap<>();
+        List<Map<String, Object>> packages = new ArrayList<>();
+        for (GraphRollup.PackageView view : rollup.packages()) {
+            Map<String, Object> p = new HashMap<>();
+            p.put("name", view.getName());
+            p.put("module", view.getModule());
+            p.put("classCount", view.getClasses().size());
+            p.put("internalCount", view.getInternalEdges().size());
+            p.put("outgoingCount", view.getOutgoingEdges().size());
+            p.put("incomingCount", view.getIncomingEdges().size());
+            packages.add(p);
+        }
+        m.put("packages", packages);
+        m.put("packageCount", packages.size());
+        m.put("moduleCount", rollup.moduleCount());
+        m.put("packageEdges", weightedEdgesToMaps(rollup.packageEdges()));
+        m.put("moduleEdges", weightedEdgesToMaps(rollup.moduleEdges()));
+        m.put("hasPackageEdges", !rollup.packageEdges().isEmpty());
+        m.put("hasModuleEdges", !rollup.moduleEdges().isEmpty());
+        return m;
+    }
+
+    private static List<Map<String, Object>> weightedEdgesToMaps(List<GraphRollup.WeightedEdge> edges) {
+        List<Map<String, Object>> result = new ArrayList<>(edges.size());
+        for (GraphRollup.WeightedEdge edge : edges) {
+            result.add(Map.of("from", edge.from(), "to", edge.to(), "weight", edge.weight()));
+        }
+        return result;
+    }
+
+    /**
+     * Drill-down of one package for templates ({{#package}}).
+     */
+    private Map<String, Object> packageViewToMap(GraphRollup.PackageView view) {
+        Map<String, Object> m = new HashMap<>();
+        m.put("name", view.getName());
+        m.put("module", view.getModule());
+        m.put("classes", view.getClasses().stream().map(ProjectTypeIndex::simpleName).collect(Collectors.toList()));
+        m.put("classCount", view.getClasses().size());
+        m.put("internalEdges", classEdgesToMaps(view.getInternalEdges()));
+        m.put("outgoingEdges", classEdgesToMaps(view.getOutgoingEdges()));
+        m.put("incomingEdges", classEdgesToMaps(view.getIncomingEdges()));
+        m.put("hasInternalEdges", !view.getInternalEdges().isEmpty());
+        m.put("hasOutgoingEdges", !view.getOutgoingEdges().isEmpty());
+        m.put("hasIncomingEdges", !view.getIncomingEdges().isEmpty());
+        return m;
+    }
+
+    private List<Map<String, Object>> classEdgesToMaps(List<GraphRollup.ClassEdge> edges) {
+        int documentedMask = DependencyGraph.DOCUMENTED_USES | DependencyGraph.DOCUMENTED_CALLS
+                | DependencyGraph.DOCUMENTED_BY;
+        List<Map<String, Object>> result = new ArrayList<>(edges.size());
+        for (GraphRollup.ClassEdge edge : edges) {
+            Map<String, Object> e = new HashMap<>();
+            e.put("from", ProjectTypeIndex.simpleName(edge.from()));
+            e.put("to", ProjectTypeIndex.simpleName(edge.to()));
+            e.put("fromPackage", packageOfType(edge.from()));
+            e.put("toPackage", packageOfType(edge.to()));
+            e.put("isDocumented", (edge.flags() & documentedMask) != 0);
+            result.add(e);
+        }
+        return result;
+    }
+
+    /**
+     * Generates all files of one assistant as a single batch: they are staged
+     * and only moved into place once every file rendered successfully.
+     */
     private void generateAssistantDocs(String assistant, List<AIContextEntry> entries)
             throws IOException {
+        try {
+            generateAssistantFiles(assistant, entries);
+            if (writer != null) {
+                writer.flush();
+            }
+            if (committer != null) {
+                committer.commit();
+            }
+        } catch (IOException | RuntimeException e) {
+            // Leave the previous output of this assistant untouched
+            if (writer != null) {
+                try {
+                    writer.flush();
+                } catch (IOException | RuntimeException ignored) {
+                }
+            }
+            if (committer != null) {
+                committer.abort();
+            }
+            throw e;
+        }
+    }
+
+    private void generateAssistantFiles(String assistant, List<AIContextEntry> entries)
+            throws IOException {
         // Try to load configuration first
         ScaffoldingConfig config = loadScaffoldingConfig(assistant);
 
         if (config != null) {
             // Use configuration-driven generation
-            generateFromConfig(config, entries);
+            generateFromConfig(assistant.toLowerCase(), config, entries);
         } else {
             // Fall back to hardcoded methods (backward compatibility)
             getLog().debug("No config found for " + assistant + ", using hardcoded generation");
@@ -571,11 +1365,11 @@ public class AIContextMojo extends AbstractMojo {
         }
     }
 
-    private void generateFromConfig(ScaffoldingConfig config, List<AIContextEntry> entries)
+    private void generateFromConfig(String assistant, ScaffoldingConfig config, List<AIContextEntry> entries)
             throws IOException {
-        // Resolve output directory using the new logic
+        // Resolve output directory using the new logic (created by the committer
+        // together with the first file written there)
         Path assistantDir = resolveOutputDir(config.getAssistant(), config);
-        Files.createDirectories(assistantDir);
 
         // Setup template engine
         Path userTemplateDir = null;
@@ -604,22 +1398,42 @@ public class AIContextMojo extends AbstractMojo {
 
         // Generate each file
         for (FileDefinition fileDef : config.getFiles()) {
-            generateFile(assistantDir, fileDef, entries, baseContext, templateEngine);
+            generateFile(assistant, assistantDir, fileDef, entries, baseContext, templateEngine);
         }
     }
 
-    private void generateFile(Path outputDir, FileDefinition fileDef,
+    private void generateFile(String assistant, Path outputDir, FileDefinition fileDef,
             List<AIContextEntry> allEntries, Map<String, Object> baseContext,
             TemplateEngine templateEngine) throws IOException {
+        // Graph roll-up files are opt-in and pointless without documented graphs
+        if (Boolean.TRUE.equals(fileDef.getGraphRollup())
+                && (!graphRollupFiles || allEntries.stream().noneMatch(e -> "graph".equals(e.type)))) {
+            return;
+        }
         // Per-entry generation (e.g. .cursor/rules/*.md)
         if (Boolean.TRUE.equals(fileDef.getPerEntry()) && fileDef.getEntryFilename() != null) {
-            generateFilePerEntry(outputDir, fileDef, allEntries, baseContext, templateEngine);
+            generateFilePerEntry(assistant, outputDir, fileDef, allEntries, baseContext, templateEngine);
+            return;
+        }
+        // Per-package generation (graph roll-up drill-down)
+        if (Boolean.TRUE.equals(fileDef.getPerPackage()) && fileDef.getEntryFilename() != null) {
+            generateFilePerPackage(assistant, outputDir, fileDef, allEntries, baseContext, templateEngine);
             return;
         }
 
         // Apply filters
         List<AIContextEntry> filteredEntries = filterEntries(allEntries, fileDef.getFilter());
 
+        // Restrict to the graph neighborhood of one class
+        Map<String, Object> focus = null;
+        if (fileDef.getFocus() != null) {
+            Set<String> neighborhood = new HashSet<>();
+            focus = focusToMap(fileDef, neighborhood);
+            filteredEntries = filteredEntries.stream()
+                    .filter(e -> neighborhood.contains(e.className))
+                    .collect(Collectors.toList());
+        }
+
         // Apply sorting
         if (fileDef.getSort() != null) {
             filteredEntries = sortEntries(filteredEntries, fileDef.getSort());
@@ -643,6 +1457,10 @@ public class AIContextMojo extends AbstractMojo {
             context.put("groupedEntries", groupedData);
         }
 
+        if (focus != null) {
+            context.put("focus", focus);
+        }
+
         // Add file-specific context
         if (fileDef.getContext() != null) {
             context.putAll(fileDef.getContext());
@@ -672,23 +1490,21 @@ public class AIContextMojo extends AbstractMojo {
         // Render template
         String content = templateEngine.render(fileDef.getTemplate(), context);
 
-        // Substitute variables in filename and resolve path
+        // Substitute variables in filename and resolve path; parent directories
+        // (for nested paths like .Bob/rules-{slug}/) are created once per run by
+        // the committer
         String fileName = substituteVariables(fileDef.getName());
         Path outputFile = outputDir.resolve(fileName);
 
-        // Create parent directories if needed (for nested paths like
-        // .Bob/rules-{slug}/)
-        Files.createDirectories(outputFile.getParent());
-
         // Write with signature marker to identify plugin-generated files
-        writeSignedFile(outputFile, content);
+        writeSignedFile(assistant, outputFile, content);
         getLog().debug("Generated: " + outputFile);
     }
 
     /**
      * Generates one file per filtered entry (e.g. .cursor/rules/*.md with frontmatter).
      */
-    private void generateFilePerEntry(Path outputDir, FileDefinition fileDef,
+    private void generateFilePerEntry(String assistant, Path outputDir, FileDefinition fileDef,
             List<AIContextEntry> allEntries, Map<String, Object> baseContext,
             TemplateEngine templateEngine) throws IOException {
         List<AIContextEntry> filteredEntries = filterEntries(allEntries, fileDef.getFilter());
@@ -702,7 +1518,6 @@ public class AIContextMojo extends AbstractMojo {
         }
 
         Path rulesDir = outputDir.resolve(substituteVariables(fileDef.getName()));
-        Files.createDirectories(rulesDir);
 
         Map<String, Integer> indexByKey = new HashMap<>();
 
@@ -725,11 +1540,49 @@ public class AIContextMojo extends AbstractMojo {
             String content = templateEngine.render(fileDef.getTemplate(), context);
             String fileName = substituteEntryFilename(fileDef.getEntryFilename(), entry.type, locationSlug, index);
             Path outputFile = rulesDir.resolve(fileName);
-            writeSignedFile(outputFile, content);
+            writeSignedFile(assistant, outputFile, content);
             getLog().debug("Generated: " + outputFile);
         }
     }
 
+    /**
+     * Generates one file per package of the graph roll-up, with the package's
+     * classes, class edges and the graph entries declared in it.
+     */
+    private void generateFilePerPackage(String assistant, Path outputDir, FileDefinition fileDef,
+            List<AIContextEntry> allEntries, Map<String, Object> baseContext,
+            TemplateEngine templateEngine) throws IOException {
+        if (graphRollup == null) {
+            return;
+        }
+        Map<String, List<AIContextEntry>> entriesByPackage = new HashMap<>();
+        for (AIContextEntry entry : filterEntries(allEntries, fileDef.getFilter())) {
+            String pkg = packageOfType(entry.className);
+            if (pkg != null) {
+                entriesByPackage.computeIfAbsent(pkg, k -> new ArrayList<>()).add(entry);
+            }
+        }
+
+        Path packagesDir = outputDir.resolve(substituteVariables(fileDef.getName()));
+        for (GraphRollup.PackageView view : graphRollup.packages()) {
+            List<AIContextEntry> packageEntries = entriesByPackage.getOrDefault(view.getName(), List.of());
+            if (fileDef.getSort() != null) {
+                packageEntries = sortEntries(packageEntries, fileDef.getSort());
+            }
+
+            Map<String, Object> context = new HashMap<>(baseContext);
+            if (fileDef.getContext() != null) {
+                context.putAll(fileDef.getContext());
+            }
+            context.put("package", packageViewToMap(view));
+            context.put("entries", prepareEntriesForTemplate(packageEntries));
+
+            String content = templateEngine.render(fileDef.getTemplate(), context);
+            Path outputFile = packagesDir.resolve(fileDef.getEntryFilename().replace("{{package}}", view.getName()));
+            writeSignedFile(assistant, outputFile, content);
+            getLog().debug("Generated: " + outputFile);
+        }
+    }
 
     private static String locationToSlug(String location) {
         if (location == null) return "";
@@ -761,33 +1614,39 @@ public class AIContextMojo extends AbstractMojo {
         return MARKDOWN_SIGNATURE;
     }
 
-    /**
-     * Write content to a file with the plugin signature marker prepended.
-     */
     /**
      * Write content to a file with the plugin signature marker prepended.
      * If the file already exists and contains custom content, preserve it.
+     * Files whose generated part is unchanged and that were not touched since
+     * the last run (per the manifest) are left alone. During execute() the file
+     * is handed to the write-behind queue and staged there; it is moved into
+     * place when the assistant's batch commits.
      */
-    private void writeSignedFile(Path file, String content) throws IOException {
+    private void writeSignedFile(String assistant, Path file, String content) throws IOException {
         String fileName = file.getFileName().toString();
         String signature = getSignatureForFile(fileName);
         String customSection = getCustomSectionForFile(fileName);
 
-        // Check if file exists and has custom content to preserve
-        String preservedCustomContent = "";
-        if (Files.exists(file)) {
-            preservedCustomContent = extractCustomContent(file);
+        // Generated part: signature + generated content + custom section. The
+        // committer appends preserved custom content and skips up-to-date files.
+        String generated = signature + "\n" + content + customSection;
+        if (writer != null) {
+            writer.submit(assistant, file, generated);
+            return;
         }
+        if (committer != null) {
+            committer.stage(assistant, file, generated);
+            return;
+        }
+        // Called outside execute(): write through a one-off committer
+        OutputCommitter direct = new OutputCommitter(null, null, fsync, CUSTOM_SECTION_MARKER);
+        direct.setTimestamp(LAST_UPDATED_PLACEHOLDER, lastUpdated());
+        direct.stage(assistant, file, generated);
+        direct.commit();
+    }
 
-        // Build the final content: signature + generated content + custom section +
-        // preserved content
-        StringBuilder finalContent = new StringBuilder();
-        finalContent.append(signature).append("\n");
-        finalContent.append(content);
-        finalContent.append(customSection);
-        finalContent.append(preservedCustomContent);
-
-        Files.writeString(file, finalContent.toString());
+    private static String lastUpdated() {
+        return LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
     }
 
     /**
@@ -802,65 +1661,6 @@ public class AIContextMojo extends AbstractMojo {
         return MARKDOWN_CUSTOM_SECTION;
     }
 
-    /**
-     * Extract custom content from an existing file (content below the custom
-     * section marker).
-     */
-    private String extractCustomContent(Path file) {
-        try {
-            String existingContent = Files.readString(file);
-            int markerIndex = existingContent.indexOf(CUSTOM_SECTION_MARKER);
-            if (markerIndex == -1) {
-                return "";
-            }
-
-            // Find the end of the marker line
-            int lineEnd = existingContent.indexOf('\n', markerIndex);
-            if (lineEnd == -1) {
-                return "";
-            }
-
-            // Return everything after the marker line
-            String customContent = existingContent.substring(lineEnd + 1);
-
-            // Skip the default custom section template if present (user hasn't modified it)
-            if (customContent.trim().startsWith("## Custom Notes") &&
-                    customContent.contains("_Add your own project-specific notes")) {
-                // Check if there's actual user content after the template
-                int templateEnd = customContent.indexOf("_Add your own project-specific notes");
-                if (templateEnd != -1) {
-                    int lineAfterTemplate = customContent.indexOf('\n', templateEnd);
-                    if (lineAfterTemplate != -1) {
-                        String afterTemplate = customContent.substring(lineAfterTemplate + 1).trim();
-                        if (afterTemplate.isEmpty()) {
-                            return ""; // No user content, skip preserving
-                        }
-                        // User added content after the template - preserve everything
-                        return customContent;
-                    }
-                }
-                return "";
-            }
-
-            // For YAML, skip the default comment template
-            if (customContent.trim().startsWith("# Add your own customizations below:")) {
-                int lineAfterComment = customContent.indexOf('\n');
-                if (lineAfterComment != -1) {
-                    String afterComment = customContent.substring(lineAfterComment + 1).trim();
-                    if (afterComment.isEmpty()) {
-                        return "";
-                    }
-                    return customContent;
-                }
-                return "";
-            }
-
-            return customContent;
-        } catch (IOException e) {
-            return "";
-        }
-    }
-
     /**
      * Substitute Maven properties and project variables in a string.
      */
@@ -1003,28 +1803,53 @@ public class AIContextMojo extends AbstractMojo {
 
             // Parsed graph nodes for @aicontext-graph (relationship notation)
             if ("graph".equals(entry.type)) {
-                List<GraphNode> graphNodes = GraphNotationParser.parseBlocks(entry.content);
-                map.put("graphNodes", graphNodesToMaps(graphNodes));
-                map.put("hasGraphNodes", !graphNodes.isEmpty());
-                if (graphNodes.size() == 1) {
-                    map.put("graphNode", graphNodeToMap(graphNodes.get(0)));
-                    map.put("graphEdges", graphEdgesToMaps(graphNodes.get(0).getEdges()));
-                }
+                map.putAll(graphViewOf(entry));
             }
 
             return map;
         }).collect(Collectors.toList());
     }
 
+    /**
+     * Template maps of a graph entry ({@code graphNodes}, {@code hasGraphNodes},
+     * and {@code graphNode}/{@code graphEdges} for single-node graphs). They are
+     * built on first use, after the project graph, and kept on the entry; every
+     * file, group and assistant then shares the same unmodifiable maps.
+     */
+    private Map<String, Object> graphViewOf(AIContextEntry entry) {
+        if (entry.graphView == null) {
+            List<GraphNode> graphNodes = withInferredEdges(entry);
+            Map<String, Object> view = new HashMap<>();
+            List<Map<String, Object>> nodeMaps = graphNodesToMaps(graphNodes);
+            view.put("graphNodes", nodeMaps);
+            view.put("hasGraphNodes", !graphNodes.isEmpty());
+            if (graphNodes.size() == 1) {
+                view.put("graphNode", nodeMaps.get(0));
+                view.put("graphEdges", nodeMaps.get(0).get("edges"));
+            }
+            entry.graphView = Map.copyOf(view);
+        }
+        return entry.graphView;
+    }
+
+    /**
+     * Graph nodes of an entry with inbound [by] edges inferred from the
+     * project graph merged in.
+     */
+    private List<GraphNode> withInferredEdges(AIContextEntry entry) {
+        if (inverseEdges == null || entry.className == null) {
+            return entry.getGraphNodes();
+        }
+        ClassDependencies context = classDependencies != null ? classDependencies.get(entry.className) : null;
+        return inverseEdges.merge(entry.className, entry.getGraphNodes(), context);
+    }
+
     private List<Map<String, Object>> graphNodesToMaps(List<GraphNode> nodes) {
-        return nodes.stream().map(this::graphNodeToMap).collect(Collectors.toList());
+        return nodes.stream().map(this::graphNodeToMap).toList();
     }
 
     private Map<String, Object> graphNodeToMap(GraphNode node) {
-        Map<String, Object> m = new HashMap<>();
-        m.put("name", node.getName());
-        m.put("edges", graphEdgesToMaps(node.getEdges()));
-        return m;
+        return Map.of("name", node.getName(), "edges", graphEdgesToMaps(node.getEdges()));
     }
 
     private List<Map<String, Object>> graphEdgesToMaps(List<GraphEdge> edges) {
@@ -1037,8 +1862,9 @@ public class AIContextMojo extends AbstractMojo {
             m.put("targetsJoined", String.join(", ", edge.getTargets()));
             m.put("isOutbound", edge.isOutbound());
             m.put("isInbound", edge.isInbound());
-            return m;
-        }).collect(Collectors.toList());
+            m.put("isInferred", edge.isInferred());
+            return Map.copyOf(m);
+        }).toList();
     }
 
     private void prepareCursorContext(Map<String, Object> context,
@@ -1091,6 +1917,7 @@ public class AIContextMojo extends AbstractMojo {
             case "decision" -> 15;
             case "graph" -> 18;
             case "context" -> 10;
+            case "inference" -> 5;
             default -> 0;
         };
 
@@ -1225,8 +2052,9 @@ public class AIContextMojo extends AbstractMojo {
         context.put("hasContextEntries", !contextEntries.isEmpty());
 
         // Grouped by location for compact context-notes: one section per class with bullet list
+        // (inferred notes included)
         List<Map<String, Object>> groupedContextEntries = allEntries.stream()
-                .filter(e -> e.type.equals("context"))
+                .filter(e -> e.type.equals("context") || e.type.equals("inference"))
                 .collect(Collectors.groupingBy(e -> e.location))
                 .entrySet().stream()
                 .map(entry -> {
@@ -1327,8 +2155,7 @@ public class AIContextMojo extends AbstractMojo {
         context.put("projectGroupId", groupId);
         context.put("projectVersion", version);
         context.put("projectType", "Java/Maven Project");
-        context.put("lastUpdated", LocalDateTime.now()
-                .format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        context.put("lastUpdated", LAST_UPDATED_PLACEHOLDER);
 
         // Mode slug for Bob
         context.put("modeSlug", artifactId + "-mode");
@@ -1343,6 +2170,7 @@ public class AIContextMojo extends AbstractMojo {
         stats.put("decisions", tagCounts.getOrDefault("decision", 0L));
         stats.put("graph", tagCounts.getOrDefault("graph", 0L));
         stats.put("context", tagCounts.getOrDefault("context", 0L));
+        stats.put("inference", tagCounts.getOrDefault("inference", 0L));
 
         long architectural = entries.stream()
                 .filter(e -> e.level == AIContextEntry.Level.ARCHITECTURAL)
@@ -1356,6 +2184,7 @@ public class AIContextMojo extends AbstractMojo {
         byType.put("decision", tagCounts.getOrDefault("decision", 0L));
         byType.put("graph", tagCounts.getOrDefault("graph", 0L));
         byType.put("context", tagCounts.getOrDefault("context", 0L));
+        byType.put("inference", tagCounts.getOrDefault("inference", 0L));
         stats.put("byType", byType);
 
         // By-level breakdown
@@ -1366,6 +2195,19 @@ public class AIContextMojo extends AbstractMojo {
 
         context.put("statistics", stats);
 
+        // Project dependency graph metrics (cycles, fan-in, fan-out)
+        if (projectGraph != null) {
+            context.put("graphAnalysis", graphAnalysisToMap(projectGraph));
+        }
+        if (graphRollup != null) {
+            context.put("graphRollup", graphRollupToMap(graphRollup));
+        }
+        if (graphQuery != null) {
+            context.put("graphQuery", Map.of(
+                    "neighbors", (Function<String, String>) this::queryNeighbors,
+                    "path", (Function<String, String>) this::queryPath));
+        }
+
         // Tag types with descriptions
         List<Map<String, String>> tagTypes = List.of(
                 Map.of("name", "rule", "description", "Coding rules and constraints"),
@@ -1440,8 +2282,7 @@ public class AIContextMojo extends AbstractMojo {
         sb.append("# ").append(projName).append(" - AI Context Guide\n\n");
         sb.append("**Project**: ").append(projName).append("\n");
         sb.append("**Type**: Java/Maven Project\n");
-        sb.append("**Last Updated**: ").append(LocalDateTime.now()
-                .format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)).append("\n\n");
+        sb.append("**Last Updated**: ").append(LAST_UPDATED_PLACEHOLDER).append("\n\n");
 
         sb.append("## Quick Start for AI Assistants\n\n");
         sb.append("This project uses `@aicontext-*` Javadoc tags to provide context:\n\n");
@@ -1478,7 +2319,7 @@ public class AIContextMojo extends AbstractMojo {
         sb.append(String.format("- Architectural: %d\n", architectural));
         sb.append(String.format("- Implementation: %d\n", entries.size() - architectural));
 
-        writeSignedFile(claudeDir.resolve("CLAUDE.md"), sb.toString());
+        writeSignedFile("claude", claudeDir.resolve("CLAUDE.md"), sb.toString());
     }
 
     private void generateArchitectureFile(Path claudeDir, List<AIContextEntry> entries)
@@ -1507,7 +2348,7 @@ public class AIContextMojo extends AbstractMojo {
                     });
                 });
 
-        writeSignedFile(claudeDir.resolve("ARCHITECTURE.md"), sb.toString());
+        writeSignedFile("claude", claudeDir.resolve("ARCHITECTURE.md"), sb.toString());
     }
 
     private void generateDecisionsFile(Path claudeDir, List<AIContextEntry> entries)
@@ -1532,7 +2373,7 @@ public class AIContextMojo extends AbstractMojo {
                     sb.append("---\n\n");
                 });
 
-        writeSignedFile(claudeDir.resolve("DECISIONS.md"), sb.toString());
+        writeSignedFile("claude", claudeDir.resolve("DECISIONS.md"), sb.toString());
     }
 
     private void generateRulesFile(Path claudeDir, List<AIContextEntry> entries)
@@ -1563,7 +2404,7 @@ public class AIContextMojo extends AbstractMojo {
                             .append(entry.lineNumber).append("`*\n\n");
                 });
 
-        writeSignedFile(claudeDir.resolve("RULES.md"), sb.toString());
+        writeSignedFile("claude", claudeDir.resolve("RULES.md"), sb.toString());
     }
 
     private void generateTagIndexFile(Path claudeDir, List<AIContextEntry> entries)
@@ -1586,7 +2427,7 @@ public class AIContextMojo extends AbstractMojo {
             });
         });
 
-        writeSignedFile(claudeDir.resolve("TAG_INDEX.md"), sb.toString());
+        writeSignedFile("claude", claudeDir.resolve("TAG_INDEX.md"), sb.toString());
     }
 
     private void generateCursorDocs(List<AIContextEntry> entries) throws IOException {
@@ -1620,7 +2461,7 @@ public class AIContextMojo extends AbstractMojo {
                     sb.append("\n");
                 });
 
-        writeSignedFile(cursorDir.resolve(".cursorrules"), sb.toString());
+        writeSignedFile("cursor", cursorDir.resolve(".cursorrules"), sb.toString());
     }
 
     private void generateCopilotDocs(List<AIContextEntry> entries) throws IOException {
@@ -1651,7 +2492,7 @@ public class AIContextMojo extends AbstractMojo {
                     sb.append("\n");
                 });
 
-        writeSignedFile(copilotDir.resolve("copilot-instructions.md"), sb.toString());
+        writeSignedFile("copilot", copilotDir.resolve("copilot-instructions.md"), sb.toString());
     }
 
     private String truncate(String text, int maxLength) {
@@ -1671,7 +2512,7 @@ public class AIContextMojo extends AbstractMojo {
     }
 
     // Data classes
-    private static class TagData {
+    static class TagData {
         final String type;
         final String content;
         final String timestamp;
@@ -1695,9 +2536,29 @@ public class AIContextMojo extends AbstractMojo {
         final String content;
         final String timestamp;
         final int lineNumber;
+        // Fully qualified name of the (enclosing) class
+        final String className;
+        // @aicontext-graph content, parsed once (with its malformed lines)
+        final List<GraphNode> graphNodes;
+        final List<GraphNotationParser.Problem> graphProblems;
+        // Template maps of the graph, built once per run (see graphViewOf)
+        Map<String, Object> graphView;
 
         AIContextEntry(String location, String filePath, Level level,
                 String type, String content, String timestamp, int lineNumber) {
+            this(location, filePath, level, type, content, timestamp, lineNumber, null);
+        }
+
+        AIContextEntry(String location, String filePath, Level level,
+                String type, String content, String timestamp, int lineNumber, String className) {
+            this(location, filePath, level, type, content, timestamp, lineNumber, className, null);
+        }
+
+        /**
+         * @param graphNames shared instances for the names in graph content, or null
+         */
+        AIContextEntry(String location, String filePath, Level level, String type, String content,
+                String timestamp, int lineNumber, String className, Map<String, String> graphNames) {
             this.location = location;
             this.filePath = filePath;
             this.level = level;
@@ -1705,6 +2566,10 @@ public class AIContextMojo extends AbstractMojo {
             this.content = content;
             this.timestamp = timestamp;
             this.lineNumber = lineNumber;
+            this.className = className;
+            GraphNotationParser.Result graph = "graph".equals(type) ? GraphNotationParser.parse(content, graphNames) : null;
+            this.graphNodes = graph != null ? graph.nodes() : List.of();
+            this.graphProblems = graph != null ? graph.problems() : List.of();
         }
 
         public String getLocation() {
@@ -1735,12 +2600,25 @@ public class AIContextMojo extends AbstractMojo {
             return lineNumber;
         }
 
+        public String getClassName() {
+            return className;
+        }
+
+        public List<GraphNode> getGraphNodes() {
+            return graphNodes;
+        }
+
+        public List<GraphNotationParser.Problem> getGraphProblems() {
+            return graphProblems;
+        }
+
         int getPriority() {
             int basePriority = level == Level.ARCHITECTURAL ? 100 : 50;
             int typePriority = switch (type) {
                 case "rule" -> 20;
                 case "decision" -> 15;
                 case "context" -> 10;
+                case "inference" -> 5;
                 default -> 0;
             };
             return basePriority + typePriority;
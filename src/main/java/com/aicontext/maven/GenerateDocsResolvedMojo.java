@@ -0,0 +1,16 @@
+package com.aicontext.maven;
+
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+/**
+ * {@code generate-docs} with the compile dependencies resolved, so that
+ * {@code symbolSolving} also resolves types from dependency jars. Resolving
+ * dependencies costs time on every run and fails for sibling modules that are
+ * not built or installed, which is why {@code generate-docs} does not do it.
+ */
+@Mojo(name = "generate-docs-resolved", defaultPhase = LifecyclePhase.COMPILE,
+        requiresDependencyResolution = ResolutionScope.COMPILE)
+public class GenerateDocsResolvedMojo extends AIContextMojo {
+}
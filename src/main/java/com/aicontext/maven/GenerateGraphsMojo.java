@@ -2,14 +2,24 @@ package com.aicontext.maven;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -17,14 +27,28 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 
-import com.aicontext.maven.graph.ClassDependencyAnalyzer;
+import com.aicontext.maven.graph.ClassDependencies;
+import com.aicontext.maven.graph.DependencyCollector;
+import com.aicontext.maven.graph.EdgeDetector;
+import com.aicontext.maven.graph.EdgeDetectors;
+import com.aicontext.maven.graph.GraphNotationParser;
+import com.aicontext.maven.graph.ProjectTypeIndex;
 import com.github.javaparser.JavaParser;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 
 /**
- * Generates suggested @aicontext-graph content per class into target/suggested-graphs/
- * so developers can review and copy into Javadoc.
+ * Generates suggested @aicontext-graph content per class into
+ * target/suggested-graphs/&lt;package path&gt;/&lt;Class&gt;.txt so developers can
+ * review and copy into Javadoc. {@value #INDEX_FILE} lists every class with its
+ * documented uses and what is missing from or extra in its current graph.
+ * <p>
+ * Files are parsed once, in parallel; suggestions are rendered and written in
+ * parallel too, and files whose content did not change are not rewritten.
+ * Suggestions of classes that no longer exist are deleted.
+ * Besides {@code [uses]}, {@link EdgeDetector}s suggest {@code [db]},
+ * {@code [events]}, {@code [config]} and {@code [external]} edges from the same
+ * traversal (see {@link EdgeDetectors}).
  * <p>
  * Run manually: {@code mvn aicontext:generate-graphs}
  */
@@ -40,9 +64,23 @@ public class GenerateGraphsMojo extends AbstractMojo {
     @Parameter(property = "aicontext.suggestedGraphsDir", defaultValue = "${project.basedir}/target/suggested-graphs")
     private File suggestedGraphsDir;
 
+    /** Index of all suggestions, in the root of the suggested graphs directory. */
+    static final String INDEX_FILE = "index.tsv";
+
     private static final String HEADER = "# Suggested @aicontext-graph for this class.\n"
             + "# Review and copy the block below into class-level Javadoc.\n"
-            + "# Add [calls], [db], [events], [by] as needed.\n\n";
+            + "# Detected edges are suggestions; add [calls] and [by] as needed.\n\n";
+
+    // Worker threads for parsing and writing; 0 = one per available processor
+    @Parameter(property = "aicontext.parallelism", defaultValue = "0")
+    private int parallelism;
+
+    // Suggest [db], [events], [config] and [external] edges with the built-in
+    // and ServiceLoader-registered edge detectors
+    @Parameter(property = "aicontext.detectEdges", defaultValue = "true")
+    private boolean detectEdges = true;
+
+    private final ThreadLocal<JavaParser> parsers = ThreadLocal.withInitial(JavaParser::new);
 
     @Override
     public void execute() throws MojoExecutionException {
@@ -53,49 +91,250 @@ public class GenerateGraphsMojo extends AbstractMojo {
 
         getLog().info("AIContext: Generating suggested graphs...");
 
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "aicontext-graphs");
+            t.setDaemon(true);
+            return t;
+        });
         try {
             Path sourcePath = sourceDir.toPath();
-            JavaParser parser = new JavaParser();
-
-            // Pass 1: collect all project class simple names
-            Set<String> projectClasses = new HashSet<>();
-            List<Path> javaFiles = Files.walk(sourcePath)
-                    .filter(p -> p.toString().endsWith(".java"))
-                    .collect(Collectors.toList());
+            List<Path> javaFiles;
+            try (Stream<Path> walk = Files.walk(sourcePath)) {
+                javaFiles = walk.filter(p -> p.toString().endsWith(".java")).collect(Collectors.toList());
+            }
 
+            // Parse phase: each file is parsed once; types are indexed and
+            // dependencies collected in the same task. Names are resolved against
+            // the index only later, once every file has been indexed.
+            ProjectTypeIndex projectTypes = new ProjectTypeIndex();
+            List<EdgeDetector> detectors = detectEdges ? EdgeDetectors.load(getClass().getClassLoader()) : List.of();
+            List<Callable<List<ClassSuggestion>>> parseTasks = new ArrayList<>();
             for (Path path : javaFiles) {
-                CompilationUnit cu = parser.parse(path).getResult().orElse(null);
-                if (cu != null) {
-                    projectClasses.addAll(ClassDependencyAnalyzer.getClassSimpleNamesInCu(cu));
-                }
+                parseTasks.add(() -> collect(path, projectTypes, detectors));
+            }
+            List<ClassSuggestion> classes = new ArrayList<>();
+            for (List<ClassSuggestion> fileClasses : runAll(pool, parseTasks)) {
+                classes.addAll(fileClasses);
             }
+            classes.sort(Comparator.comparing(c -> c.deps.getQualifiedName()));
 
-            // Pass 2: for each class, compute used types and write suggested graph
+            // Emit phase: render and write each suggestion (sharded by package)
+            // unless it is unchanged
             Path outDir = suggestedGraphsDir.toPath();
             Files.createDirectories(outDir);
-            int count = 0;
-
-            for (Path path : javaFiles) {
-                CompilationUnit cu = parser.parse(path).getResult().orElse(null);
-                if (cu == null) continue;
-
-                for (ClassOrInterfaceDeclaration cls : cu.findAll(ClassOrInterfaceDeclaration.class)) {
-                    String className = cls.getNameAsString();
-                    Set<String> used = ClassDependencyAnalyzer.findUsedProjectTypes(cu, cls, projectClasses);
-                    String content = formatSuggestedGraph(className, used);
-                    Path outFile = outDir.resolve(className + ".txt");
-                    Files.writeString(outFile, HEADER + content);
-                    count++;
-                }
+            List<Callable<Boolean>> writeTasks = new ArrayList<>();
+            for (ClassSuggestion c : classes) {
+                writeTasks.add(() -> {
+                    c.resolve();
+                    Path outFile = outDir.resolve(c.relativePath());
+                    Files.createDirectories(outFile.getParent());
+                    return writeIfChanged(outFile, HEADER + formatSuggestedGraph(c.simpleName(), c.used,
+                            c.deps.getEdges()));
+                });
+            }
+            int written = 0;
+            for (boolean changed : runAll(pool, writeTasks)) {
+                if (changed) written++;
             }
+            writeIfChanged(outDir.resolve(INDEX_FILE), formatIndex(classes));
+            Set<Path> current = classes.stream().map(c -> outDir.resolve(c.relativePath())).collect(Collectors.toSet());
+            int removed = removeStale(outDir, current);
 
-            getLog().info("AIContext: Wrote " + count + " suggested graph(s) to " + outDir);
+            long attention = classes.stream().filter(c -> !"ok".equals(c.status())).count();
+            getLog().info("AIContext: Wrote " + written + " of " + classes.size() + " suggested graph(s) to "
+                    + outDir + " (" + (classes.size() - written) + " unchanged, " + removed + " stale removed); "
+                    + attention + " class(es) need attention, see " + INDEX_FILE);
         } catch (IOException e) {
             throw new MojoExecutionException("Failed to generate suggested graphs", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private List<ClassSuggestion> collect(Path path, ProjectTypeIndex projectTypes, List<EdgeDetector> detectors)
+            throws IOException {
+        CompilationUnit cu = parsers.get().parse(path).getResult().orElse(null);
+        if (cu == null) {
+            return List.of();
+        }
+        projectTypes.addCompilationUnit(cu, path.toString());
+        String packageName = ProjectTypeIndex.packageOf(cu);
+        Map<String, ClassDependencies> collected = new DependencyCollector(projectTypes.scopeOf(cu), detectors)
+                .collect(cu);
+
+        // Current @aicontext-graph and @aicontext-graph-ignore of each class
+        List<ClassSuggestion> result = new ArrayList<>();
+        for (ClassOrInterfaceDeclaration cls : cu.findAll(ClassOrInterfaceDeclaration.class)) {
+            ClassDependencies deps = collected.get(ProjectTypeIndex.qualifiedName(packageName, cls));
+            if (deps == null) {
+                continue;
+            }
+            ClassSuggestion suggestion = new ClassSuggestion(packageName, deps);
+            cls.getJavadocComment().ifPresent(javadoc -> {
+                for (AIContextMojo.TagData tag : AIContextMojo.extractTags(javadoc.getContent())) {
+                    if ("graph".equals(tag.type) && suggestion.documented == null) {
+                        suggestion.documented = GraphNotationParser.getDocumentedUses(
+                                GraphNotationParser.parseBlocks(tag.content), suggestion.simpleName());
+                    } else if ("graph-ignore".equals(tag.type)) {
+                        for (String name : tag.content.split(",")) {
+                            if (!name.isBlank()) suggestion.ignored.add(name.trim());
+                        }
+                    }
+                }
+            });
+            result.add(suggestion);
         }
+        return result;
     }
 
-    private static String formatSuggestedGraph(String className, Set<String> used) {
+    /**
+     * One class: its dependencies, and what its current graph documents.
+     */
+    private static final class ClassSuggestion {
+        final String packageName;
+        final ClassDependencies deps;
+        // Documented [uses] (simple names), or null if the class has no graph
+        Set<String> documented;
+        final Set<String> ignored = new TreeSet<>();
+        Set<String> used;
+
+        ClassSuggestion(String packageName, ClassDependencies deps) {
+            this.packageName = packageName;
+            this.deps = deps;
+        }
+
+        /** Resolves the dependencies; only valid once every file is indexed. */
+        void resolve() {
+            used = deps.resolvedTypes().stream()
+                    .map(ProjectTypeIndex::simpleName)
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+
+        String simpleName() {
+            return ProjectTypeIndex.simpleName(deps.getQualifiedName());
+        }
+
+        /** {@code com/acme/Outer.Inner.txt} for {@code com.acme.Outer.Inner}. */
+        String relativePath() {
+            String qualifiedName = deps.getQualifiedName();
+            String local = packageName.isEmpty() ? qualifiedName : qualifiedName.substring(packageName.length() + 1);
+            return packageName.isEmpty() ? local + ".txt" : packageName.replace('.', '/') + "/" + local + ".txt";
+        }
+
+        Set<String> missing() {
+            Set<String> missing = new TreeSet<>(used);
+            if (documented != null) missing.removeAll(documented);
+            missing.removeAll(ignored);
+            return missing;
+        }
+
+        Set<String> extra() {
+            Set<String> extra = new TreeSet<>(documented != null ? documented : Set.of());
+            extra.removeAll(used);
+            extra.removeAll(ignored);
+            return extra;
+        }
+
+        /** {@code none} (no graph), {@code drift} (graph differs from code) or {@code ok}. */
+        String status() {
+            if (documented == null) return "none";
+            return missing().isEmpty() && extra().isEmpty() ? "ok" : "drift";
+        }
+    }
+
+    /**
+     * Tab-separated index of every suggestion, sorted by class name.
+     */
+    private static String formatIndex(List<ClassSuggestion> classes) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# Suggested graphs. status: none = no @aicontext-graph, drift = graph differs from code, ok\n");
+        sb.append("# class\tstatus\tfile\tdocumented\tmissing\textra\n");
+        for (ClassSuggestion c : classes) {
+            sb.append(c.deps.getQualifiedName()).append('\t')
+                    .append(c.status()).append('\t')
+                    .append(c.relativePath()).append('\t')
+                    .append(c.documented != null ? String.join(",", new TreeSet<>(c.documented)) : "").append('\t')
+                    .append(String.join(",", c.missing())).append('\t')
+                    .append(String.join(",", c.extra())).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes the file only if its content differs, so unchanged suggestions keep
+     * their timestamps.
+     *
+     * @return true if the file was written
+     */
+    private static boolean writeIfChanged(Path file, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (Files.isRegularFile(file) && Files.size(file) == bytes.length
+                && Arrays.equals(Files.readAllBytes(file), bytes)) {
+            return false;
+        }
+        Files.write(file, bytes);
+        return true;
+    }
+
+    /**
+     * Deletes suggestions of classes that no longer exist, including the flat
+     * {@code <SimpleName>.txt} files of older versions, and the package
+     * directories left empty.
+     *
+     * @param current every suggestion file written by this run
+     * @return number of files deleted
+     */
+    private static int removeStale(Path outDir, Set<Path> current) throws IOException {
+        List<Path> stale;
+        List<Path> directories;
+        try (Stream<Path> walk = Files.walk(outDir)) {
+            List<Path> all = walk.collect(Collectors.toList());
+            stale = all.stream()
+                    .filter(p -> p.toString().endsWith(".txt") && Files.isRegularFile(p) && !current.contains(p))
+                    .collect(Collectors.toList());
+            directories = all.stream()
+                    .filter(p -> !p.equals(outDir) && Files.isDirectory(p))
+                    .sorted(Comparator.reverseOrder())
+                    .collect(Collectors.toList());
+        }
+        for (Path file : stale) {
+            Files.delete(file);
+        }
+        // Deepest first, so a parent is empty once its children are gone
+        for (Path dir : directories) {
+            try (Stream<Path> entries = Files.list(dir)) {
+                if (entries.findAny().isEmpty()) {
+                    Files.delete(dir);
+                }
+            }
+        }
+        return stale.size();
+    }
+
+    private static <T> List<T> runAll(ExecutorService pool, List<Callable<T>> tasks) throws IOException {
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<T> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while generating suggested graphs", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IOException("Suggested graph generation failed", cause);
+        }
+        return results;
+    }
+
+    private static String formatSuggestedGraph(String className, Set<String> used, Map<String, Set<String>> edges) {
         StringBuilder sb = new StringBuilder();
         sb.append(className).append("\n");
         if (used.isEmpty()) {
@@ -105,7 +344,17 @@ public class GenerateGraphsMojo extends AbstractMojo {
             sorted.sort(Comparator.naturalOrder());
             sb.append("  ├─[uses]→ ").append(String.join(", ", sorted)).append("\n");
         }
-        sb.append("  # Add more edges: [calls], [db], [events], [by]←, [external], [config]\n");
+        // Built-in relations first, then those of project detectors in detection order
+        Set<String> relations = new LinkedHashSet<>(List.of("db", "events", "external", "config"));
+        relations.addAll(edges.keySet());
+        for (String relation : relations) {
+            Set<String> targets = edges.get(relation);
+            if (targets != null) {
+                sb.append("  ├─[").append(relation).append("]→ ").append(String.join(", ", new TreeSet<>(targets)))
+                        .append("\n");
+            }
+        }
+        sb.append("  # Add more edges: [calls], [by]←\n");
         return sb.toString();
     }
 }
@@ -0,0 +1,93 @@
+package com.aicontext.maven;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.aicontext.maven.graph.LayerRules;
+
+/**
+ * A {@code <layer>} of the {@code layers} plugin configuration.
+ *
+ * <pre>
+ * &lt;layer&gt;
+ *   &lt;name&gt;web&lt;/name&gt;
+ *   &lt;packages&gt;com.acme.**.web&lt;/packages&gt;
+ *   &lt;mayDependOn&gt;service&lt;/mayDependOn&gt;
+ *   &lt;mustNotReach&gt;persistence&lt;/mustNotReach&gt;
+ * &lt;/layer&gt;
+ * </pre>
+ *
+ * All lists are comma-separated; see {@link LayerRules} for the pattern syntax.
+ */
+public class Layer {
+
+    private String name;
+
+    // Package patterns of the layer
+    private String packages;
+
+    // Layers this one may use directly; any layer when not set
+    private String mayDependOn;
+
+    // Layers this one must not reach, directly or through other classes
+    private String mustNotReach;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getPackages() {
+        return packages;
+    }
+
+    public void setPackages(String packages) {
+        this.packages = packages;
+    }
+
+    public String getMayDependOn() {
+        return mayDependOn;
+    }
+
+    public void setMayDependOn(String mayDependOn) {
+        this.mayDependOn = mayDependOn;
+    }
+
+    public String getMustNotReach() {
+        return mustNotReach;
+    }
+
+    public void setMustNotReach(String mustNotReach) {
+        this.mustNotReach = mustNotReach;
+    }
+
+    LayerRules.Layer toRule() {
+        return new LayerRules.Layer(name != null ? name.trim() : null, new ArrayList<>(split(packages)),
+                mayDependOn != null ? split(mayDependOn) : null, split(mustNotReach));
+    }
+
+    private static Set<String> split(String list) {
+        Set<String> values = new LinkedHashSet<>();
+        if (list != null) {
+            for (String value : list.split(",")) {
+                if (!value.isBlank()) {
+                    values.add(value.trim());
+                }
+            }
+        }
+        return values;
+    }
+
+    static List<LayerRules.Layer> toRules(List<Layer> layers) {
+        List<LayerRules.Layer> rules = new ArrayList<>();
+        for (Layer layer : layers) {
+            rules.add(layer.toRule());
+        }
+        return rules;
+    }
+}
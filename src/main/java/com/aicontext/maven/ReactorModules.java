@@ -0,0 +1,61 @@
+package com.aicontext.maven;
+
+import java.io.File;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.project.MavenProject;
+
+import com.aicontext.maven.graph.ReactorTypeIndex;
+
+/**
+ * Connects a module to the {@link ReactorTypeIndex} of its build: the module
+ * publishes under its {@code groupId:artifactId} and resolves only the types of
+ * the modules it depends on.
+ */
+final class ReactorModules {
+
+    private ReactorModules() {
+    }
+
+    /**
+     * The module's view of the build's reactor index.
+     *
+     * @param project    the module; null outside a Maven build, where every
+     *                   published module is visible
+     * @param buildStart session start time, or null
+     */
+    static ReactorTypeIndex view(MavenProject project, File executionRoot, Date buildStart) {
+        ReactorTypeIndex reactor = ReactorTypeIndex.forBuild(executionRoot.toPath(),
+                buildStart != null ? buildStart.getTime() : 0L);
+        return project != null ? reactor.restrictedTo(dependencies(project)) : reactor;
+    }
+
+    /**
+     * The name the module publishes its types under.
+     */
+    static String moduleId(MavenProject project, File sourceDir) {
+        return project != null ? project.getGroupId() + ":" + project.getArtifactId() : sourceDir.getAbsolutePath();
+    }
+
+    // Resolved artifacts (transitive, when the goal resolves dependencies) and declared dependencies
+    private static Set<String> dependencies(MavenProject project) {
+        Set<String> modules = new LinkedHashSet<>();
+        if (project.getArtifacts() != null) {
+            for (Object o : project.getArtifacts()) {
+                Artifact artifact = (Artifact) o;
+                modules.add(artifact.getGroupId() + ":" + artifact.getArtifactId());
+            }
+        }
+        if (project.getDependencies() != null) {
+            for (Object o : project.getDependencies()) {
+                Dependency dependency = (Dependency) o;
+                modules.add(dependency.getGroupId() + ":" + dependency.getArtifactId());
+            }
+        }
+        return modules;
+    }
+}
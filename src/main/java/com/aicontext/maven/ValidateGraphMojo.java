@@ -0,0 +1,308 @@
+package com.aicontext.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+import com.aicontext.maven.graph.ClassDependencies;
+import com.aicontext.maven.graph.DependencyCollector;
+import com.aicontext.maven.graph.GraphNotationParser;
+import com.aicontext.maven.graph.GraphValidationState;
+import com.aicontext.maven.graph.GraphValidator;
+import com.aicontext.maven.graph.ProjectTypeIndex;
+import com.aicontext.maven.graph.ReactorTypeIndex;
+import com.aicontext.maven.output.OutputManifest;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+
+/**
+ * Validates the @aicontext-graph of changed classes only, for pre-commit hooks.
+ * <p>
+ * Changed files come from {@code files} or from {@code git diff} against
+ * {@code gitRef} (default {@code HEAD}, i.e. uncommitted changes; untracked
+ * files are included). Only those files are parsed: every other project type
+ * is taken from the type index the last generate-docs run saved in the output
+ * directory, and classes elsewhere that mention a type added or removed by the
+ * change are found through the saved validation state and checked too. Without
+ * a saved index the source tree is scanned once and the index is saved. In a
+ * multi-module build, types of modules validated earlier resolve too.
+ * <p>
+ * Run manually: {@code mvn aicontext:validate-graph} or
+ * {@code mvn aicontext:validate-graph -Daicontext.files=src/main/java/com/acme/Foo.java}
+ */
+@Mojo(name = "validate-graph", requiresProject = true, threadSafe = true)
+public class ValidateGraphMojo extends AbstractMojo {
+
+    @Parameter(defaultValue = "${project}", readonly = true)
+    private MavenProject project;
+
+    @Parameter(property = "aicontext.sourceDir", defaultValue = "${project.basedir}/src/main/java")
+    private File sourceDir;
+
+    @Parameter(property = "aicontext.outputDir", defaultValue = "${project.basedir}/.aicontext")
+    private File outputDir;
+
+    // Comma-separated files to validate (absolute, or relative to the working
+    // directory); takes precedence over gitRef
+    @Parameter(property = "aicontext.files")
+    private String files;
+
+    // Validate the Java files that differ from this ref in the local repository
+    @Parameter(property = "aicontext.gitRef", defaultValue = "HEAD")
+    private String gitRef = "HEAD";
+
+    // Resolve types of the other modules of a multi-module build (see ReactorTypeIndex)
+    @Parameter(property = "aicontext.reactorTypes", defaultValue = "true")
+    private boolean reactorTypes = true;
+
+    @Parameter(defaultValue = "${session.executionRootDirectory}", readonly = true)
+    private File executionRoot;
+
+    @Parameter(defaultValue = "${session.startTime}", readonly = true)
+    private Date buildStart;
+
+    private final JavaParser parser = new JavaParser();
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (!sourceDir.isDirectory()) {
+            getLog().warn("Source directory does not exist: " + sourceDir);
+            return;
+        }
+        Path sourceRoot = normalize(sourceDir.toPath());
+        try {
+            Set<Path> changed = changedFiles(sourceRoot);
+            if (changed.isEmpty()) {
+                getLog().info("AIContext: No changed Java files to validate");
+                return;
+            }
+
+            ProjectTypeIndex index = loadIndex(sourceRoot);
+            Set<String> before = new HashSet<>();
+            for (ProjectTypeIndex.Declaration d : new ArrayList<>(index.declarations())) {
+                if (changed.contains(normalize(Path.of(d.filePath())))) {
+                    before.add(d.qualifiedName());
+                    index.removeFile(d.filePath());
+                }
+            }
+
+            // Parse the changed files and put their current types in the index
+            Map<Path, CompilationUnit> units = new LinkedHashMap<>();
+            Map<Path, String> hashes = new HashMap<>();
+            for (Path file : changed) {
+                if (parse(file, units, hashes)) {
+                    index.addCompilationUnit(units.get(file), file.toString());
+                }
+            }
+
+            if (reactorTypes && executionRoot != null) {
+                ReactorTypeIndex reactor = ReactorModules.view(project, executionRoot, buildStart);
+                reactor.publish(ReactorModules.moduleId(project, sourceDir), index);
+                index.setReactor(reactor);
+            }
+
+            // Types added or removed by the change: their dependents need a check too
+            Set<String> after = new HashSet<>();
+            for (CompilationUnit cu : units.values()) {
+                String packageName = ProjectTypeIndex.packageOf(cu);
+                for (TypeDeclaration<?> type : cu.findAll(TypeDeclaration.class)) {
+                    after.add(ProjectTypeIndex.qualifiedName(packageName, type));
+                }
+            }
+            Set<String> changedTypes = new HashSet<>(before);
+            changedTypes.addAll(after);
+            changedTypes.removeIf(type -> before.contains(type) && after.contains(type));
+            // Written by generate-docs with or without symbol solving; both record dependents
+            GraphValidationState state = GraphValidationState.loadAnyMode(
+                    outputDir.toPath().resolve(GraphValidationState.FILE_NAME), "names");
+            getLog().debug("AIContext: Dependents from the " + state.getMode() + " validation state");
+            for (String dependent : state.dependentsOf(changedTypes)) {
+                ProjectTypeIndex.Declaration d = index.get(dependent);
+                if (d != null) {
+                    parse(normalize(Path.of(d.filePath())), units, hashes);
+                }
+            }
+
+            List<String> errors = new ArrayList<>();
+            int validated = 0;
+            for (Map.Entry<Path, CompilationUnit> unit : units.entrySet()) {
+                validated += validate(unit.getKey(), unit.getValue(), index, hashes.get(unit.getKey()), errors);
+            }
+            getLog().info("AIContext: Validated " + validated + " graph(s) in " + units.size() + " file(s)");
+            if (!errors.isEmpty()) {
+                for (String err : errors) {
+                    getLog().error(err);
+                }
+                throw new MojoExecutionException(
+                        "Graph validation failed: dependency found but not documented. See errors above.");
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Failed to validate graphs", e);
+        }
+    }
+
+    private int validate(Path file, CompilationUnit cu, ProjectTypeIndex index, String hash, List<String> errors) {
+        String packageName = ProjectTypeIndex.packageOf(cu);
+        Map<String, ClassDependencies> collected = new DependencyCollector(index.scopeOf(cu)).collect(cu);
+        int validated = 0;
+        for (ClassOrInterfaceDeclaration cls : cu.findAll(ClassOrInterfaceDeclaration.class)) {
+            ClassDependencies deps = collected.get(ProjectTypeIndex.qualifiedName(packageName, cls));
+            if (deps == null || cls.getJavadocComment().isEmpty()) {
+                continue;
+            }
+            String graph = null;
+            String ignore = "";
+            for (AIContextMojo.TagData tag : AIContextMojo.extractTags(cls.getJavadocComment().get().getContent())) {
+                if ("graph".equals(tag.type) && graph == null) {
+                    graph = tag.content;
+                } else if ("graph-ignore".equals(tag.type) && ignore.isEmpty()) {
+                    ignore = tag.content;
+                }
+            }
+            if (graph == null) {
+                continue;
+            }
+            String location = file + ":" + cls.getBegin().map(pos -> pos.line).orElse(0);
+            GraphValidationState.ClassState result = GraphValidator.validate(location,
+                    GraphNotationParser.parseBlocks(graph), deps, deps.resolvedTypes(),
+                    GraphValidator.parseIgnore(ignore), hash);
+            errors.addAll(result.errors());
+            for (String warning : result.warnings()) {
+                getLog().warn(warning);
+            }
+            validated++;
+        }
+        return validated;
+    }
+
+    /**
+     * Parses a file once into {@code units}; false if it is gone or does not parse.
+     */
+    private boolean parse(Path file, Map<Path, CompilationUnit> units, Map<Path, String> hashes) throws IOException {
+        if (units.containsKey(file)) {
+            return true;
+        }
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        String source = Files.readString(file, StandardCharsets.UTF_8);
+        CompilationUnit cu = parser.parse(source).getResult().orElse(null);
+        if (cu == null) {
+            getLog().warn("Failed to parse: " + file);
+            return false;
+        }
+        units.put(file, cu);
+        hashes.put(file, OutputManifest.hash(source));
+        return true;
+    }
+
+    /**
+     * The saved type index, or a fresh one from a full scan (saved for next time).
+     */
+    private ProjectTypeIndex loadIndex(Path sourceRoot) throws IOException {
+        Path indexFile = outputDir.toPath().resolve(ProjectTypeIndex.FILE_NAME);
+        ProjectTypeIndex index = ProjectTypeIndex.load(indexFile);
+        if (index != null) {
+            return index;
+        }
+        getLog().info("AIContext: No saved type index in " + outputDir + "; scanning " + sourceRoot);
+        index = new ProjectTypeIndex();
+        List<Path> javaFiles;
+        try (Stream<Path> walk = Files.walk(sourceRoot)) {
+            javaFiles = walk.filter(p -> p.toString().endsWith(".java")).collect(Collectors.toList());
+        }
+        for (Path path : javaFiles) {
+            CompilationUnit cu = parser.parse(path).getResult().orElse(null);
+            if (cu != null) {
+                index.addCompilationUnit(cu, path.toString());
+            }
+        }
+        index.save(indexFile);
+        return index;
+    }
+
+    /**
+     * Java files under the source root named in {@code files}, or changed
+     * relative to {@code gitRef}.
+     */
+    private Set<Path> changedFiles(Path sourceRoot) throws IOException, MojoExecutionException {
+        Set<Path> result = new LinkedHashSet<>();
+        if (files != null && !files.isBlank()) {
+            for (String name : files.split(",")) {
+                if (!name.isBlank()) {
+                    addIfJavaSource(result, normalize(Path.of(name.trim())), sourceRoot);
+                }
+            }
+            return result;
+        }
+        // Paths are printed relative to the source root (--relative / cwd); -z prints them
+        // unquoted, so names with non-ASCII characters or quotes come through as they are
+        for (String name : git(sourceRoot, "diff", "--name-only", "-z", "--relative", gitRef, "--")) {
+            addIfJavaSource(result, normalize(sourceRoot.resolve(name)), sourceRoot);
+        }
+        for (String name : git(sourceRoot, "ls-files", "-z", "--others", "--exclude-standard")) {
+            addIfJavaSource(result, normalize(sourceRoot.resolve(name)), sourceRoot);
+        }
+        return result;
+    }
+
+    private static void addIfJavaSource(Set<Path> result, Path file, Path sourceRoot) {
+        if (file.toString().endsWith(".java") && file.startsWith(sourceRoot)) {
+            result.add(file);
+        }
+    }
+
+    /**
+     * Runs a local git command in the given directory and returns its
+     * NUL-separated output entries (the command must be given {@code -z}).
+     */
+    private List<String> git(Path directory, String... args) throws IOException, MojoExecutionException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command)
+                .directory(directory.toFile())
+                .redirectErrorStream(true)
+                .start();
+        String output;
+        try (InputStream in = process.getInputStream()) {
+            output = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try {
+            if (process.waitFor() != 0) {
+                throw new MojoExecutionException("git " + String.join(" ", args) + " failed: " + output.trim());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while running git", e);
+        }
+        return Arrays.stream(output.split("\0")).filter(entry -> !entry.isBlank()).collect(Collectors.toList());
+    }
+
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+}
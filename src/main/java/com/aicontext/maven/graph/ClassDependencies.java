@@ -0,0 +1,95 @@
+package com.aicontext.maven.graph;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Types referenced by one class, as written in source, with the kinds of each
+ * reference. Names are resolved against the {@link ProjectTypeIndex} only when
+ * asked, so collection can run while the index is still being filled.
+ */
+public final class ClassDependencies {
+
+    private final String qualifiedName;
+    private final ProjectTypeIndex.Scope scope;
+    private final Map<String, EnumSet<DependencyKind>> references = new LinkedHashMap<>();
+    // Edges found by edge detectors: relation -> targets
+    private final Map<String, Set<String>> edges = new LinkedHashMap<>();
+
+    public ClassDependencies(String qualifiedName, ProjectTypeIndex.Scope scope) {
+        this.qualifiedName = qualifiedName;
+        this.scope = scope;
+    }
+
+    public String getQualifiedName() {
+        return qualifiedName;
+    }
+
+    /**
+     * Records a reference to a type name (simple, {@code Outer.Inner} or fully qualified).
+     */
+    public void add(String typeName, DependencyKind kind) {
+        references.computeIfAbsent(typeName, n -> EnumSet.noneOf(DependencyKind.class)).add(kind);
+    }
+
+    /**
+     * Records a detected edge such as {@code [db]→ orders}.
+     *
+     * @param relation relation type without brackets ({@code db}, {@code events}, ...)
+     * @param target   edge target as it would be written in the graph
+     */
+    public void addEdge(String relation, String target) {
+        if (target != null && !target.isBlank()) {
+            edges.computeIfAbsent(relation, r -> new LinkedHashSet<>()).add(target.trim());
+        }
+    }
+
+    /**
+     * Edges found by edge detectors, by relation type, in detection order.
+     */
+    public Map<String, Set<String>> getEdges() {
+        return Collections.unmodifiableMap(edges);
+    }
+
+    /**
+     * Resolves a type name as it would be written in this class's source file.
+     *
+     * @return the fully qualified project type, or null
+     */
+    public String resolveName(String typeName) {
+        return scope.resolve(typeName);
+    }
+
+    /**
+     * Referenced names as written in source, with their kinds.
+     */
+    public Map<String, Set<DependencyKind>> getReferences() {
+        return Collections.unmodifiableMap(references);
+    }
+
+    /**
+     * Project types this class uses, by fully qualified name, with the kinds of
+     * reference. Names that are not project types and self-references are dropped.
+     */
+    public Map<String, Set<DependencyKind>> resolve() {
+        Map<String, Set<DependencyKind>> resolved = new LinkedHashMap<>();
+        for (Map.Entry<String, EnumSet<DependencyKind>> ref : references.entrySet()) {
+            String type = scope.resolve(ref.getKey());
+            if (type != null && !type.equals(qualifiedName)) {
+                resolved.computeIfAbsent(type, t -> EnumSet.noneOf(DependencyKind.class)).addAll(ref.getValue());
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Fully qualified names of the project types this class uses.
+     */
+    public Set<String> resolvedTypes() {
+        return new LinkedHashSet<>(resolve().keySet());
+    }
+}
@@ -19,6 +19,11 @@ import java.util.stream.Collectors;
  * Includes injected fields (e.g. {@code @Inject GreetService greetService}) by scanning
  * all member declarations, not only a convenience field list.
  * Used for suggested graph generation and graph validation.
+ * <p>
+ * Prefer the {@link ProjectTypeIndex} overloads: the simple-name variant cannot
+ * tell apart two project classes with the same name in different packages.
+ * Graph validation uses {@link DependencyCollector}, which also sees supertypes
+ * and method bodies.
  */
 public final class ClassDependencyAnalyzer {
 
@@ -65,6 +70,75 @@ public final class ClassDependencyAnalyzer {
         return used;
     }
 
+    /**
+     * Collects fully qualified names of project classes used by the given class,
+     * resolving each referenced name through the compilation unit's imports and
+     * package (see {@link ProjectTypeIndex.Scope#resolve(String)}).
+     *
+     * @param cu    compilation unit containing the class
+     * @param cls   the class to analyze
+     * @param index project-wide type index
+     * @return set of fully qualified project class names that this class references
+     */
+    public static Set<String> findUsedProjectTypes(
+            CompilationUnit cu,
+            ClassOrInterfaceDeclaration cls,
+            ProjectTypeIndex index) {
+        return findUsedProjectTypes(cls, index.scopeOf(cu));
+    }
+
+    /**
+     * Same as {@link #findUsedProjectTypes(CompilationUnit, ClassOrInterfaceDeclaration, ProjectTypeIndex)}
+     * with a scope that the caller reuses for every class of the compilation unit.
+     */
+    public static Set<String> findUsedProjectTypes(ClassOrInterfaceDeclaration cls, ProjectTypeIndex.Scope scope) {
+        Set<String> used = new HashSet<>();
+        String thisClassName = ProjectTypeIndex.qualifiedName(scope.getPackageName(), cls);
+
+        for (BodyDeclaration<?> member : cls.getMembers()) {
+            if (member instanceof FieldDeclaration) {
+                collectQualifiedNames(((FieldDeclaration) member).getCommonType(), scope, thisClassName, used);
+            }
+        }
+        for (ConstructorDeclaration ctor : cls.getConstructors()) {
+            for (Parameter p : ctor.getParameters()) {
+                collectQualifiedNames(p.getType(), scope, thisClassName, used);
+            }
+        }
+        for (MethodDeclaration m : cls.getMethods()) {
+            for (Parameter p : m.getParameters()) {
+                collectQualifiedNames(p.getType(), scope, thisClassName, used);
+            }
+            if (m.getType() != null) {
+                collectQualifiedNames(m.getType(), scope, thisClassName, used);
+            }
+        }
+
+        return used;
+    }
+
+    private static void collectQualifiedNames(
+            Type type,
+            ProjectTypeIndex.Scope scope,
+            String thisClassName,
+            Set<String> out) {
+        if (type == null) return;
+        if (type instanceof ClassOrInterfaceType) {
+            ClassOrInterfaceType coit = (ClassOrInterfaceType) type;
+            String resolved = scope.resolve(coit.getNameWithScope());
+            if (resolved != null) {
+                if (!resolved.equals(thisClassName)) {
+                    out.add(resolved);
+                }
+            } else {
+                // Not a project type as a whole; the scope may still be one (Outer.External)
+                coit.getScope().ifPresent(s -> collectQualifiedNames(s, scope, thisClassName, out));
+            }
+            coit.getTypeArguments().ifPresent(args -> args.forEach(arg ->
+                    collectQualifiedNames(arg, scope, thisClassName, out)));
+        }
+    }
+
     private static void collectClassSimpleNames(
             Type type,
             Set<String> projectClassSimpleNames,
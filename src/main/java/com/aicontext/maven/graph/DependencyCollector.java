@@ -0,0 +1,249 @@
+package com.aicontext.maven.graph;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.AnnotationDeclaration;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.EnumDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.RecordDeclaration;
+import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.expr.CastExpr;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.MarkerAnnotationExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.MethodReferenceExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.expr.NormalAnnotationExpr;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.ast.expr.SingleMemberAnnotationExpr;
+import com.github.javaparser.ast.expr.TypeExpr;
+import com.github.javaparser.ast.expr.VariableDeclarationExpr;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-pass visitor that collects every type a class refers to: supertypes,
+ * fields, parameters, return types, {@code new} expressions, static calls and
+ * method references, local variables, casts and annotations (type arguments
+ * included, each reference tagged with its {@link DependencyKind}).
+ * <p>
+ * Callers that need other information from the same AST (e.g. Javadoc tags)
+ * subclass it and call {@code super.visit(...)}, so the compilation unit is
+ * traversed once. References inside enums, records and annotation types are
+ * not attributed to the enclosing class.
+ * <p>
+ * {@link EdgeDetector}s passed to the constructor see the same type references,
+ * annotations and method calls during that traversal.
+ */
+public class DependencyCollector extends VoidVisitorAdapter<Void> {
+
+    private final ProjectTypeIndex.Scope scope;
+    private final Map<String, ClassDependencies> classes = new LinkedHashMap<>();
+    private final Deque<ClassDependencies> current = new ArrayDeque<>();
+    private final List<EdgeDetector> detectors;
+
+    public DependencyCollector(ProjectTypeIndex.Scope scope) {
+        this(scope, List.of());
+    }
+
+    public DependencyCollector(ProjectTypeIndex.Scope scope, List<EdgeDetector> detectors) {
+        this.scope = scope;
+        this.detectors = List.copyOf(detectors);
+    }
+
+    /**
+     * Visits the compilation unit and returns the dependencies per class,
+     * keyed by fully qualified class name.
+     */
+    public Map<String, ClassDependencies> collect(CompilationUnit cu) {
+        cu.accept(this, null);
+        return classes;
+    }
+
+    public Map<String, ClassDependencies> getClasses() {
+        return classes;
+    }
+
+    protected ProjectTypeIndex.Scope getScope() {
+        return scope;
+    }
+
+    /**
+     * Dependencies of the class currently being visited, or null outside a class.
+     */
+    protected ClassDependencies currentClass() {
+        return current.peek();
+    }
+
+    /**
+     * Records a type reference (and its type arguments) for the current class.
+     */
+    protected void reference(Type type, DependencyKind kind) {
+        ClassDependencies deps = current.peek();
+        if (deps == null || type == null) return;
+        Type element = type.getElementType();
+        if (element instanceof ClassOrInterfaceType coit) {
+            deps.add(coit.getNameWithScope(), kind);
+            for (EdgeDetector detector : detectors) {
+                detector.type(coit, kind, deps);
+            }
+            coit.getTypeArguments().ifPresent(args -> args.forEach(arg -> reference(arg, kind)));
+        } else if (element.isWildcardType()) {
+            element.asWildcardType().getExtendedType().ifPresent(t -> reference(t, kind));
+            element.asWildcardType().getSuperType().ifPresent(t -> reference(t, kind));
+        }
+    }
+
+    /**
+     * Records a reference to a type name that is not a {@link Type} node
+     * (annotation names, static call scopes).
+     */
+    protected void reference(String typeName, DependencyKind kind) {
+        ClassDependencies deps = current.peek();
+        if (deps != null) {
+            deps.add(typeName, kind);
+        }
+    }
+
+    private void annotation(AnnotationExpr annotation) {
+        reference(annotation.getNameAsString(), DependencyKind.ANNOTATION);
+        ClassDependencies deps = current.peek();
+        if (deps != null) {
+            for (EdgeDetector detector : detectors) {
+                detector.annotation(annotation, deps);
+            }
+        }
+    }
+
+    @Override
+    public void visit(ClassOrInterfaceDeclaration n, Void arg) {
+        ClassDependencies deps = new ClassDependencies(
+                ProjectTypeIndex.qualifiedName(scope.getPackageName(), n), scope);
+        classes.put(deps.getQualifiedName(), deps);
+        current.push(deps);
+        try {
+            n.getExtendedTypes().forEach(t -> reference(t, DependencyKind.EXTENDS));
+            n.getImplementedTypes().forEach(t -> reference(t, DependencyKind.IMPLEMENTS));
+            super.visit(n, arg);
+        } finally {
+            current.pop();
+        }
+    }
+
+    @Override
+    public void visit(EnumDeclaration n, Void arg) {
+        detached(() -> super.visit(n, arg));
+    }
+
+    @Override
+    public void visit(RecordDeclaration n, Void arg) {
+        detached(() -> super.visit(n, arg));
+    }
+
+    @Override
+    public void visit(AnnotationDeclaration n, Void arg) {
+        detached(() -> super.visit(n, arg));
+    }
+
+    private void detached(Runnable visit) {
+        current.push(new ClassDependencies("", scope));
+        try {
+            visit.run();
+        } finally {
+            current.pop();
+        }
+    }
+
+    @Override
+    public void visit(FieldDeclaration n, Void arg) {
+        reference(n.getCommonType(), DependencyKind.FIELD);
+        super.visit(n, arg);
+    }
+
+    @Override
+    public void visit(Parameter n, Void arg) {
+        reference(n.getType(), DependencyKind.PARAMETER);
+        super.visit(n, arg);
+    }
+
+    @Override
+    public void visit(MethodDeclaration n, Void arg) {
+        reference(n.getType(), DependencyKind.RETURN);
+        super.visit(n, arg);
+    }
+
+    @Override
+    public void visit(ObjectCreationExpr n, Void arg) {
+        reference(n.getType(), DependencyKind.INSTANTIATION);
+        super.visit(n, arg);
+    }
+
+    @Override
+    public void visit(MethodCallExpr n, Void arg) {
+        // Foo.bar() or com.acme.Foo.bar(); variables resolve to no project type
+        n.getScope().filter(DependencyCollector::isTypeName)
+                .ifPresent(s -> reference(s.toString(), DependencyKind.STATIC_CALL));
+        ClassDependencies deps = current.peek();
+        if (deps != null) {
+            for (EdgeDetector detector : detectors) {
+                detector.methodCall(n, deps);
+            }
+        }
+        super.visit(n, arg);
+    }
+
+    @Override
+    public void visit(MethodReferenceExpr n, Void arg) {
+        Expression scopeExpr = n.getScope();
+        if (scopeExpr instanceof TypeExpr typeExpr) {
+            reference(typeExpr.getType(), DependencyKind.STATIC_CALL);
+        } else if (isTypeName(scopeExpr)) {
+            reference(scopeExpr.toString(), DependencyKind.STATIC_CALL);
+        }
+        super.visit(n, arg);
+    }
+
+    @Override
+    public void visit(VariableDeclarationExpr n, Void arg) {
+        n.getVariables().forEach(v -> reference(v.getType(), DependencyKind.LOCAL_VARIABLE));
+        super.visit(n, arg);
+    }
+
+    @Override
+    public void visit(CastExpr n, Void arg) {
+        reference(n.getType(), DependencyKind.CAST);
+        super.visit(n, arg);
+    }
+
+    @Override
+    public void visit(MarkerAnnotationExpr n, Void arg) {
+        annotation(n);
+        super.visit(n, arg);
+    }
+
+    @Override
+    public void visit(SingleMemberAnnotationExpr n, Void arg) {
+        annotation(n);
+        super.visit(n, arg);
+    }
+
+    @Override
+    public void visit(NormalAnnotationExpr n, Void arg) {
+        annotation(n);
+        super.visit(n, arg);
+    }
+
+    private static boolean isTypeName(Expression expr) {
+        return expr instanceof NameExpr || expr instanceof FieldAccessExpr;
+    }
+}
@@ -0,0 +1,17 @@
+package com.aicontext.maven.graph;
+
+/**
+ * How a class refers to another type, as collected by {@link DependencyCollector}.
+ */
+public enum DependencyKind {
+    EXTENDS,
+    IMPLEMENTS,
+    FIELD,
+    PARAMETER,
+    RETURN,
+    INSTANTIATION,   // new Foo(...)
+    STATIC_CALL,     // Foo.bar(...), Foo::bar
+    LOCAL_VARIABLE,
+    CAST,
+    ANNOTATION
+}
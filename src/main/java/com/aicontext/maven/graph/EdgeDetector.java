@@ -0,0 +1,40 @@
+package com.aicontext.maven.graph;
+
+import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+
+/**
+ * Detects non-class edges ({@code [db]}, {@code [events]}, {@code [config]},
+ * {@code [external]}, ...) while {@link DependencyCollector} walks a class.
+ * <p>
+ * Detectors are called from the collector's single AST traversal for the nodes
+ * it already visits, so they add no parsing or traversal of their own. They
+ * record edges with {@link ClassDependencies#addEdge(String, String)} on the
+ * class being visited. One instance is shared by all files (and threads), so
+ * implementations must be stateless.
+ * <p>
+ * Besides the built-in {@link EdgeDetectors}, detectors on the plugin
+ * classpath are found with {@link java.util.ServiceLoader}
+ * ({@code META-INF/services/com.aicontext.maven.graph.EdgeDetector}).
+ */
+public interface EdgeDetector {
+
+    /**
+     * A type the class refers to (type arguments are reported separately too).
+     */
+    default void type(ClassOrInterfaceType type, DependencyKind kind, ClassDependencies cls) {
+    }
+
+    /**
+     * An annotation on the class or on one of its members.
+     */
+    default void annotation(AnnotationExpr annotation, ClassDependencies cls) {
+    }
+
+    /**
+     * A method call in the class.
+     */
+    default void methodCall(MethodCallExpr call, ClassDependencies cls) {
+    }
+}
@@ -0,0 +1,277 @@
+package com.aicontext.maven.graph;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.expr.ArrayInitializerExpr;
+import com.github.javaparser.ast.expr.Expression;
+import com.github.javaparser.ast.expr.MemberValuePair;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.NormalAnnotationExpr;
+import com.github.javaparser.ast.expr.ObjectCreationExpr;
+import com.github.javaparser.ast.expr.SingleMemberAnnotationExpr;
+import com.github.javaparser.ast.expr.StringLiteralExpr;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.Type;
+
+/**
+ * Built-in {@link EdgeDetector}s, matched by simple type and annotation names
+ * (Spring, Jakarta EE / MicroProfile, Quarkus and common client libraries):
+ * <ul>
+ * <li>{@code [db]}: {@code @Entity} classes (table from {@code @Table(name)}),
+ * Spring Data / Panache repository supertypes (their entity type) and
+ * persistence APIs such as {@code EntityManager} or {@code JdbcTemplate};</li>
+ * <li>{@code [events]}: {@code publishEvent}/{@code fire}/{@code publish} of a
+ * new event object, {@code send}/{@code convertAndSend} to a literal topic on
+ * a messaging client, CDI {@code Event<T>} and listener or channel annotations
+ * ({@code @KafkaListener}, {@code @Incoming}, ...);</li>
+ * <li>{@code [config]}: {@code @Value("${key}")}, {@code @ConfigProperty},
+ * {@code @ConfigurationProperties}/{@code @ConfigMapping} prefixes,
+ * {@code System.getenv}/{@code getProperty} and {@code getProperty}/
+ * {@code getValue} on an environment or config object;</li>
+ * <li>{@code [external]}: HTTP client types ({@code RestTemplate},
+ * {@code WebClient}, {@code HttpClient}, ...), {@code @FeignClient} and
+ * {@code @RegisterRestClient}.</li>
+ * </ul>
+ * Results are suggestions to review, not proof: matching is by name only.
+ */
+public final class EdgeDetectors {
+
+    private static final Set<String> REPOSITORY_SUPERTYPES = Set.of(
+            "JpaRepository", "CrudRepository", "ListCrudRepository", "PagingAndSortingRepository",
+            "ReactiveCrudRepository", "MongoRepository", "PanacheRepository", "PanacheRepositoryBase",
+            "PanacheMongoRepository");
+    private static final Set<String> PERSISTENCE_TYPES = Set.of(
+            "EntityManager", "JdbcTemplate", "NamedParameterJdbcTemplate", "JdbcClient", "DataSource",
+            "MongoTemplate", "R2dbcEntityTemplate", "DSLContext");
+    private static final Set<String> PUBLISH_METHODS = Set.of("publishEvent", "publish", "fire", "fireAsync");
+    private static final Set<String> SEND_METHODS = Set.of("send", "convertAndSend", "sendDefault");
+    private static final Set<String> EVENT_ANNOTATIONS = Set.of(
+            "KafkaListener", "JmsListener", "RabbitListener", "SqsListener", "Incoming", "Outgoing", "Channel");
+    private static final Set<String> HTTP_CLIENT_TYPES = Set.of(
+            "RestTemplate", "WebClient", "RestClient", "HttpClient", "OkHttpClient", "CloseableHttpClient",
+            "WebTarget");
+
+    /** The built-in detectors. */
+    public static List<EdgeDetector> builtIn() {
+        return List.of(new Db(), new Events(), new Config(), new External());
+    }
+
+    /**
+     * The built-in detectors followed by those registered with
+     * {@link ServiceLoader} in the given class loader.
+     */
+    public static List<EdgeDetector> load(ClassLoader classLoader) {
+        List<EdgeDetector> detectors = new ArrayList<>(builtIn());
+        for (EdgeDetector detector : ServiceLoader.load(EdgeDetector.class, classLoader)) {
+            detectors.add(detector);
+        }
+        return detectors;
+    }
+
+    /**
+     * String values of an annotation member; {@code value} also matches the
+     * single-member form. Non-literal values are skipped.
+     */
+    public static List<String> values(AnnotationExpr annotation, String member) {
+        List<String> values = new ArrayList<>();
+        if (annotation instanceof SingleMemberAnnotationExpr single) {
+            if ("value".equals(member)) {
+                literals(single.getMemberValue(), values);
+            }
+        } else if (annotation instanceof NormalAnnotationExpr normal) {
+            for (MemberValuePair pair : normal.getPairs()) {
+                if (pair.getNameAsString().equals(member)) {
+                    literals(pair.getValue(), values);
+                }
+            }
+        }
+        return values;
+    }
+
+    private static void literals(Expression value, List<String> out) {
+        if (value instanceof StringLiteralExpr literal) {
+            out.add(literal.asString());
+        } else if (value instanceof ArrayInitializerExpr array) {
+            for (Expression element : array.getValues()) {
+                literals(element, out);
+            }
+        }
+    }
+
+    private static String firstLiteralArgument(MethodCallExpr call) {
+        if (call.getArguments().isEmpty() || !(call.getArgument(0) instanceof StringLiteralExpr literal)) {
+            return null;
+        }
+        return literal.asString();
+    }
+
+    private static String scopeName(MethodCallExpr call) {
+        return call.getScope().map(s -> s.toString().toLowerCase(Locale.ROOT)).orElse("");
+    }
+
+    private static boolean containsAny(String text, String... parts) {
+        for (String part : parts) {
+            if (text.contains(part)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Db implements EdgeDetector {
+        @Override
+        public void type(ClassOrInterfaceType type, DependencyKind kind, ClassDependencies cls) {
+            String name = type.getNameAsString();
+            if ((kind == DependencyKind.EXTENDS || kind == DependencyKind.IMPLEMENTS)
+                    && REPOSITORY_SUPERTYPES.contains(name)) {
+                type.getTypeArguments().filter(args -> !args.isEmpty()).map(args -> args.get(0))
+                        .filter(Type::isClassOrInterfaceType)
+                        .ifPresent(entity -> cls.addEdge("db", entity.asClassOrInterfaceType().getNameAsString()));
+            } else if (PERSISTENCE_TYPES.contains(name) && kind != DependencyKind.ANNOTATION) {
+                cls.addEdge("db", name);
+            }
+        }
+
+        @Override
+        public void annotation(AnnotationExpr annotation, ClassDependencies cls) {
+            if (!"Entity".equals(annotation.getName().getIdentifier())) {
+                return;
+            }
+            Node parent = annotation.getParentNode().orElse(null);
+            if (!(parent instanceof ClassOrInterfaceDeclaration entity)) {
+                return;
+            }
+            String table = null;
+            for (AnnotationExpr other : entity.getAnnotations()) {
+                if ("Table".equals(other.getName().getIdentifier())) {
+                    table = values(other, "name").stream().findFirst().orElse(null);
+                }
+            }
+            cls.addEdge("db", table != null ? table : entity.getNameAsString());
+        }
+    }
+
+    private static final class Events implements EdgeDetector {
+        @Override
+        public void type(ClassOrInterfaceType type, DependencyKind kind, ClassDependencies cls) {
+            // CDI Event<OrderPlaced>
+            if ("Event".equals(type.getNameAsString()) && kind != DependencyKind.ANNOTATION) {
+                type.getTypeArguments().filter(args -> args.size() == 1).map(args -> args.get(0))
+                        .filter(Type::isClassOrInterfaceType)
+                        .ifPresent(event -> cls.addEdge("events", event.asClassOrInterfaceType().getNameAsString()));
+            }
+        }
+
+        @Override
+        public void annotation(AnnotationExpr annotation, ClassDependencies cls) {
+            String name = annotation.getName().getIdentifier();
+            if (!EVENT_ANNOTATIONS.contains(name)) {
+                return;
+            }
+            for (String member : List.of("value", "topics", "destination", "queues")) {
+                for (String value : values(annotation, member)) {
+                    cls.addEdge("events", value);
+                }
+            }
+        }
+
+        @Override
+        public void methodCall(MethodCallExpr call, ClassDependencies cls) {
+            String method = call.getNameAsString();
+            if (PUBLISH_METHODS.contains(method) && call.getArguments().size() == 1
+                    && call.getArgument(0) instanceof ObjectCreationExpr event) {
+                cls.addEdge("events", event.getType().getNameAsString());
+            } else if (SEND_METHODS.contains(method)
+                    && containsAny(scopeName(call), "kafka", "jms", "rabbit", "amqp", "producer", "template")) {
+                cls.addEdge("events", firstLiteralArgument(call));
+            }
+        }
+    }
+
+    private static final class Config implements EdgeDetector {
+        @Override
+        public void annotation(AnnotationExpr annotation, ClassDependencies cls) {
+            switch (annotation.getName().getIdentifier()) {
+                case "Value" -> {
+                    for (String value : values(annotation, "value")) {
+                        placeholders(value, cls);
+                    }
+                }
+                case "ConfigProperty" -> values(annotation, "name").forEach(key -> cls.addEdge("config", key));
+                case "ConfigurationProperties", "ConfigMapping" -> {
+                    values(annotation, "prefix").forEach(prefix -> cls.addEdge("config", prefix + ".*"));
+                    values(annotation, "value").forEach(prefix -> cls.addEdge("config", prefix + ".*"));
+                }
+                default -> {
+                    // Not a configuration annotation
+                }
+            }
+        }
+
+        // ${key} and ${key:default}, possibly several in one value
+        private static void placeholders(String value, ClassDependencies cls) {
+            int start = value.indexOf("${");
+            while (start >= 0) {
+                int end = value.indexOf('}', start);
+                if (end < 0) {
+                    return;
+                }
+                String key = value.substring(start + 2, end);
+                int colon = key.indexOf(':');
+                cls.addEdge("config", colon >= 0 ? key.substring(0, colon) : key);
+                start = value.indexOf("${", end);
+            }
+        }
+
+        @Override
+        public void methodCall(MethodCallExpr call, ClassDependencies cls) {
+            String method = call.getNameAsString();
+            String scope = scopeName(call);
+            boolean system = scope.equals("system") && (method.equals("getenv") || method.equals("getProperty"));
+            boolean config = containsAny(scope, "env", "config")
+                    && Set.of("getProperty", "getRequiredProperty", "getValue", "getOptionalValue").contains(method);
+            if (system || config) {
+                cls.addEdge("config", firstLiteralArgument(call));
+            }
+        }
+    }
+
+    private static final class External implements EdgeDetector {
+        @Override
+        public void type(ClassOrInterfaceType type, DependencyKind kind, ClassDependencies cls) {
+            if (HTTP_CLIENT_TYPES.contains(type.getNameAsString()) && kind != DependencyKind.ANNOTATION) {
+                cls.addEdge("external", type.getNameAsString());
+            }
+        }
+
+        @Override
+        public void annotation(AnnotationExpr annotation, ClassDependencies cls) {
+            switch (annotation.getName().getIdentifier()) {
+                case "FeignClient" -> {
+                    List<String> url = values(annotation, "url");
+                    List<String> name = new ArrayList<>(values(annotation, "name"));
+                    name.addAll(values(annotation, "value"));
+                    (url.isEmpty() ? name : url).stream().findFirst().ifPresent(t -> cls.addEdge("external", t));
+                }
+                case "RegisterRestClient" -> {
+                    List<String> target = new ArrayList<>(values(annotation, "baseUri"));
+                    target.addAll(values(annotation, "configKey"));
+                    target.stream().findFirst().ifPresent(t -> cls.addEdge("external", t));
+                }
+                default -> {
+                    // Not a client annotation
+                }
+            }
+        }
+    }
+
+    private EdgeDetectors() {
+    }
+}
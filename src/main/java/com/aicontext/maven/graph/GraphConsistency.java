@@ -0,0 +1,186 @@
+package com.aicontext.maven.graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cross-checks the {@code @aicontext-graph} blocks of different classes.
+ * <p>
+ * Every outbound {@code [calls]} edge and every inbound {@code [by]} edge is
+ * indexed once into hash maps keyed by the (caller, callee) class pair, next to
+ * the methods each class declares. {@link #check()} then joins them in one pass
+ * over the indexed edges, so the cost is linear in the number of edges:
+ * <ul>
+ * <li>{@code A [calls]→ B.m()} where B's graph lists callers with {@code [by]←}
+ * but not A;</li>
+ * <li>{@code B [by]← A} where A's graph documents outbound edges but no
+ * {@code [calls]} or {@code [uses]} to B;</li>
+ * <li>{@code A [calls]→ B.m()} where B (or a project supertype) declares no
+ * method {@code m}. Classes extending a type outside the project are not
+ * checked, since the method may be inherited from it, and neither are
+ * {@code java.lang.Object} methods or classes missing from the method map
+ * (e.g. whose methods an annotation processor generates).</li>
+ * </ul>
+ * Names are resolved like type names in the documenting class's source file.
+ */
+public final class GraphConsistency {
+
+    // Inherited by every class
+    private static final Set<String> OBJECT_METHODS = Set.of(
+            "toString", "equals", "hashCode", "getClass", "clone", "finalize", "notify", "notifyAll", "wait");
+
+    private record Call(String location, String caller, String callee, String target, String method) {
+    }
+
+    private record By(String location, String caller, String callee, String written) {
+    }
+
+    private final Map<String, Set<String>> methodsByClass;
+    private final Map<String, ClassDependencies> classDependencies;
+
+    // (caller, callee) -> [calls] documented by the caller
+    private final Map<String, List<Call>> calls = new HashMap<>();
+    // (caller, callee) pairs with a [calls] or [uses] documented by the caller
+    private final Set<String> outbound = new HashSet<>();
+    // (caller, callee) documented in the callee's [by]
+    private final Map<String, List<By>> by = new HashMap<>();
+    // Classes whose graph has a [by] edge / any outbound class edge
+    private final Set<String> documentsCallers = new HashSet<>();
+    private final Set<String> documentsOutbound = new HashSet<>();
+
+    /**
+     * @param methodsByClass    method names declared by every project class whose
+     *                          methods are known from source
+     * @param classDependencies dependencies collected per class (for supertypes)
+     */
+    public GraphConsistency(Map<String, Set<String>> methodsByClass, Map<String, ClassDependencies> classDependencies) {
+        this.methodsByClass = methodsByClass;
+        this.classDependencies = classDependencies;
+    }
+
+    /**
+     * Indexes the {@code [calls]}, {@code [uses]} and {@code [by]} edges of one graph.
+     *
+     * @param className fully qualified name of the documenting class
+     * @param location  {@code file:line} used in messages
+     * @param nodes     parsed graph notation
+     * @param context   dependencies of the documenting class (for name resolution), or null
+     */
+    public void add(String className, String location, List<GraphNode> nodes, ClassDependencies context) {
+        for (GraphNode node : nodes) {
+            String self = ProjectGraphBuilder.resolve(node.getName(), className, context);
+            for (GraphEdge edge : node.getEdges()) {
+                if (edge.isInferred()) continue;
+                String relation = edge.getRelationType();
+                boolean isCalls = edge.isOutbound() && "calls".equals(relation);
+                boolean isUses = edge.isOutbound() && "uses".equals(relation);
+                boolean isBy = edge.isInbound() && "by".equals(relation);
+                if (!isCalls && !isUses && !isBy) continue;
+                for (String target : edge.getTargets()) {
+                    String other = ProjectGraphBuilder.resolve(ProjectGraphBuilder.classOf(target), className, context);
+                    if (isBy) {
+                        documentsCallers.add(self);
+                        by.computeIfAbsent(key(other, self), k -> new ArrayList<>())
+                                .add(new By(location, other, self, target.trim()));
+                        continue;
+                    }
+                    documentsOutbound.add(self);
+                    outbound.add(key(self, other));
+                    if (isCalls) {
+                        calls.computeIfAbsent(key(self, other), k -> new ArrayList<>())
+                                .add(new Call(location, self, other, target.trim(), methodOf(target)));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Joins the indexes and returns one message per mismatch, sorted.
+     */
+    public List<String> check() {
+        List<String> problems = new ArrayList<>();
+        for (Map.Entry<String, List<Call>> e : calls.entrySet()) {
+            for (Call call : e.getValue()) {
+                if (documentsCallers.contains(call.callee()) && !by.containsKey(e.getKey())) {
+                    problems.add(String.format("%s: %s [calls]→ %s but the [by]← edges of %s do not list %s",
+                            call.location(), simple(call.caller()), call.target(), simple(call.callee()),
+                            simple(call.caller())));
+                }
+                if (call.method() != null && !OBJECT_METHODS.contains(call.method())
+                        && !declares(call.callee(), call.method(), new HashSet<>())) {
+                    problems.add(String.format("%s: %s [calls]→ %s but %s declares no method %s",
+                            call.location(), simple(call.caller()), call.target(), simple(call.callee()),
+                            call.method()));
+                }
+            }
+        }
+        for (Map.Entry<String, List<By>> e : by.entrySet()) {
+            for (By edge : e.getValue()) {
+                if (documentsOutbound.contains(edge.caller()) && !outbound.contains(e.getKey())) {
+                    problems.add(String.format("%s: %s [by]← %s but the graph of %s has no [calls] or [uses] to %s",
+                            edge.location(), simple(edge.callee()), edge.written(), simple(edge.caller()),
+                            simple(edge.callee())));
+                }
+            }
+        }
+        problems.sort(null);
+        return problems;
+    }
+
+    /**
+     * Whether the class or one of its project supertypes declares the method;
+     * true when that cannot be known (not a project class, or a supertype
+     * outside the project).
+     */
+    private boolean declares(String className, String method, Set<String> visited) {
+        Set<String> methods = methodsByClass.get(className);
+        if (methods == null || methods.contains(method) || !visited.add(className)) {
+            return true;
+        }
+        ClassDependencies deps = classDependencies.get(className);
+        if (deps == null) {
+            // No references collected: no supertypes either
+            return false;
+        }
+        for (Map.Entry<String, Set<DependencyKind>> ref : deps.getReferences().entrySet()) {
+            Set<DependencyKind> kinds = ref.getValue();
+            if (!kinds.contains(DependencyKind.EXTENDS) && !kinds.contains(DependencyKind.IMPLEMENTS)) continue;
+            String supertype = deps.resolveName(ref.getKey());
+            if (supertype == null || declares(supertype, method, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Method part of a graph target: {@code Service.process()} and
+     * {@code Service.process} give {@code process}; type names give null.
+     */
+    static String methodOf(String target) {
+        String name = target.trim();
+        int paren = name.indexOf('(');
+        boolean member = paren >= 0;
+        if (member) {
+            name = name.substring(0, paren).trim();
+        }
+        int dot = name.lastIndexOf('.');
+        if (dot > 0 && (member || Character.isLowerCase(name.charAt(dot + 1)))) {
+            return name.substring(dot + 1);
+        }
+        return null;
+    }
+
+    private static String key(String caller, String callee) {
+        return caller + '\t' + callee;
+    }
+
+    private static String simple(String name) {
+        return ProjectTypeIndex.simpleName(name);
+    }
+}
@@ -16,11 +16,20 @@ public class GraphEdge {
     private final String relationType;
     private final Direction direction;
     private final List<String> targets;
+    private final boolean inferred;
 
     public GraphEdge(String relationType, Direction direction, List<String> targets) {
+        this(relationType, direction, targets, false);
+    }
+
+    /**
+     * @param inferred true for edges computed by the generator rather than written in the graph
+     */
+    public GraphEdge(String relationType, Direction direction, List<String> targets, boolean inferred) {
         this.relationType = relationType == null ? "" : relationType;
         this.direction = direction;
         this.targets = targets == null ? List.of() : List.copyOf(targets);
+        this.inferred = inferred;
     }
 
     public String getRelationType() {
@@ -42,4 +51,8 @@ public class GraphEdge {
     public boolean isInbound() {
         return direction == Direction.INBOUND;
     }
+
+    public boolean isInferred() {
+        return inferred;
+    }
 }
@@ -0,0 +1,336 @@
+package com.aicontext.maven.graph;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Exports documented relationship graphs as DOT, Mermaid, GraphML or JSON.
+ * <p>
+ * Output is streamed to a {@link Writer}: the graphs are walked twice (nodes,
+ * then edges) and each element is written as soon as it is reached, so no
+ * format ever holds the whole document in memory. Only the set of node ids
+ * already written is kept, to avoid duplicates.
+ * <p>
+ * Inbound edges ({@code [by]←}) are written in call direction (caller → node).
+ * Inferred edges are skipped since they mirror documented outbound edges.
+ */
+public final class GraphExporter {
+
+    /**
+     * One class's {@code @aicontext-graph}.
+     *
+     * @param className fully qualified name of the documenting class
+     * @param nodes     parsed graph nodes
+     */
+    public record DocumentedGraph(String className, List<GraphNode> nodes) {
+    }
+
+    public enum Format {
+        DOT("dot"),
+        MERMAID("mmd"),
+        GRAPHML("graphml"),
+        JSON("json");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Parses a format name (case-insensitive); {@code mermaid} and {@code mmd}
+         * are both accepted.
+         *
+         * @throws IllegalArgumentException for unknown formats
+         */
+        public static Format parse(String name) {
+            String n = name.trim().toLowerCase(Locale.ROOT);
+            for (Format f : values()) {
+                if (f.name().toLowerCase(Locale.ROOT).equals(n) || f.extension.equals(n)) {
+                    return f;
+                }
+            }
+            throw new IllegalArgumentException("Unknown graph export format: " + name
+                    + " (supported: dot, mermaid, graphml, json)");
+        }
+    }
+
+    private final List<String> packages;
+
+    /**
+     * @param packages package prefixes to export; graphs of classes outside all
+     *                 of them are skipped. Empty exports everything.
+     */
+    public GraphExporter(List<String> packages) {
+        this.packages = packages == null ? List.of() : List.copyOf(packages);
+    }
+
+    /**
+     * Writes the graphs in the given format. The writer is flushed but not closed.
+     */
+    public void export(Iterable<DocumentedGraph> graphs, Format format, Writer out) throws IOException {
+        FormatWriter w = switch (format) {
+            case DOT -> new DotWriter(out);
+            case MERMAID -> new MermaidWriter(out);
+            case GRAPHML -> new GraphMlWriter(out);
+            case JSON -> new JsonWriter(out);
+        };
+        w.begin();
+        Set<String> written = new HashSet<>();
+        for (DocumentedGraph graph : graphs) {
+            if (!included(graph)) continue;
+            for (GraphNode node : graph.nodes()) {
+                if (written.add(node.getName())) {
+                    w.node(node.getName());
+                }
+                for (GraphEdge edge : node.getEdges()) {
+                    if (edge.isInferred()) continue;
+                    for (String target : edge.getTargets()) {
+                        if (written.add(target)) {
+                            w.node(target);
+                        }
+                    }
+                }
+            }
+        }
+        w.edgesBegin();
+        for (DocumentedGraph graph : graphs) {
+            if (!included(graph)) continue;
+            for (GraphNode node : graph.nodes()) {
+                for (GraphEdge edge : node.getEdges()) {
+                    if (edge.isInferred()) continue;
+                    for (String target : edge.getTargets()) {
+                        if (edge.isOutbound()) {
+                            w.edge(node.getName(), target, edge.getRelationType());
+                        } else {
+                            w.edge(target, node.getName(), edge.getRelationType());
+                        }
+                    }
+                }
+            }
+        }
+        w.end();
+        out.flush();
+    }
+
+    private boolean included(DocumentedGraph graph) {
+        if (packages.isEmpty()) {
+            return true;
+        }
+        String className = graph.className() == null ? "" : graph.className();
+        for (String prefix : packages) {
+            if (className.startsWith(prefix + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private abstract static class FormatWriter {
+        protected final Writer out;
+
+        FormatWriter(Writer out) {
+            this.out = out;
+        }
+
+        abstract void begin() throws IOException;
+
+        abstract void node(String id) throws IOException;
+
+        void edgesBegin() throws IOException {
+        }
+
+        abstract void edge(String from, String to, String relation) throws IOException;
+
+        abstract void end() throws IOException;
+    }
+
+    private static final class DotWriter extends FormatWriter {
+        DotWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        void begin() throws IOException {
+            out.write("digraph relationships {\n  rankdir=LR;\n  node [shape=box];\n");
+        }
+
+        @Override
+        void node(String id) throws IOException {
+            out.write("  " + quote(id) + ";\n");
+        }
+
+        @Override
+        void edge(String from, String to, String relation) throws IOException {
+            out.write("  " + quote(from) + " -> " + quote(to) + " [label=" + quote(relation) + "];\n");
+        }
+
+        @Override
+        void end() throws IOException {
+            out.write("}\n");
+        }
+
+        private static String quote(String s) {
+            return "\"" + s.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+        }
+    }
+
+    private static final class MermaidWriter extends FormatWriter {
+        MermaidWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        void begin() throws IOException {
+            out.write("graph LR\n");
+        }
+
+        @Override
+        void node(String id) throws IOException {
+            out.write("  " + id(id) + "[\"" + label(id) + "\"]\n");
+        }
+
+        @Override
+        void edge(String from, String to, String relation) throws IOException {
+            out.write("  " + id(from) + " -->|" + label(relation) + "| " + id(to) + "\n");
+        }
+
+        @Override
+        void end() throws IOException {
+        }
+
+        // Mermaid ids must be plain identifiers; the original name goes in the label
+        private static String id(String s) {
+            StringBuilder sb = new StringBuilder(s.length() + 2).append("n_");
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                sb.append(Character.isLetterOrDigit(c) ? c : '_');
+            }
+            return sb.append('_').append(Integer.toHexString(s.hashCode())).toString();
+        }
+
+        private static String label(String s) {
+            return s.replace("\"", "#quot;").replace("|", "#124;");
+        }
+    }
+
+    private static final class GraphMlWriter extends FormatWriter {
+        private long edgeCount;
+
+        GraphMlWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        void begin() throws IOException {
+            out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                    + "<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n"
+                    + "  <key id=\"relation\" for=\"edge\" attr.name=\"relation\" attr.type=\"string\"/>\n"
+                    + "  <graph id=\"relationships\" edgedefault=\"directed\">\n");
+        }
+
+        @Override
+        void node(String id) throws IOException {
+            out.write("    <node id=\"" + xml(id) + "\"/>\n");
+        }
+
+        @Override
+        void edge(String from, String to, String relation) throws IOException {
+            out.write("    <edge id=\"e" + (edgeCount++) + "\" source=\"" + xml(from) + "\" target=\"" + xml(to)
+                    + "\"><data key=\"relation\">" + xml(relation) + "</data></edge>\n");
+        }
+
+        @Override
+        void end() throws IOException {
+            out.write("  </graph>\n</graphml>\n");
+        }
+
+        private static String xml(String s) {
+            StringBuilder sb = new StringBuilder(s.length());
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                switch (c) {
+                    case '&' -> sb.append("&amp;");
+                    case '<' -> sb.append("&lt;");
+                    case '>' -> sb.append("&gt;");
+                    case '"' -> sb.append("&quot;");
+                    case '\'' -> sb.append("&apos;");
+                    default -> sb.append(c);
+                }
+            }
+            return sb.toString();
+        }
+    }
+
+    private static final class JsonWriter extends FormatWriter {
+        private boolean first = true;
+
+        JsonWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        void begin() throws IOException {
+            out.write("{\n  \"nodes\": [");
+        }
+
+        @Override
+        void node(String id) throws IOException {
+            separator();
+            out.write("{\"id\": " + json(id) + "}");
+        }
+
+        @Override
+        void edgesBegin() throws IOException {
+            out.write("\n  ],\n  \"edges\": [");
+            first = true;
+        }
+
+        @Override
+        void edge(String from, String to, String relation) throws IOException {
+            separator();
+            out.write("{\"source\": " + json(from) + ", \"target\": " + json(to)
+                    + ", \"relation\": " + json(relation) + "}");
+        }
+
+        @Override
+        void end() throws IOException {
+            out.write("\n  ]\n}\n");
+        }
+
+        private void separator() throws IOException {
+            out.write(first ? "\n    " : ",\n    ");
+            first = false;
+        }
+
+        private static String json(String s) {
+            StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                switch (c) {
+                    case '"' -> sb.append("\\\"");
+                    case '\\' -> sb.append("\\\\");
+                    case '\n' -> sb.append("\\n");
+                    case '\r' -> sb.append("\\r");
+                    case '\t' -> sb.append("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            sb.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            sb.append(c);
+                        }
+                    }
+                }
+            }
+            return sb.append('"').toString();
+        }
+    }
+}
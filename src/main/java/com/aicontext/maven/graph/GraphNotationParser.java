@@ -3,9 +3,8 @@ package com.aicontext.maven.graph;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Parses compact graph notation for relationship diagrams.
@@ -21,19 +20,22 @@ import java.util.regex.Pattern;
  */
 public final class GraphNotationParser {
 
-    // Line: optional leading spaces, ├ or └, ─, [relation], → or ←, rest (targets)
-    private static final Pattern EDGE_LINE = Pattern.compile(
-            "\\s*[├└]─\\s*\\[([^]]+)\\]\\s*(→|←)\\s*(.+)",
-            Pattern.UNICODE_CHARACTER_CLASS);
-
-    /** Strip Javadoc line prefix (e.g. " * " or " *") so " *   └─[uses]→ X" parses as edge. */
-    private static String stripJavadocPrefix(String line) {
-        if (line == null) return "";
-        String s = line.trim();
-        if (s.startsWith("*")) {
-            s = s.substring(1).trim();
+    /**
+     * A malformed edge line. Lines and columns are 1-based and relative to the
+     * parsed content.
+     */
+    public record Problem(int line, int column, String message) {
+        @Override
+        public String toString() {
+            return "line " + line + ", column " + column + ": " + message;
         }
-        return s;
+    }
+
+    /**
+     * Parsed nodes plus the problems found on the way. Malformed edge lines are
+     * skipped, so {@link #nodes()} is what {@link #parseBlocks(String)} returns.
+     */
+    public record Result(List<GraphNode> nodes, List<Problem> problems) {
     }
 
     /**
@@ -47,65 +49,191 @@ public final class GraphNotationParser {
         if (block == null || block.isBlank()) {
             return new GraphNode("", List.of());
         }
+        List<GraphNode> nodes = new Cursor(block, false, null).parse();
+        return nodes.isEmpty() ? new GraphNode("", List.of()) : nodes.get(0);
+    }
+
+    /**
+     * Parses multiple graph blocks separated by blank lines or double newlines.
+     * Each block defines one node.
+     *
+     * @param content full content (e.g. from @aicontext-graph tag)
+     * @return list of parsed nodes
+     */
+    public static List<GraphNode> parseBlocks(String content) {
+        return parse(content).nodes();
+    }
 
-        String[] lines = block.split("\\r?\\n");
-        String nodeName = null;
-        List<GraphEdge> edges = new ArrayList<>();
+    /**
+     * Parses multiple graph blocks like {@link #parseBlocks(String)} and also
+     * reports where edge lines are malformed.
+     */
+    public static Result parse(String content) {
+        return parse(content, null);
+    }
 
-        for (String line : lines) {
-            String normalized = stripJavadocPrefix(line);
-            if (normalized.isEmpty()) {
-                continue;
-            }
+    /**
+     * Like {@link #parse(String)}, with node names, relations and targets taken
+     * from {@code pool} when an equal string is already there (and added
+     * otherwise), so graphs parsed with the same pool share one instance per name.
+     *
+     * @param pool canonical name instances, or null for no sharing
+     */
+    public static Result parse(String content, Map<String, String> pool) {
+        if (content == null || content.isBlank()) {
+            return new Result(List.of(), List.of());
+        }
+        Cursor cursor = new Cursor(content, true, pool);
+        List<GraphNode> nodes = cursor.parse();
+        return new Result(List.copyOf(nodes), List.copyOf(cursor.problems));
+    }
 
-            Matcher edgeMatcher = EDGE_LINE.matcher(normalized);
-            if (edgeMatcher.matches()) {
-                String relation = edgeMatcher.group(1).trim();
-                String arrow = edgeMatcher.group(2);
-                String targetStr = edgeMatcher.group(3).trim();
+    /**
+     * Single pass over the content, one line at a time, without regular
+     * expressions or intermediate line arrays.
+     */
+    private static final class Cursor {
+        private final String s;
+        private final boolean splitBlocks;
+        private final Map<String, String> pool;
+        private final List<GraphNode> nodes = new ArrayList<>();
+        private final List<Problem> problems = new ArrayList<>();
+        private String nodeName;
+        private List<GraphEdge> edges = new ArrayList<>();
+        private int line;
+        private int lineStart;
 
-                GraphEdge.Direction direction = "→".equals(arrow)
-                        ? GraphEdge.Direction.OUTBOUND
-                        : GraphEdge.Direction.INBOUND;
+        Cursor(String s, boolean splitBlocks, Map<String, String> pool) {
+            this.s = s;
+            this.splitBlocks = splitBlocks;
+            this.pool = pool;
+        }
 
-                List<String> targets = splitTargets(targetStr);
+        List<GraphNode> parse() {
+            int pos = 0;
+            int length = s.length();
+            line = 0;
+            while (pos <= length) {
+                int newline = s.indexOf('\n', pos);
+                int next = newline < 0 ? length + 1 : newline + 1;
+                int end = newline < 0 ? length : newline;
+                if (end > pos && s.charAt(end - 1) == '\r') {
+                    end--;
+                }
+                line++;
+                lineStart = pos;
+                parseLine(pos, end);
+                pos = next;
+            }
+            flush();
+            return nodes;
+        }
 
-                edges.add(new GraphEdge(relation, direction, targets));
+        private void parseLine(int start, int end) {
+            int i = skipWhitespace(start, end);
+            if (i == end) {
+                // Blank line: ends the block (a bare " *" does not)
+                if (splitBlocks) {
+                    flush();
+                }
+                return;
+            }
+            if (s.charAt(i) == '*') {
+                i = skipWhitespace(i + 1, end);
+                if (i == end) {
+                    return;
+                }
+            }
+            char c = s.charAt(i);
+            if (c == '├' || c == '└') {
+                parseEdge(i, end);
             } else if (nodeName == null) {
                 // First non-empty, non-edge line = node name
-                nodeName = normalized;
+                nodeName = intern(s.substring(i, trimEnd(i, end)));
             }
         }
 
-        if (nodeName == null) {
-            nodeName = "";
+        private void parseEdge(int i, int end) {
+            i++;
+            if (i >= end || s.charAt(i) != '─') {
+                problem(i, "expected '─' after tree marker");
+                return;
+            }
+            while (i < end && s.charAt(i) == '─') {
+                i++;
+            }
+            i = skipWhitespace(i, end);
+            if (i >= end || s.charAt(i) != '[') {
+                problem(i, "expected '[' before relation");
+                return;
+            }
+            int close = s.indexOf(']', i + 1);
+            if (close < 0 || close >= end) {
+                problem(i, "missing ']' after relation");
+                return;
+            }
+            String relation = s.substring(i + 1, close).trim();
+            if (relation.isEmpty()) {
+                problem(i, "empty relation");
+                return;
+            }
+            i = skipWhitespace(close + 1, end);
+            GraphEdge.Direction direction;
+            if (i < end && s.charAt(i) == '→') {
+                direction = GraphEdge.Direction.OUTBOUND;
+            } else if (i < end && s.charAt(i) == '←') {
+                direction = GraphEdge.Direction.INBOUND;
+            } else {
+                problem(i, "expected '→' or '←' after [" + relation + "]");
+                return;
+            }
+            int afterArrow = i + 1;
+            i = skipWhitespace(afterArrow, end);
+            if (i == end) {
+                problem(afterArrow, "missing targets after [" + relation + "]");
+                return;
+            }
+            List<String> targets = splitTargets(s.substring(i, trimEnd(i, end)));
+            if (pool != null && !targets.isEmpty()) {
+                targets.replaceAll(this::intern);
+            }
+            edges.add(new GraphEdge(intern(relation), direction, targets));
         }
-        return new GraphNode(nodeName, edges);
-    }
 
-    /**
-     * Parses multiple graph blocks separated by blank lines or double newlines.
-     * Each block defines one node.
-     *
-     * @param content full content (e.g. from @aicontext-graph tag)
-     * @return list of parsed nodes
-     */
-    public static List<GraphNode> parseBlocks(String content) {
-        if (content == null || content.isBlank()) {
-            return List.of();
+        private String intern(String value) {
+            if (pool == null) {
+                return value;
+            }
+            String existing = pool.putIfAbsent(value, value);
+            return existing != null ? existing : value;
         }
 
-        List<GraphNode> nodes = new ArrayList<>();
-        String[] blocks = content.split("\\n\\s*\\n");
+        private void flush() {
+            // parseBlocks() drops blocks without a node name; parseBlock() keeps their edges
+            if (nodeName != null || !splitBlocks && !edges.isEmpty()) {
+                nodes.add(new GraphNode(nodeName == null ? "" : nodeName, edges));
+            }
+            nodeName = null;
+            edges = new ArrayList<>();
+        }
 
-        for (String block : blocks) {
-            GraphNode node = parseBlock(block);
-            if (!node.getName().isEmpty()) {
-                nodes.add(node);
+        private void problem(int index, String message) {
+            problems.add(new Problem(line, index - lineStart + 1, message));
+        }
+
+        private int skipWhitespace(int i, int end) {
+            while (i < end && Character.isWhitespace(s.charAt(i))) {
+                i++;
             }
+            return i;
         }
 
-        return nodes;
+        private int trimEnd(int start, int end) {
+            while (end > start && Character.isWhitespace(s.charAt(end - 1))) {
+                end--;
+            }
+            return end;
+        }
     }
 
     /**
@@ -118,7 +246,13 @@ public final class GraphNotationParser {
      * @return set of documented "uses" targets (simple names)
      */
     public static Set<String> getDocumentedUses(String graphContent, String nodeName) {
-        List<GraphNode> nodes = parseBlocks(graphContent);
+        return getDocumentedUses(parseBlocks(graphContent), nodeName);
+    }
+
+    /**
+     * Same as {@link #getDocumentedUses(String, String)} for already parsed nodes.
+     */
+    public static Set<String> getDocumentedUses(List<GraphNode> nodes, String nodeName) {
         if (nodes.isEmpty()) return Set.of();
         GraphNode node = null;
         if (nodeName != null && !nodeName.isEmpty()) {
@@ -0,0 +1,199 @@
+package com.aicontext.maven.graph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Neighborhood and path queries on the project {@link DependencyGraph}.
+ * <p>
+ * Outbound edges are the graph's own CSR rows; inbound edges come from one
+ * {@link DependencyGraph#transpose(int)} made when the query object is built.
+ * Every query is a breadth-first search that only visits the nodes it reaches
+ * and keeps its state in a hash map, so a 2-hop neighborhood costs the size of
+ * the neighborhood, not of the graph. Relations select edges by flag:
+ * {@code uses}, {@code calls} and {@code by} (documented) and {@code detected}
+ * (found in code).
+ * <p>
+ * Names are node names (fully qualified for project classes) or simple class
+ * names when they are unique in the graph.
+ */
+public final class GraphQuery {
+
+    /** Which way edges are followed. */
+    public enum Direction {
+        /** From a class to what it depends on. */
+        OUTBOUND,
+        /** From a class to its dependents. */
+        INBOUND,
+        BOTH;
+
+        /**
+         * {@code out}, {@code in} or {@code both} (also the constant names), any case.
+         *
+         * @throws IllegalArgumentException for anything else
+         */
+        public static Direction parse(String value) {
+            return switch (value.trim().toLowerCase(Locale.ROOT)) {
+                case "out", "outbound" -> OUTBOUND;
+                case "in", "inbound" -> INBOUND;
+                case "both" -> BOTH;
+                default -> throw new IllegalArgumentException("Unknown direction: " + value + " (use out, in or both)");
+            };
+        }
+    }
+
+    /**
+     * A node reached by {@link #neighborhood}.
+     *
+     * @param name     node name
+     * @param distance number of hops from the start node
+     */
+    public record Neighbor(String name, int distance) {
+    }
+
+    /** Edge flags of every relation. */
+    public static final int ALL_RELATIONS = DependencyGraph.DOCUMENTED_USES | DependencyGraph.DOCUMENTED_CALLS
+            | DependencyGraph.DOCUMENTED_BY | DependencyGraph.DETECTED;
+
+    // Marks a simple name shared by several nodes
+    private static final int AMBIGUOUS = -2;
+
+    private final DependencyGraph graph;
+    private final DependencyGraph inverse;
+    private final Map<String, Integer> bySimpleName = new HashMap<>();
+
+    public GraphQuery(DependencyGraph graph) {
+        this.graph = graph;
+        this.inverse = graph.transpose(ALL_RELATIONS);
+        for (int node = 0; node < graph.nodeCount(); node++) {
+            bySimpleName.merge(ProjectTypeIndex.simpleName(graph.name(node)), node, (a, b) -> AMBIGUOUS);
+        }
+    }
+
+    /**
+     * Edge flags for relation names ({@code uses}, {@code calls}, {@code by},
+     * {@code detected}); all relations when null or empty.
+     *
+     * @throws IllegalArgumentException for an unknown relation
+     */
+    public static int relationMask(Collection<String> relations) {
+        if (relations == null || relations.isEmpty()) {
+            return ALL_RELATIONS;
+        }
+        int mask = 0;
+        for (String relation : relations) {
+            mask |= switch (relation.trim().toLowerCase(Locale.ROOT)) {
+                case "uses" -> DependencyGraph.DOCUMENTED_USES;
+                case "calls" -> DependencyGraph.DOCUMENTED_CALLS;
+                case "by" -> DependencyGraph.DOCUMENTED_BY;
+                case "detected" -> DependencyGraph.DETECTED;
+                default -> throw new IllegalArgumentException(
+                        "Unknown relation: " + relation + " (use uses, calls, by or detected)");
+            };
+        }
+        return mask;
+    }
+
+    /**
+     * @return the node id for a node name or a unique simple name, or -1
+     */
+    public int resolve(String name) {
+        if (name == null) {
+            return -1;
+        }
+        int id = graph.id(name.trim());
+        if (id >= 0) {
+            return id;
+        }
+        Integer simple = bySimpleName.get(name.trim());
+        return simple != null && simple != AMBIGUOUS ? simple : -1;
+    }
+
+    /**
+     * Nodes within {@code hops} edges of a start node, nearest first (ties by
+     * name); the start node itself is not included.
+     *
+     * @return the neighbors, empty if the start node is unknown
+     */
+    public List<Neighbor> neighborhood(String from, int hops, int relationMask, Direction direction) {
+        int start = resolve(from);
+        if (start < 0) {
+            return List.of();
+        }
+        Map<Integer, Integer> distance = new HashMap<>();
+        distance.put(start, 0);
+        List<Integer> frontier = List.of(start);
+        List<Neighbor> result = new ArrayList<>();
+        for (int hop = 1; hop <= hops && !frontier.isEmpty(); hop++) {
+            List<Integer> next = new ArrayList<>();
+            for (int node : frontier) {
+                if (direction != Direction.INBOUND) {
+                    visit(graph, node, hop, relationMask, distance, next);
+                }
+                if (direction != Direction.OUTBOUND) {
+                    visit(inverse, node, hop, relationMask, distance, next);
+                }
+            }
+            for (int node : next) {
+                result.add(new Neighbor(graph.name(node), hop));
+            }
+            frontier = next;
+        }
+        result.sort(Comparator.comparingInt(Neighbor::distance).thenComparing(Neighbor::name));
+        return result;
+    }
+
+    private static void visit(DependencyGraph rows, int node, int value, int relationMask,
+            Map<Integer, Integer> seen, List<Integer> next) {
+        for (int edge = rows.edgeStart(node); edge < rows.edgeEnd(node); edge++) {
+            if ((rows.edgeFlags(edge) & relationMask) != 0 && seen.putIfAbsent(rows.edgeTarget(edge), value) == null) {
+                next.add(rows.edgeTarget(edge));
+            }
+        }
+    }
+
+    /**
+     * A shortest path between two nodes, both ends included.
+     *
+     * @return node names along the path, empty if either node is unknown or
+     *         there is no path
+     */
+    public List<String> shortestPath(String from, String to, int relationMask, Direction direction) {
+        int start = resolve(from);
+        int goal = resolve(to);
+        if (start < 0 || goal < 0) {
+            return List.of();
+        }
+        // Node -> the node it was reached from
+        Map<Integer, Integer> parent = new HashMap<>();
+        parent.put(start, start);
+        List<Integer> frontier = List.of(start);
+        while (!frontier.isEmpty() && !parent.containsKey(goal)) {
+            List<Integer> next = new ArrayList<>();
+            for (int node : frontier) {
+                if (direction != Direction.INBOUND) {
+                    visit(graph, node, node, relationMask, parent, next);
+                }
+                if (direction != Direction.OUTBOUND) {
+                    visit(inverse, node, node, relationMask, parent, next);
+                }
+            }
+            frontier = next;
+        }
+        if (!parent.containsKey(goal)) {
+            return List.of();
+        }
+        List<String> path = new ArrayList<>();
+        for (int node = goal; ; node = parent.get(node)) {
+            path.add(0, graph.name(node));
+            if (node == start) {
+                return path;
+            }
+        }
+    }
+}
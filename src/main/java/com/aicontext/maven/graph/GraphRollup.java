@@ -0,0 +1,224 @@
+package com.aicontext.maven.graph;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Package- and module-level view of a {@link DependencyGraph}.
+ * <p>
+ * Class edges are aggregated in a single pass over the edge arrays: an edge
+ * between two packages adds one to the weight of the package edge (and of the
+ * module edge, if the modules differ), and is also kept on both packages as a
+ * cross-package class edge for the drill-down; an edge inside a package is
+ * kept on that package only. Nodes whose package is unknown (names that are
+ * not project types) are left out.
+ * <p>
+ * A module is a package cut to its first {@code moduleDepth} segments, so with
+ * depth 3 {@code com.acme.billing.api} belongs to {@code com.acme.billing}.
+ */
+public final class GraphRollup {
+
+    /**
+     * Aggregated edge; the weight is the number of class edges it stands for.
+     */
+    public record WeightedEdge(String from, String to, int weight) {
+    }
+
+    /**
+     * Class-level edge by fully qualified name, with its {@link DependencyGraph} flags.
+     */
+    public record ClassEdge(String from, String to, int flags) {
+    }
+
+    /**
+     * One package: its classes and the class edges inside it, leaving it and
+     * entering it.
+     */
+    public static final class PackageView {
+        private final String name;
+        private final String module;
+        private final List<String> classes = new ArrayList<>();
+        private final List<ClassEdge> internalEdges = new ArrayList<>();
+        private final List<ClassEdge> outgoingEdges = new ArrayList<>();
+        private final List<ClassEdge> incomingEdges = new ArrayList<>();
+
+        private PackageView(String name, String module) {
+            this.name = name;
+            this.module = module;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getModule() {
+            return module;
+        }
+
+        public List<String> getClasses() {
+            return Collections.unmodifiableList(classes);
+        }
+
+        public List<ClassEdge> getInternalEdges() {
+            return Collections.unmodifiableList(internalEdges);
+        }
+
+        public List<ClassEdge> getOutgoingEdges() {
+            return Collections.unmodifiableList(outgoingEdges);
+        }
+
+        public List<ClassEdge> getIncomingEdges() {
+            return Collections.unmodifiableList(incomingEdges);
+        }
+    }
+
+    private final Map<String, PackageView> packages;
+    private final List<WeightedEdge> packageEdges;
+    private final List<WeightedEdge> moduleEdges;
+    private final int moduleCount;
+
+    private GraphRollup(Map<String, PackageView> packages, List<WeightedEdge> packageEdges,
+            List<WeightedEdge> moduleEdges, int moduleCount) {
+        this.packages = packages;
+        this.packageEdges = packageEdges;
+        this.moduleEdges = moduleEdges;
+        this.moduleCount = moduleCount;
+    }
+
+    /**
+     * Rolls the graph up.
+     *
+     * @param graph       class graph
+     * @param packageOf   package of a node name, or null if the node is not a project class
+     * @param moduleDepth number of package segments that name a module
+     */
+    public static GraphRollup of(DependencyGraph graph, Function<String, String> packageOf, int moduleDepth) {
+        int n = graph.nodeCount();
+
+        // Dense ids for packages and modules, sorted by name for stable output
+        String[] packageNames = new String[n];
+        TreeMap<String, Integer> packageIds = new TreeMap<>();
+        for (int node = 0; node < n; node++) {
+            packageNames[node] = packageOf.apply(graph.name(node));
+            if (packageNames[node] != null) {
+                packageIds.put(packageNames[node], 0);
+            }
+        }
+        List<PackageView> views = new ArrayList<>(packageIds.size());
+        TreeMap<String, Integer> moduleIds = new TreeMap<>();
+        for (String pkg : packageIds.keySet()) {
+            moduleIds.put(moduleOf(pkg, moduleDepth), 0);
+        }
+        int id = 0;
+        for (Map.Entry<String, Integer> e : moduleIds.entrySet()) {
+            e.setValue(id++);
+        }
+        List<String> moduleNames = new ArrayList<>(moduleIds.keySet());
+        id = 0;
+        int[] moduleOfPackage = new int[packageIds.size()];
+        for (Map.Entry<String, Integer> e : packageIds.entrySet()) {
+            String module = moduleOf(e.getKey(), moduleDepth);
+            moduleOfPackage[id] = moduleIds.get(module);
+            views.add(new PackageView(e.getKey(), module));
+            e.setValue(id++);
+        }
+        int[] packageOfNode = new int[n];
+        for (int node = 0; node < n; node++) {
+            packageOfNode[node] = packageNames[node] != null ? packageIds.get(packageNames[node]) : -1;
+            if (packageOfNode[node] >= 0) {
+                views.get(packageOfNode[node]).classes.add(graph.name(node));
+            }
+        }
+
+        // The aggregation pass
+        Map<Long, int[]> packageWeights = new HashMap<>();
+        Map<Long, int[]> moduleWeights = new HashMap<>();
+        for (int source = 0; source < n; source++) {
+            int from = packageOfNode[source];
+            if (from < 0) continue;
+            for (int edge = graph.edgeStart(source); edge < graph.edgeEnd(source); edge++) {
+                int target = graph.edgeTarget(edge);
+                int to = packageOfNode[target];
+                if (to < 0) continue;
+                ClassEdge classEdge = new ClassEdge(graph.name(source), graph.name(target), graph.edgeFlags(edge));
+                if (from == to) {
+                    views.get(from).internalEdges.add(classEdge);
+                    continue;
+                }
+                views.get(from).outgoingEdges.add(classEdge);
+                views.get(to).incomingEdges.add(classEdge);
+                packageWeights.computeIfAbsent(((long) from << 32) | to, k -> new int[1])[0]++;
+                int fromModule = moduleOfPackage[from];
+                int toModule = moduleOfPackage[to];
+                if (fromModule != toModule) {
+                    moduleWeights.computeIfAbsent(((long) fromModule << 32) | toModule, k -> new int[1])[0]++;
+                }
+            }
+        }
+
+        Map<String, PackageView> byName = new LinkedHashMap<>();
+        for (PackageView view : views) {
+            view.classes.sort(null);
+            byName.put(view.name, view);
+        }
+        List<String> names = new ArrayList<>(packageIds.keySet());
+        return new GraphRollup(byName, weighted(packageWeights, names), weighted(moduleWeights, moduleNames),
+                moduleNames.size());
+    }
+
+    private static List<WeightedEdge> weighted(Map<Long, int[]> weights, List<String> names) {
+        List<WeightedEdge> edges = new ArrayList<>(weights.size());
+        for (Map.Entry<Long, int[]> e : weights.entrySet()) {
+            long key = e.getKey();
+            edges.add(new WeightedEdge(names.get((int) (key >>> 32)), names.get((int) key), e.getValue()[0]));
+        }
+        // Heaviest first
+        edges.sort((a, b) -> a.weight() != b.weight() ? Integer.compare(b.weight(), a.weight())
+                : a.from().equals(b.from()) ? a.to().compareTo(b.to()) : a.from().compareTo(b.from()));
+        return List.copyOf(edges);
+    }
+
+    static String moduleOf(String packageName, int moduleDepth) {
+        if (moduleDepth <= 0) {
+            return packageName;
+        }
+        int end = -1;
+        for (int i = 0; i < moduleDepth; i++) {
+            end = packageName.indexOf('.', end + 1);
+            if (end < 0) {
+                return packageName;
+            }
+        }
+        return packageName.substring(0, end);
+    }
+
+    /** Packages sorted by name. */
+    public Collection<PackageView> packages() {
+        return Collections.unmodifiableCollection(packages.values());
+    }
+
+    public PackageView get(String packageName) {
+        return packages.get(packageName);
+    }
+
+    /** Package-to-package edges, heaviest first. */
+    public List<WeightedEdge> packageEdges() {
+        return packageEdges;
+    }
+
+    /** Module-to-module edges, heaviest first. */
+    public List<WeightedEdge> moduleEdges() {
+        return moduleEdges;
+    }
+
+    public int moduleCount() {
+        return moduleCount;
+    }
+}
@@ -0,0 +1,291 @@
+package com.aicontext.maven.graph;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Graph validation results of the previous run, so a run only re-validates the
+ * classes it has to.
+ * <p>
+ * For every class with an {@code @aicontext-graph} the state keeps the hash of
+ * its source file, its resolved dependencies, its documented uses, every type
+ * name it mentions and the messages validation produced. It also keeps the set
+ * of project types. A class must be validated again when its file changed, or
+ * when a project type it mentions by name (or depended on) was added, removed
+ * or renamed; a reverse index from names to classes finds those without
+ * looking at any other class. With symbol solving, a class whose resolved
+ * dependencies changed is validated again too ({@link #changedDependencies}).
+ * All other classes replay their stored messages.
+ * <p>
+ * Stored as text next to the generated output:
+ * <pre>
+ * # aicontext graph validation v1 &lt;mode&gt;
+ * T  type
+ * C  class  hash  dependencies  documented  names
+ * E  class  message        (error)
+ * W  class  message        (warning)
+ * </pre>
+ * Fields are tab-separated, lists comma-separated. A state written in another
+ * mode (e.g. with symbol solving switched on) is discarded, except by
+ * {@link #loadAnyMode}, which only needs the dependents.
+ */
+public final class GraphValidationState {
+
+    public static final String FILE_NAME = "graph-validation.state";
+    private static final String HEADER = "# aicontext graph validation v1 ";
+
+    /**
+     * Validation inputs and results of one class.
+     */
+    public record ClassState(String fileHash, Set<String> dependencies, Set<String> documented, Set<String> names,
+            List<String> errors, List<String> warnings) {
+
+        public ClassState {
+            dependencies = Set.copyOf(dependencies);
+            documented = Set.copyOf(documented);
+            names = Set.copyOf(names);
+            errors = List.copyOf(errors);
+            warnings = List.copyOf(warnings);
+        }
+    }
+
+    private final Path file;
+    private final String mode;
+    private final Map<String, ClassState> classes = new LinkedHashMap<>();
+    private Set<String> types = new HashSet<>();
+
+    private GraphValidationState(Path file, String mode) {
+        this.file = file;
+        this.mode = mode;
+    }
+
+    /**
+     * Reads the state file; a missing, unreadable or other-mode file gives an
+     * empty state (everything is validated).
+     */
+    public static GraphValidationState load(Path file, String mode) {
+        return read(file, mode);
+    }
+
+    /**
+     * Reads the state file in whichever mode it was written, for callers that
+     * only look up dependents; a missing or unreadable file gives an empty
+     * state in {@code defaultMode}.
+     */
+    public static GraphValidationState loadAnyMode(Path file, String defaultMode) {
+        GraphValidationState state = read(file, null);
+        return state.mode != null ? state : new GraphValidationState(file, defaultMode);
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    // A null mode accepts the mode in the file's header
+    private static GraphValidationState read(Path file, String mode) {
+        GraphValidationState empty = new GraphValidationState(file, mode);
+        if (file == null || !Files.isRegularFile(file)) {
+            return empty;
+        }
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return empty;
+        }
+        if (lines.isEmpty() || !lines.get(0).startsWith(HEADER)
+                || (mode != null && !lines.get(0).equals(HEADER + mode))) {
+            return empty;
+        }
+        GraphValidationState state = new GraphValidationState(file, lines.get(0).substring(HEADER.length()));
+        Map<String, List<String>> errors = new HashMap<>();
+        Map<String, List<String>> warnings = new HashMap<>();
+        Map<String, String[]> rows = new LinkedHashMap<>();
+        for (String line : lines.subList(1, lines.size())) {
+            String[] parts = line.split("\t", -1);
+            switch (parts[0]) {
+                case "T" -> {
+                    if (parts.length == 2) state.types.add(parts[1]);
+                }
+                case "C" -> {
+                    if (parts.length == 6) rows.put(parts[1], parts);
+                }
+                case "E" -> {
+                    if (parts.length >= 3) errors.computeIfAbsent(parts[1], c -> new ArrayList<>())
+                            .add(line.substring(parts[0].length() + parts[1].length() + 2));
+                }
+                case "W" -> {
+                    if (parts.length >= 3) warnings.computeIfAbsent(parts[1], c -> new ArrayList<>())
+                            .add(line.substring(parts[0].length() + parts[1].length() + 2));
+                }
+                default -> {
+                    // Unknown record: ignore
+                }
+            }
+        }
+        for (Map.Entry<String, String[]> row : rows.entrySet()) {
+            String[] parts = row.getValue();
+            state.classes.put(row.getKey(), new ClassState(parts[2], split(parts[3]), split(parts[4]),
+                    split(parts[5]), errors.getOrDefault(row.getKey(), List.of()),
+                    warnings.getOrDefault(row.getKey(), List.of())));
+        }
+        return state;
+    }
+
+    /**
+     * Classes that must be validated again.
+     *
+     * @param fileHashes   current source file hash of every class to validate
+     * @param projectTypes fully qualified names of all current project types
+     */
+    public Set<String> dirtyClasses(Map<String, String> fileHashes, Set<String> projectTypes) {
+        Set<String> dirty = new LinkedHashSet<>();
+        for (Map.Entry<String, String> e : fileHashes.entrySet()) {
+            ClassState previous = classes.get(e.getKey());
+            if (previous == null || !previous.fileHash().equals(e.getValue())) {
+                dirty.add(e.getKey());
+            }
+        }
+
+        Set<String> changedTypes = new HashSet<>();
+        for (String type : projectTypes) {
+            if (!types.contains(type)) changedTypes.add(type);
+        }
+        for (String type : types) {
+            if (!projectTypes.contains(type)) changedTypes.add(type);
+        }
+        if (changedTypes.isEmpty()) {
+            return dirty;
+        }
+
+        for (String cls : dependentsOf(changedTypes)) {
+            if (fileHashes.containsKey(cls)) {
+                dirty.add(cls);
+            }
+        }
+        return dirty;
+    }
+
+    /**
+     * Classes whose dependencies differ from the stored ones. With symbol
+     * solving a class resolves through other files (the return type of a called
+     * method), so an unchanged file can still have new dependencies.
+     *
+     * @param dependencies current dependencies by class
+     * @param classNames   classes to check
+     */
+    public Set<String> changedDependencies(Map<String, Set<String>> dependencies, Collection<String> classNames) {
+        Set<String> changed = new LinkedHashSet<>();
+        for (String cls : classNames) {
+            ClassState previous = classes.get(cls);
+            if (previous == null || !previous.dependencies().equals(dependencies.getOrDefault(cls, Set.of()))) {
+                changed.add(cls);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Classes that mention one of the given project types by name or depended
+     * on it, per the stored state.
+     */
+    public Set<String> dependentsOf(Collection<String> types) {
+        // Reverse index: mentioned simple name or dependency -> classes
+        Map<String, Set<String>> dependents = new HashMap<>();
+        for (Map.Entry<String, ClassState> e : classes.entrySet()) {
+            for (String name : e.getValue().names()) {
+                dependents.computeIfAbsent(name, n -> new HashSet<>()).add(e.getKey());
+            }
+            for (String dependency : e.getValue().dependencies()) {
+                dependents.computeIfAbsent(dependency, n -> new HashSet<>()).add(e.getKey());
+            }
+        }
+        Set<String> result = new TreeSet<>();
+        for (String type : types) {
+            result.addAll(dependents.getOrDefault(type, Set.of()));
+            result.addAll(dependents.getOrDefault(ProjectTypeIndex.simpleName(type), Set.of()));
+        }
+        return result;
+    }
+
+    public ClassState get(String className) {
+        return classes.get(className);
+    }
+
+    public void put(String className, ClassState state) {
+        classes.put(className, state);
+    }
+
+    /**
+     * Drops classes that no longer have a graph.
+     */
+    public void retain(Collection<String> classNames) {
+        classes.keySet().retainAll(new HashSet<>(classNames));
+    }
+
+    public void setProjectTypes(Set<String> projectTypes) {
+        this.types = new HashSet<>(projectTypes);
+    }
+
+    public void save() throws IOException {
+        if (file == null) {
+            return;
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            w.write(HEADER + mode);
+            w.newLine();
+            for (String type : new TreeSet<>(types)) {
+                w.write("T\t" + type);
+                w.newLine();
+            }
+            for (Map.Entry<String, ClassState> e : classes.entrySet()) {
+                ClassState s = e.getValue();
+                w.write("C\t" + e.getKey() + "\t" + s.fileHash() + "\t" + join(s.dependencies()) + "\t"
+                        + join(s.documented()) + "\t" + join(s.names()));
+                w.newLine();
+                for (String error : s.errors()) {
+                    w.write("E\t" + e.getKey() + "\t" + oneLine(error));
+                    w.newLine();
+                }
+                for (String warning : s.warnings()) {
+                    w.write("W\t" + e.getKey() + "\t" + oneLine(warning));
+                    w.newLine();
+                }
+            }
+        }
+    }
+
+    private static Set<String> split(String list) {
+        Set<String> values = new LinkedHashSet<>();
+        for (String value : list.split(",")) {
+            if (!value.isEmpty()) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    private static String join(Set<String> values) {
+        return String.join(",", new TreeSet<>(values));
+    }
+
+    private static String oneLine(String message) {
+        return message.replace('\n', ' ').replace('\r', ' ');
+    }
+}
@@ -0,0 +1,81 @@
+package com.aicontext.maven.graph;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the dependencies of one class with its {@code @aicontext-graph}.
+ * <p>
+ * Strict for code → graph: every project type the class uses must be a
+ * documented {@code [uses]} target or listed in {@code @aicontext-graph-ignore}
+ * (error). Lenient for graph → code: documented types the code does not use
+ * only give a warning. Shared by the generate-docs and validate-graph goals.
+ */
+public final class GraphValidator {
+
+    /**
+     * Validates one class and returns the result as validation state.
+     *
+     * @param location   {@code file:line} used in messages
+     * @param nodes      parsed graph of the class
+     * @param collected  dependencies collected from the class
+     * @param usedTypes  fully qualified project types the class uses
+     * @param ignoreSet  names from {@code @aicontext-graph-ignore}
+     * @param fileHash   hash of the class's source file, stored with the result
+     */
+    public static GraphValidationState.ClassState validate(String location, List<GraphNode> nodes,
+            ClassDependencies collected, Set<String> usedTypes, Set<String> ignoreSet, String fileHash) {
+        String className = ProjectTypeIndex.simpleName(collected.getQualifiedName());
+
+        // Dependencies are resolved to FQNs; graph notation documents simple names
+        Set<String> actual = usedTypes.stream()
+                .map(ProjectTypeIndex::simpleName)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<String> documented = GraphNotationParser.getDocumentedUses(nodes, className);
+
+        List<String> errors = new ArrayList<>();
+        for (String dep : actual) {
+            if (!documented.contains(dep) && !ignoreSet.contains(dep)) {
+                errors.add(String.format(
+                        "%s: Class dependency '%s' found but not in graph. Add to @aicontext-graph or @aicontext-graph-ignore.",
+                        location, dep));
+            }
+        }
+        List<String> warnings = new ArrayList<>();
+        for (String doc : documented) {
+            if (!actual.contains(doc) && !ignoreSet.contains(doc)) {
+                warnings.add(location + " Graph documents '" + doc + "' but code does not use it (lenient).");
+            }
+        }
+
+        // Every name the class mentions, so adding or removing a type with that
+        // name makes the class dirty again
+        Set<String> names = new HashSet<>(documented);
+        for (String reference : collected.getReferences().keySet()) {
+            names.add(ProjectTypeIndex.simpleName(reference));
+        }
+        return new GraphValidationState.ClassState(fileHash, usedTypes, documented, names, errors, warnings);
+    }
+
+    /**
+     * Names listed in an {@code @aicontext-graph-ignore} tag.
+     */
+    public static Set<String> parseIgnore(String content) {
+        if (content == null || content.isBlank())
+            return Set.of();
+        Set<String> set = new HashSet<>();
+        for (String s : content.split(",")) {
+            String t = s.trim();
+            if (!t.isEmpty())
+                set.add(t);
+        }
+        return set;
+    }
+
+    private GraphValidator() {
+    }
+}
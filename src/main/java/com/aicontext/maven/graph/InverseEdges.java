@@ -0,0 +1,73 @@
+package com.aicontext.maven.graph;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Inbound {@code [by]←} edges computed from the project graph instead of
+ * written by hand.
+ * <p>
+ * The documented outbound {@code [uses]} and {@code [calls]} edges of every
+ * graph are reversed once ({@link DependencyGraph#transpose(int)}); merging
+ * into a node is then a lookup of its row. Callers already listed in a
+ * handwritten {@code [by]} edge are not repeated; the rest are appended as one
+ * {@link GraphEdge#isInferred() inferred} edge. Because the edges are derived
+ * on every run, they follow renamed and removed classes automatically.
+ */
+public final class InverseEdges {
+
+    private final DependencyGraph graph;
+    private final DependencyGraph inverse;
+
+    public InverseEdges(DependencyGraph graph) {
+        this.graph = graph;
+        this.inverse = graph.transpose(DependencyGraph.DOCUMENTED_USES | DependencyGraph.DOCUMENTED_CALLS);
+    }
+
+    /**
+     * Returns the nodes of one {@code @aicontext-graph} with inferred inbound
+     * edges added; nodes without undocumented callers are returned unchanged.
+     *
+     * @param className fully qualified name of the documenting class
+     * @param nodes     parsed graph notation
+     * @param context   dependencies of the documenting class (for name resolution), or null
+     */
+    public List<GraphNode> merge(String className, List<GraphNode> nodes, ClassDependencies context) {
+        List<GraphNode> merged = new ArrayList<>(nodes.size());
+        for (GraphNode node : nodes) {
+            merged.add(merge(node, className, context));
+        }
+        return merged;
+    }
+
+    private GraphNode merge(GraphNode node, String className, ClassDependencies context) {
+        int id = graph.id(ProjectGraphBuilder.resolve(node.getName(), className, context));
+        if (id < 0 || inverse.fanOut(id) == 0) {
+            return node;
+        }
+        Set<String> documented = new HashSet<>();
+        for (GraphEdge edge : node.getEdges()) {
+            if (edge.isInbound() && "by".equals(edge.getRelationType())) {
+                for (String target : edge.getTargets()) {
+                    documented.add(ProjectGraphBuilder.resolve(ProjectGraphBuilder.classOf(target), className, context));
+                }
+            }
+        }
+        Set<String> callers = new TreeSet<>();
+        for (int edge = inverse.edgeStart(id); edge < inverse.edgeEnd(id); edge++) {
+            String caller = inverse.name(inverse.edgeTarget(edge));
+            if (!documented.contains(caller)) {
+                callers.add(ProjectTypeIndex.simpleName(caller));
+            }
+        }
+        if (callers.isEmpty()) {
+            return node;
+        }
+        List<GraphEdge> edges = new ArrayList<>(node.getEdges());
+        edges.add(new GraphEdge("by", GraphEdge.Direction.INBOUND, new ArrayList<>(callers), true));
+        return new GraphNode(node.getName(), edges);
+    }
+}
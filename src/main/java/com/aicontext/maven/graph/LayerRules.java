@@ -0,0 +1,292 @@
+package com.aicontext.maven.graph;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Layered architecture rules checked against the detected dependency graph.
+ * <p>
+ * A layer is a set of package patterns; a class belongs to the first layer one
+ * of whose patterns matches its package. In a pattern {@code *} stands for one
+ * package segment and {@code **} for any number of them, and a pattern also
+ * matches subpackages ({@code com.acme.*.web} matches
+ * {@code com.acme.orders.web.dto}). Two kinds of rule:
+ * <ul>
+ * <li>{@code mayDependOn}: the layers a layer may use directly; a class edge
+ * into any other layer is a violation (null allows everything).</li>
+ * <li>{@code mustNotReach}: layers that must not be reachable at all, also
+ * not through other classes.</li>
+ * </ul>
+ * Transitive checks run on the condensation of the graph: strongly connected
+ * components are visited in reverse topological order and each gets a
+ * {@code long} bitmask of the layers reachable from it (one bit per layer, so at
+ * most 64 layers), which is linear in nodes + edges. A path is only searched for
+ * classes that violate a rule, to show it in the message.
+ */
+public final class LayerRules {
+
+    /** Maximum number of layers (bits of the reachability mask). */
+    public static final int MAX_LAYERS = Long.SIZE;
+
+    /**
+     * One layer.
+     *
+     * @param name         layer name used in rules and messages
+     * @param packages     package patterns
+     * @param mayDependOn  layers this one may use directly; null for no restriction
+     * @param mustNotReach layers this one must not reach, directly or transitively
+     */
+    public record Layer(String name, List<String> packages, Set<String> mayDependOn, Set<String> mustNotReach) {
+
+        public Layer {
+            packages = List.copyOf(packages);
+            mayDependOn = mayDependOn != null ? Set.copyOf(mayDependOn) : null;
+            mustNotReach = mustNotReach != null ? Set.copyOf(mustNotReach) : Set.of();
+        }
+    }
+
+    private final List<Layer> layers;
+    private final List<String[][]> patterns = new ArrayList<>();
+    // Bitmask per layer: layers it may depend on (all bits when unrestricted)
+    private final long[] allowed;
+    // Bitmask per layer: layers it must not reach
+    private final long[] forbidden;
+
+    /**
+     * @throws IllegalArgumentException for more than {@link #MAX_LAYERS} layers,
+     *                                  duplicate names or rules naming unknown layers
+     */
+    public LayerRules(List<Layer> layers) {
+        if (layers.size() > MAX_LAYERS) {
+            throw new IllegalArgumentException("At most " + MAX_LAYERS + " layers are supported, got " + layers.size());
+        }
+        this.layers = List.copyOf(layers);
+        Map<String, Integer> ids = new HashMap<>();
+        for (Layer layer : this.layers) {
+            if (layer.name() == null || layer.name().isBlank()) {
+                throw new IllegalArgumentException("Layer without a name");
+            }
+            if (ids.put(layer.name(), ids.size()) != null) {
+                throw new IllegalArgumentException("Duplicate layer: " + layer.name());
+            }
+            String[][] compiled = new String[layer.packages().size()][];
+            for (int i = 0; i < compiled.length; i++) {
+                compiled[i] = layer.packages().get(i).trim().split("\\.");
+            }
+            patterns.add(compiled);
+        }
+        allowed = new long[this.layers.size()];
+        forbidden = new long[this.layers.size()];
+        for (int i = 0; i < this.layers.size(); i++) {
+            Layer layer = this.layers.get(i);
+            allowed[i] = layer.mayDependOn() == null ? -1L : mask(layer.name(), layer.mayDependOn(), ids);
+            forbidden[i] = mask(layer.name(), layer.mustNotReach(), ids);
+        }
+    }
+
+    private static long mask(String layer, Set<String> names, Map<String, Integer> ids) {
+        long mask = 0;
+        for (String name : names) {
+            Integer id = ids.get(name);
+            if (id == null) {
+                throw new IllegalArgumentException("Layer " + layer + " refers to unknown layer: " + name);
+            }
+            mask |= 1L << id;
+        }
+        return mask;
+    }
+
+    public List<Layer> layers() {
+        return layers;
+    }
+
+    /**
+     * @return the index of the first layer matching the package, or -1
+     */
+    public int layerOf(String packageName) {
+        if (packageName == null) {
+            return -1;
+        }
+        String[] segments = packageName.isEmpty() ? new String[0] : packageName.split("\\.");
+        for (int layer = 0; layer < patterns.size(); layer++) {
+            for (String[] pattern : patterns.get(layer)) {
+                if (matches(pattern, 0, segments, 0)) {
+                    return layer;
+                }
+            }
+        }
+        return -1;
+    }
+
+    // Prefix match: the pattern may end before the package does (subpackages)
+    private static boolean matches(String[] pattern, int p, String[] segments, int s) {
+        if (p == pattern.length) {
+            return true;
+        }
+        if (pattern[p].equals("**")) {
+            for (int skip = s; skip <= segments.length; skip++) {
+                if (matches(pattern, p + 1, segments, skip)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return s < segments.length
+                && (pattern[p].equals("*") || pattern[p].equals(segments[s]))
+                && matches(pattern, p + 1, segments, s + 1);
+    }
+
+    /**
+     * Checks every rule and returns one message per violation, sorted by class.
+     *
+     * @param graph     class graph; only edges with {@link DependencyGraph#DETECTED} count
+     * @param packageOf package of a node name, or null if the node is not a project class
+     */
+    public List<String> check(DependencyGraph graph, Function<String, String> packageOf) {
+        DependencyGraph code = graph.retainEdges(DependencyGraph.DETECTED);
+        int n = code.nodeCount();
+        int[] layerOfNode = new int[n];
+        for (int node = 0; node < n; node++) {
+            layerOfNode[node] = layerOf(packageOf.apply(code.name(node)));
+        }
+
+        List<String> violations = new ArrayList<>();
+        // Direct rules: one pass over the edges
+        for (int source = 0; source < n; source++) {
+            int from = layerOfNode[source];
+            if (from < 0) continue;
+            for (int edge = code.edgeStart(source); edge < code.edgeEnd(source); edge++) {
+                int target = code.edgeTarget(edge);
+                int to = layerOfNode[target];
+                if (to < 0 || to == from || (allowed[from] & (1L << to)) != 0) continue;
+                violations.add(String.format("Layer violation: %s (%s) depends on %s (%s); %s may depend on: %s",
+                        code.name(source), layers.get(from).name(), code.name(target), layers.get(to).name(),
+                        layers.get(from).name(), names(allowed[from])));
+            }
+        }
+
+        if (Arrays.stream(forbidden).anyMatch(mask -> mask != 0)) {
+            long[] reach = reachableLayers(code, layerOfNode);
+            for (int node = 0; node < n; node++) {
+                int from = layerOfNode[node];
+                if (from < 0) continue;
+                long hit = reach[node] & forbidden[from];
+                for (int to = 0; hit != 0; to++, hit >>>= 1) {
+                    if ((hit & 1) != 0) {
+                        violations.add(String.format("Layer violation: %s (%s) reaches %s via %s; %s must not reach %s",
+                                code.name(node), layers.get(from).name(), layers.get(to).name(),
+                                path(code, node, to, layerOfNode, reach), layers.get(from).name(),
+                                layers.get(to).name()));
+                    }
+                }
+            }
+        }
+        violations.sort(null);
+        return violations;
+    }
+
+    /**
+     * Bitmask per node of the layers reachable over at least one edge.
+     */
+    private static long[] reachableLayers(DependencyGraph code, int[] layerOfNode) {
+        int n = code.nodeCount();
+        int[] component = code.stronglyConnectedComponents();
+        int count = 0;
+        for (int c : component) {
+            count = Math.max(count, c + 1);
+        }
+        long[] members = new long[count];
+        int[] sizes = new int[count];
+        for (int node = 0; node < n; node++) {
+            sizes[component[node]]++;
+            if (layerOfNode[node] >= 0) {
+                members[component[node]] |= 1L << layerOfNode[node];
+            }
+        }
+        // Nodes grouped by component (counting sort)
+        int[] start = new int[count + 1];
+        for (int c : component) {
+            start[c + 1]++;
+        }
+        for (int c = 0; c < count; c++) {
+            start[c + 1] += start[c];
+        }
+        int[] order = new int[n];
+        int[] fill = Arrays.copyOf(start, count);
+        for (int node = 0; node < n; node++) {
+            order[fill[component[node]]++] = node;
+        }
+
+        // Tarjan numbers components in reverse topological order: every edge
+        // leaving a component points to a lower id, already computed
+        long[] componentReach = new long[count];
+        for (int c = 0; c < count; c++) {
+            long mask = sizes[c] > 1 ? members[c] : 0;
+            for (int i = start[c]; i < start[c + 1]; i++) {
+                int node = order[i];
+                for (int edge = code.edgeStart(node); edge < code.edgeEnd(node); edge++) {
+                    int d = component[code.edgeTarget(edge)];
+                    if (d != c) {
+                        mask |= members[d] | componentReach[d];
+                    }
+                }
+            }
+            componentReach[c] = mask;
+        }
+        long[] reach = new long[n];
+        for (int node = 0; node < n; node++) {
+            reach[node] = componentReach[component[node]];
+        }
+        return reach;
+    }
+
+    /**
+     * Shortest path from a node to a class of the given layer, by simple name.
+     * The search only enters nodes that are in the layer or can still reach it.
+     */
+    private static String path(DependencyGraph code, int from, int layer, int[] layerOfNode, long[] reach) {
+        long bit = 1L << layer;
+        int[] parent = new int[code.nodeCount()];
+        Arrays.fill(parent, -2);
+        parent[from] = -1;
+        Deque<Integer> queue = new ArrayDeque<>();
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int edge = code.edgeStart(node); edge < code.edgeEnd(node); edge++) {
+                int target = code.edgeTarget(edge);
+                if (parent[target] != -2) continue;
+                parent[target] = node;
+                if (layerOfNode[target] == layer) {
+                    List<String> steps = new ArrayList<>();
+                    for (int step = target; step != -1; step = parent[step]) {
+                        steps.add(0, ProjectTypeIndex.simpleName(code.name(step)));
+                    }
+                    return String.join(" → ", steps);
+                }
+                if ((reach[target] & bit) != 0) {
+                    queue.add(target);
+                }
+            }
+        }
+        return ProjectTypeIndex.simpleName(code.name(from));
+    }
+
+    private String names(long mask) {
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i < layers.size(); i++) {
+            if ((mask & (1L << i)) != 0) {
+                result.add(layers.get(i).name());
+            }
+        }
+        return result.isEmpty() ? "(none)" : String.join(", ", result);
+    }
+}
@@ -0,0 +1,102 @@
+package com.aicontext.maven.graph;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the project-wide {@link DependencyGraph} from dependencies detected in
+ * code and from the class-level edges written in {@code @aicontext-graph}
+ * ({@code [uses]}, {@code [calls]} and {@code [by]}). Other relations (db,
+ * events, external, config) do not point at classes and are left out.
+ * <p>
+ * Documented names are resolved like type names in the documenting class's
+ * source file, so they share node ids with detected dependencies. Names that
+ * are not project types (e.g. external clients) stay as written.
+ */
+public final class ProjectGraphBuilder {
+
+    private final DependencyGraph.Builder builder = new DependencyGraph.Builder();
+
+    /**
+     * Adds every resolved project dependency of the given classes.
+     */
+    public ProjectGraphBuilder addDetected(Map<String, ClassDependencies> classes) {
+        for (ClassDependencies deps : classes.values()) {
+            builder.intern(deps.getQualifiedName());
+            for (String target : deps.resolvedTypes()) {
+                builder.addEdge(deps.getQualifiedName(), target, DependencyGraph.DETECTED);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Adds the class-level edges of a parsed {@code @aicontext-graph}.
+     *
+     * @param className fully qualified name of the documenting class
+     * @param nodes     parsed graph notation
+     * @param context   dependencies of the documenting class (for name resolution), or null
+     */
+    public ProjectGraphBuilder addDocumented(String className, List<GraphNode> nodes, ClassDependencies context) {
+        for (GraphNode node : nodes) {
+            String source = resolve(node.getName(), className, context);
+            for (GraphEdge edge : node.getEdges()) {
+                int flag = flagOf(edge);
+                if (flag == 0) {
+                    continue;
+                }
+                for (String target : edge.getTargets()) {
+                    String other = resolve(classOf(target), className, context);
+                    if (edge.isOutbound()) {
+                        builder.addEdge(source, other, flag);
+                    } else {
+                        builder.addEdge(other, source, flag);
+                    }
+                }
+            }
+        }
+        return this;
+    }
+
+    public DependencyGraph build() {
+        return builder.build();
+    }
+
+    private static int flagOf(GraphEdge edge) {
+        return switch (edge.getRelationType()) {
+            case "uses" -> edge.isOutbound() ? DependencyGraph.DOCUMENTED_USES : 0;
+            case "calls" -> edge.isOutbound() ? DependencyGraph.DOCUMENTED_CALLS : 0;
+            case "by" -> edge.isInbound() ? DependencyGraph.DOCUMENTED_BY : 0;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Node name for a name written in the graph of {@code className}.
+     */
+    static String resolve(String name, String className, ClassDependencies context) {
+        if (name.equals(ProjectTypeIndex.simpleName(className))) {
+            return className;
+        }
+        String resolved = context != null ? context.resolveName(name) : null;
+        return resolved != null ? resolved : name;
+    }
+
+    /**
+     * Class part of a graph target: {@code Service.method()} and
+     * {@code Service.method} become {@code Service}; type names are kept.
+     */
+    static String classOf(String target) {
+        String name = target.trim();
+        int paren = name.indexOf('(');
+        boolean member = paren >= 0;
+        if (member) {
+            name = name.substring(0, paren).trim();
+        }
+        int dot = name.lastIndexOf('.');
+        if (dot > 0 && (member || Character.isLowerCase(name.charAt(dot + 1)))) {
+            name = name.substring(0, dot);
+        }
+        return name;
+    }
+}
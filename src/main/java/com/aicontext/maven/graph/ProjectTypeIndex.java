@@ -0,0 +1,273 @@
+package com.aicontext.maven.graph;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.body.TypeDeclaration;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Project-wide index of declared types (classes, interfaces, enums, records and
+ * annotation types), keyed by fully qualified name.
+ * <p>
+ * Simple names used in source are resolved the way the compiler would for the
+ * common cases: types declared in the same compilation unit, single-type
+ * imports, the current package, then on-demand ({@code .*}) imports. Every step
+ * is a hash lookup, so resolution cost does not grow with the number of
+ * indexed types. Two {@code Mapper} classes in different packages are
+ * therefore distinct entries and never confused with each other.
+ * <p>
+ * Nested types are indexed as {@code pkg.Outer.Inner}. The index can be filled
+ * concurrently. With a {@link ReactorTypeIndex} attached, names also resolve to
+ * types of sibling modules; {@link #get} and {@link #declarations()} still only
+ * cover this module.
+ */
+public final class ProjectTypeIndex {
+
+    /**
+     * Where a project type is declared.
+     */
+    public record Declaration(String qualifiedName, String simpleName, String packageName, String filePath,
+            int line) {
+    }
+
+    /** File name of the saved index, next to the generated output. */
+    public static final String FILE_NAME = "type-index.tsv";
+    private static final String HEADER = "# aicontext type index v1";
+
+    private final Map<String, Declaration> byQualifiedName = new ConcurrentHashMap<>();
+    private volatile ReactorTypeIndex reactor;
+
+    /**
+     * Indexes every type declared in the compilation unit.
+     */
+    public void addCompilationUnit(CompilationUnit cu, String filePath) {
+        String packageName = packageOf(cu);
+        for (TypeDeclaration<?> type : cu.findAll(TypeDeclaration.class)) {
+            add(new Declaration(qualifiedName(packageName, type), type.getNameAsString(), packageName, filePath,
+                    type.getBegin().map(pos -> pos.line).orElse(0)));
+        }
+    }
+
+    public void add(Declaration declaration) {
+        byQualifiedName.put(declaration.qualifiedName(), declaration);
+    }
+
+    /**
+     * Removes every type declared in the given file (used when a file changed or
+     * was deleted).
+     */
+    public void removeFile(String filePath) {
+        byQualifiedName.values().removeIf(d -> d.filePath().equals(filePath));
+    }
+
+    public boolean contains(String qualifiedName) {
+        return byQualifiedName.containsKey(qualifiedName);
+    }
+
+    public Declaration get(String qualifiedName) {
+        return byQualifiedName.get(qualifiedName);
+    }
+
+    public Collection<Declaration> declarations() {
+        return byQualifiedName.values();
+    }
+
+    public int size() {
+        return byQualifiedName.size();
+    }
+
+    /**
+     * Lets scopes resolve types published by other modules of the build; null
+     * detaches it.
+     */
+    public void setReactor(ReactorTypeIndex reactor) {
+        this.reactor = reactor;
+    }
+
+    // Declared in this module or, with a reactor attached, in any module
+    private boolean known(String qualifiedName) {
+        ReactorTypeIndex r = reactor;
+        return byQualifiedName.containsKey(qualifiedName) || (r != null && r.contains(qualifiedName));
+    }
+
+    /**
+     * Writes the index as tab-separated lines (name, simple name, package, file, line).
+     */
+    public void save(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        List<Declaration> sorted = new ArrayList<>(byQualifiedName.values());
+        sorted.sort(Comparator.comparing(Declaration::qualifiedName));
+        try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            w.write(HEADER);
+            w.newLine();
+            for (Declaration d : sorted) {
+                w.write(d.qualifiedName() + "\t" + d.simpleName() + "\t" + d.packageName() + "\t" + d.filePath()
+                        + "\t" + d.line());
+                w.newLine();
+            }
+        }
+    }
+
+    /**
+     * Reads an index written by {@link #save(Path)}.
+     *
+     * @return the index, or null if the file is missing or was written by another version
+     */
+    public static ProjectTypeIndex load(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !lines.get(0).equals(HEADER)) {
+            return null;
+        }
+        ProjectTypeIndex index = new ProjectTypeIndex();
+        for (String line : lines.subList(1, lines.size())) {
+            String[] parts = line.split("\t", -1);
+            if (parts.length == 5) {
+                try {
+                    index.add(new Declaration(parts[0], parts[1], parts[2], parts[3], Integer.parseInt(parts[4])));
+                } catch (NumberFormatException e) {
+                    // Damaged line: skip it
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Builds the name-resolution context (package, imports, local types) of a
+     * compilation unit. Build it once per file and reuse it for every lookup.
+     */
+    public Scope scopeOf(CompilationUnit cu) {
+        String packageName = packageOf(cu);
+        Map<String, String> singleImports = new HashMap<>();
+        List<String> onDemandImports = new ArrayList<>();
+        for (ImportDeclaration imp : cu.getImports()) {
+            if (imp.isStatic()) {
+                continue;
+            }
+            String name = imp.getNameAsString();
+            if (imp.isAsterisk()) {
+                onDemandImports.add(name);
+            } else {
+                singleImports.put(simpleName(name), name);
+            }
+        }
+        Map<String, String> localTypes = new HashMap<>();
+        for (TypeDeclaration<?> type : cu.findAll(TypeDeclaration.class)) {
+            localTypes.putIfAbsent(type.getNameAsString(), qualifiedName(packageName, type));
+        }
+        return new Scope(packageName, singleImports, onDemandImports, localTypes);
+    }
+
+    /**
+     * Name-resolution context of one compilation unit.
+     */
+    public final class Scope {
+        private final String packageName;
+        private final Map<String, String> singleImports;
+        private final List<String> onDemandImports;
+        private final Map<String, String> localTypes;
+
+        private Scope(String packageName, Map<String, String> singleImports, List<String> onDemandImports,
+                Map<String, String> localTypes) {
+            this.packageName = packageName;
+            this.singleImports = singleImports;
+            this.onDemandImports = onDemandImports;
+            this.localTypes = localTypes;
+        }
+
+        public String getPackageName() {
+            return packageName;
+        }
+
+        /**
+         * Resolves a type name as written in source ({@code Mapper},
+         * {@code Outer.Inner} or {@code com.acme.Mapper}) to the fully qualified
+         * name of a project type.
+         *
+         * @return the qualified name, or null if the name is not a project type
+         */
+        public String resolve(String name) {
+            if (name == null || name.isEmpty()) {
+                return null;
+            }
+            int dot = name.indexOf('.');
+            if (dot < 0) {
+                return resolveSimple(name);
+            }
+            if (known(name)) {
+                return name;
+            }
+            // Outer.Inner: resolve the first segment, then append the rest
+            String outer = resolveSimple(name.substring(0, dot));
+            if (outer != null) {
+                String candidate = outer + name.substring(dot);
+                if (known(candidate)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+
+        private String resolveSimple(String simpleName) {
+            String local = localTypes.get(simpleName);
+            if (local != null && known(local)) {
+                return local;
+            }
+            String imported = singleImports.get(simpleName);
+            if (imported != null) {
+                return known(imported) ? imported : null;
+            }
+            String samePackage = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+            if (known(samePackage)) {
+                return samePackage;
+            }
+            for (String onDemand : onDemandImports) {
+                String candidate = onDemand + "." + simpleName;
+                if (known(candidate)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Fully qualified name of a (possibly nested) class declaration.
+     */
+    public static String qualifiedName(String packageName, TypeDeclaration<?> type) {
+        StringBuilder name = new StringBuilder(type.getNameAsString());
+        var parent = type.getParentNode();
+        while (parent.isPresent() && parent.get() instanceof TypeDeclaration<?> outer) {
+            name.insert(0, outer.getNameAsString() + ".");
+            parent = outer.getParentNode();
+        }
+        return packageName.isEmpty() ? name.toString() : packageName + "." + name;
+    }
+
+    public static String packageOf(CompilationUnit cu) {
+        return cu.getPackageDeclaration().map(pd -> pd.getNameAsString()).orElse("");
+    }
+
+    public static String simpleName(String qualifiedName) {
+        if (qualifiedName == null) return "";
+        int dot = qualifiedName.lastIndexOf('.');
+        return dot >= 0 ? qualifiedName.substring(dot + 1) : qualifiedName;
+    }
+}
@@ -0,0 +1,114 @@
+package com.aicontext.maven.graph;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Types declared by all modules of a multi-module build, so one module's graph
+ * validation can resolve types of the sibling modules it depends on.
+ * <p>
+ * Every module publishes its {@link ProjectTypeIndex} once, right after its own
+ * scan; modules built later resolve names against their own index first and
+ * then against this one (see {@link ProjectTypeIndex#setReactor}). Nothing is
+ * parsed twice. A module only sees the modules it depends on
+ * ({@link #restrictedTo}): Maven builds those before it, also with {@code -T},
+ * so what a module resolves does not depend on build order or thread timing.
+ * <p>
+ * Plugin classes are loaded once per build, so the instances live in a static
+ * map keyed by the execution root directory. A new build (another session start
+ * time, e.g. the next build of a long-lived mvnd or IDE JVM) starts from an
+ * empty index, so types of modules left out with {@code -pl} do not linger.
+ * Publishing a module again replaces its previous types. All lookups are
+ * lock-free concurrent hash lookups.
+ */
+public final class ReactorTypeIndex {
+
+    private static final Map<Path, ReactorTypeIndex> REACTORS = new ConcurrentHashMap<>();
+
+    private final long buildStart;
+    // Qualified name -> module that declares it
+    private final Map<String, String> moduleByType;
+    // Module -> the types it published last
+    private final Map<String, Set<String>> typesByModule;
+    // Modules whose types this view resolves; null for all of them
+    private final Set<String> visible;
+
+    private ReactorTypeIndex(long buildStart, Map<String, String> moduleByType,
+            Map<String, Set<String>> typesByModule, Set<String> visible) {
+        this.buildStart = buildStart;
+        this.moduleByType = moduleByType;
+        this.typesByModule = typesByModule;
+        this.visible = visible;
+    }
+
+    /**
+     * The shared index of the build whose execution root is the given directory.
+     *
+     * @param buildStart start time of the build (session); a different value
+     *                   discards what earlier builds published
+     */
+    public static ReactorTypeIndex forBuild(Path executionRoot, long buildStart) {
+        return REACTORS.compute(executionRoot.toAbsolutePath().normalize(),
+                (root, current) -> current != null && current.buildStart == buildStart
+                        ? current
+                        : new ReactorTypeIndex(buildStart, new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), null));
+    }
+
+    /**
+     * A view that only resolves types of the given modules; publishing through
+     * it still updates the shared index.
+     */
+    public ReactorTypeIndex restrictedTo(Collection<String> modules) {
+        return new ReactorTypeIndex(buildStart, moduleByType, typesByModule, Set.copyOf(modules));
+    }
+
+    /**
+     * Replaces the types published by a module with those in its index.
+     *
+     * @param module identifies the module, e.g. {@code groupId:artifactId}
+     */
+    public void publish(String module, ProjectTypeIndex index) {
+        Set<String> types = ConcurrentHashMap.newKeySet();
+        for (ProjectTypeIndex.Declaration d : index.declarations()) {
+            types.add(d.qualifiedName());
+        }
+        Set<String> previous = typesByModule.put(module, types);
+        if (previous != null) {
+            for (String type : previous) {
+                moduleByType.remove(type, module);
+            }
+        }
+        for (String type : types) {
+            moduleByType.put(type, module);
+        }
+    }
+
+    public boolean contains(String qualifiedName) {
+        return moduleOf(qualifiedName) != null;
+    }
+
+    /**
+     * @return the visible module that declares the type, or null
+     */
+    public String moduleOf(String qualifiedName) {
+        String module = moduleByType.get(qualifiedName);
+        return module != null && (visible == null || visible.contains(module)) ? module : null;
+    }
+
+    /**
+     * Every type name of the visible modules, sorted.
+     */
+    public Set<String> typeNames() {
+        Set<String> names = new TreeSet<>();
+        for (Map.Entry<String, Set<String>> e : typesByModule.entrySet()) {
+            if (visible == null || visible.contains(e.getKey())) {
+                names.addAll(e.getValue());
+            }
+        }
+        return names;
+    }
+}
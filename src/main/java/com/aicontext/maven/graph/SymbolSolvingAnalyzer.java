@@ -0,0 +1,574 @@
+package com.aicontext.maven.graph;
+
+import com.aicontext.maven.output.OutputManifest;
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.ast.body.VariableDeclarator;
+import com.github.javaparser.ast.expr.VariableDeclarationExpr;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.resolution.cache.Cache;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+import com.github.javaparser.resolution.types.ResolvedReferenceType;
+import com.github.javaparser.resolution.types.ResolvedType;
+import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JarTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Type-resolving counterpart of {@link ClassDependencyAnalyzer}, built on the
+ * JavaParser symbol solver.
+ * <p>
+ * Types are resolved against the project's source roots, the compile classpath
+ * (jar entries) and the JDK, so wildcard imports, nested types and {@code var}
+ * locals resolve to what the compiler sees. References the solver cannot
+ * resolve fall back to {@link ProjectTypeIndex} name resolution.
+ * <p>
+ * Symbol solving is slow, so results are memoized per compilation unit and
+ * persisted between builds. A result depends on the file, on which types
+ * exist elsewhere (same package, on-demand imports) and on the other project
+ * files the solver read while resolving it (the return type of a called
+ * method, an inherited nested type). It is keyed by the SHA-256 of the file
+ * content together with the set of project types, and is only reused while
+ * every file the solver read still has the hash it had then. Files that are
+ * not cached are resolved in parallel. Indexing a jar reads every entry, so the
+ * JDK and jar solvers are built once and shared by all workers (jar types only
+ * refer to other library types, and class lookups are synchronized). The
+ * source solvers cache parsed ASTs, which record resolution state in their
+ * nodes and must not be shared between threads, so every worker thread owns
+ * its own parser and source solvers. The cache is discarded when the source
+ * roots or classpath (including the size and modification time of each jar)
+ * change.
+ */
+public final class SymbolSolvingAnalyzer {
+
+    public static final String CACHE_FILE_NAME = "symbol-types.cache";
+
+    private static final String CACHE_HEADER = "# aicontext symbol cache v3 ";
+
+    /**
+     * Resolved referenced types of every class in one compilation unit; the hash
+     * covers the file content and the project types it was resolved against,
+     * the dependencies map every other project file the solver read to its hash.
+     */
+    private record CachedUnit(String hash, Map<String, String> dependencies, Map<String, Set<String>> typesByClass) {
+    }
+
+    /**
+     * A worker thread's parser, and the project files its solvers read since
+     * the last {@link Set#clear()}.
+     */
+    private record Frontend(JavaParser parser, Set<String> readFiles) {
+    }
+
+    private final List<Path> sourceRoots;
+    private final List<Path> classpath;
+    private final Path cacheFile;
+    private final int parallelism;
+    private final String fingerprint;
+    private final Map<String, CachedUnit> cache = new ConcurrentHashMap<>();
+    private final ThreadLocal<Frontend> frontends = ThreadLocal.withInitial(this::newFrontend);
+    private Libraries libraries;
+
+    private final AtomicInteger resolvedFiles = new AtomicInteger();
+
+    /**
+     * @param sourceRoots source roots resolved with {@link JavaParserTypeSolver}
+     * @param classpath   compile classpath; jar files are resolved, other entries ignored
+     * @param cacheFile   where resolved types are persisted, or null to keep them in memory only
+     * @param parallelism number of worker threads for uncached files
+     */
+    public SymbolSolvingAnalyzer(List<Path> sourceRoots, List<Path> classpath, Path cacheFile, int parallelism) {
+        this.sourceRoots = List.copyOf(sourceRoots);
+        this.classpath = List.copyOf(classpath);
+        this.cacheFile = cacheFile;
+        this.parallelism = Math.max(1, parallelism);
+        this.fingerprint = OutputManifest.hash(String.join("\n", this.sourceRoots.stream().map(Path::toString).toList())
+                + "\n--\n" + String.join("\n", this.classpath.stream().map(SymbolSolvingAnalyzer::describe).toList()));
+    }
+
+    // A jar rebuilt in place keeps its path, so size and mtime are part of the fingerprint
+    private static String describe(Path element) {
+        try {
+            if (Files.isRegularFile(element)) {
+                return element + " " + Files.size(element) + " " + Files.getLastModifiedTime(element).toMillis();
+            }
+        } catch (IOException e) {
+            // Unreadable: the path alone
+        }
+        return element.toString();
+    }
+
+    private static String typesFingerprint(ProjectTypeIndex index) {
+        List<String> names = new ArrayList<>();
+        for (ProjectTypeIndex.Declaration declaration : index.declarations()) {
+            names.add(declaration.qualifiedName());
+        }
+        names.sort(null);
+        return OutputManifest.hash(String.join("\n", names));
+    }
+
+    /**
+     * Resolves the project types referenced by every class of the given files.
+     * The same references as {@link DependencyCollector} are considered, plus the
+     * inferred types of {@code var} locals.
+     *
+     * @param files Java source files to analyze
+     * @param index project-wide type index (filters to project types, fallback resolution)
+     * @return fully qualified class name to fully qualified project types it uses
+     */
+    public Map<String, Set<String>> findUsedProjectTypes(Collection<Path> files, ProjectTypeIndex index)
+            throws IOException {
+        Map<String, Set<String>> referenced = resolveAll(files, index);
+        Map<String, Set<String>> result = new HashMap<>();
+        for (Map.Entry<String, Set<String>> e : referenced.entrySet()) {
+            Set<String> used = new LinkedHashSet<>();
+            for (String type : e.getValue()) {
+                if (!type.equals(e.getKey()) && index.contains(type)) {
+                    used.add(type);
+                }
+            }
+            result.put(e.getKey(), used);
+        }
+        return result;
+    }
+
+    /**
+     * Number of files resolved by the symbol solver (not served from the cache)
+     * since this analyzer was created.
+     */
+    public int getResolvedFileCount() {
+        return resolvedFiles.get();
+    }
+
+    private Map<String, Set<String>> resolveAll(Collection<Path> files, ProjectTypeIndex index) throws IOException {
+        List<Path> distinct = new ArrayList<>(new LinkedHashSet<>(files));
+        Map<String, Set<String>> result = new HashMap<>();
+        if (distinct.isEmpty()) {
+            return result;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, distinct.size()), r -> {
+            Thread t = new Thread(r, "aicontext-symbols");
+            t.setDaemon(true);
+            return t;
+        });
+        String types = typesFingerprint(index);
+        // Current content hash of every file a cached result depends on, read once per call
+        Map<String, String> hashes = new ConcurrentHashMap<>();
+        try {
+            List<Future<Map<String, Set<String>>>> futures = new ArrayList<>();
+            for (Path file : distinct) {
+                futures.add(pool.submit(() -> resolveFile(file, index, types, hashes)));
+            }
+            for (Future<Map<String, Set<String>>> future : futures) {
+                result.putAll(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while resolving types", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IOException("Type resolution failed", cause);
+        } finally {
+            pool.shutdownNow();
+        }
+        return result;
+    }
+
+    private Map<String, Set<String>> resolveFile(Path file, ProjectTypeIndex index, String types,
+            Map<String, String> hashes) {
+        String source;
+        try {
+            source = Files.readString(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String key = file.toAbsolutePath().normalize().toString();
+        String hash = OutputManifest.hash(source) + "/" + types;
+        CachedUnit cached = cache.get(key);
+        if (cached != null && cached.hash().equals(hash) && unchanged(cached.dependencies(), hashes)) {
+            return cached.typesByClass();
+        }
+
+        Frontend frontend = frontends.get();
+        frontend.readFiles().clear();
+        CompilationUnit cu = frontend.parser().parse(source).getResult().orElse(null);
+        Map<String, Set<String>> typesByClass = new LinkedHashMap<>();
+        if (cu != null) {
+            for (ClassDependencies deps : new SolvingCollector(index.scopeOf(cu)).collect(cu).values()) {
+                typesByClass.put(deps.getQualifiedName(), deps.resolvedTypes());
+            }
+        }
+        Map<String, String> dependencies = new LinkedHashMap<>();
+        for (String read : frontend.readFiles()) {
+            if (!read.equals(key)) {
+                dependencies.put(read, hashes.computeIfAbsent(read, SymbolSolvingAnalyzer::hashOf));
+            }
+        }
+        cache.put(key, new CachedUnit(hash, dependencies, typesByClass));
+        resolvedFiles.incrementAndGet();
+        return typesByClass;
+    }
+
+    private static boolean unchanged(Map<String, String> dependencies, Map<String, String> hashes) {
+        for (Map.Entry<String, String> e : dependencies.entrySet()) {
+            if (!e.getValue().equals(hashes.computeIfAbsent(e.getKey(), SymbolSolvingAnalyzer::hashOf))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Content hash of a file; empty when it is gone or unreadable
+    private static String hashOf(String file) {
+        try {
+            return OutputManifest.hash(Files.readString(Path.of(file), StandardCharsets.UTF_8));
+        } catch (IOException | UncheckedIOException e) {
+            return "";
+        }
+    }
+
+    /**
+     * Collects the same reference kinds as {@link DependencyCollector}, but
+     * records types the solver can resolve by their qualified name. Unresolved
+     * references are kept as written and resolved through the index.
+     */
+    private static final class SolvingCollector extends DependencyCollector {
+
+        SolvingCollector(ProjectTypeIndex.Scope scope) {
+            super(scope);
+        }
+
+        @Override
+        protected void reference(Type type, DependencyKind kind) {
+            ClassDependencies deps = currentClass();
+            if (deps == null || type == null) return;
+            if (type.getElementType() instanceof ClassOrInterfaceType coit) {
+                Set<String> resolved = new LinkedHashSet<>();
+                try {
+                    addResolved(coit.resolve(), resolved);
+                    resolved.forEach(name -> deps.add(name, kind));
+                    return;
+                } catch (RuntimeException unresolved) {
+                    // Outside the solver's reach: fall back to name resolution
+                }
+            }
+            super.reference(type, kind);
+        }
+
+        @Override
+        public void visit(VariableDeclarationExpr n, Void arg) {
+            ClassDependencies deps = currentClass();
+            // var locals: the declared type is only known from the initializer
+            for (VariableDeclarator vd : n.getVariables()) {
+                if (deps != null && vd.getType().isVarType() && vd.getInitializer().isPresent()) {
+                    Set<String> resolved = new LinkedHashSet<>();
+                    try {
+                        addResolved(vd.getInitializer().get().calculateResolvedType(), resolved);
+                    } catch (RuntimeException unresolved) {
+                        // Initializer refers to something outside the solver's reach
+                    }
+                    resolved.forEach(name -> deps.add(name, DependencyKind.LOCAL_VARIABLE));
+                }
+            }
+            super.visit(n, arg);
+        }
+    }
+
+    private static void addResolved(ResolvedType type, Set<String> out) {
+        if (type.isArray()) {
+            addResolved(type.asArrayType().getComponentType(), out);
+        } else if (type.isReferenceType()) {
+            ResolvedReferenceType ref = type.asReferenceType();
+            out.add(ref.getQualifiedName());
+            for (ResolvedType arg : ref.typeParametersValues()) {
+                addResolved(arg, out);
+            }
+        } else if (type.isWildcard() && type.asWildcard().isBounded()) {
+            addResolved(type.asWildcard().getBoundedType(), out);
+        }
+    }
+
+    // Built by the first worker that needs a solver, then shared
+    private synchronized Libraries libraries() {
+        if (libraries == null) {
+            libraries = new Libraries(classpath);
+        }
+        return libraries;
+    }
+
+    private Frontend newFrontend() {
+        Set<String> readFiles = new HashSet<>();
+        CombinedTypeSolver solver = new CombinedTypeSolver(new ReflectionTypeSolver());
+        for (Path root : sourceRoots) {
+            if (Files.isDirectory(root)) {
+                // Same as new JavaParserTypeSolver(root), but every parsed file it uses is recorded
+                JavaParser sourceParser = new JavaParser(new ParserConfiguration()
+                        .setLanguageLevel(ParserConfiguration.LanguageLevel.BLEEDING_EDGE));
+                solver.add(new JavaParserTypeSolver(root, sourceParser,
+                        new RecordingCache<Path, Optional<CompilationUnit>>(
+                                (path, cu) -> cu.ifPresent(unit -> record(unit, readFiles))),
+                        new RecordingCache<Path, List<CompilationUnit>>(
+                                (dir, units) -> units.forEach(unit -> record(unit, readFiles))),
+                        new RecordingCache<String, SymbolReference<ResolvedReferenceTypeDeclaration>>(
+                                (name, ref) -> record(ref, readFiles))));
+            }
+        }
+        solver.add(new JarView(libraries()));
+        ParserConfiguration config = new ParserConfiguration().setSymbolResolver(new JavaSymbolSolver(solver));
+        return new Frontend(new JavaParser(config), readFiles);
+    }
+
+    private static void record(CompilationUnit unit, Set<String> readFiles) {
+        unit.getStorage().ifPresent(storage -> readFiles.add(storage.getPath().toAbsolutePath().normalize().toString()));
+    }
+
+    // A type found earlier: the file that declares it
+    private static void record(SymbolReference<ResolvedReferenceTypeDeclaration> ref, Set<String> readFiles) {
+        if (ref.isSolved()) {
+            ref.getCorrespondingDeclaration().toAst()
+                    .flatMap(Node::findCompilationUnit)
+                    .ifPresent(unit -> record(unit, readFiles));
+        }
+    }
+
+    /**
+     * The JDK and the dependency jars, shared by all worker threads. It is the
+     * root of its own solvers, so a jar type resolves the types it refers to
+     * among the libraries only.
+     */
+    private static final class Libraries implements TypeSolver {
+
+        private final TypeSolver jdk = new ReflectionTypeSolver();
+        private final List<TypeSolver> jars = new ArrayList<>();
+
+        Libraries(List<Path> classpath) {
+            jdk.setParent(this);
+            for (Path element : classpath) {
+                if (Files.isRegularFile(element) && element.toString().endsWith(".jar")) {
+                    try {
+                        JarTypeSolver jar = new JarTypeSolver(element);
+                        jar.setParent(this);
+                        jars.add(jar);
+                    } catch (IOException e) {
+                        // Unreadable jar: its types fall back to name resolution
+                    }
+                }
+            }
+        }
+
+        SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveJarType(String name) {
+            for (TypeSolver jar : jars) {
+                SymbolReference<ResolvedReferenceTypeDeclaration> ref = jar.tryToSolveType(name);
+                if (ref.isSolved()) {
+                    return ref;
+                }
+            }
+            return SymbolReference.unsolved();
+        }
+
+        @Override
+        public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+            SymbolReference<ResolvedReferenceTypeDeclaration> ref = jdk.tryToSolveType(name);
+            return ref.isSolved() ? ref : tryToSolveJarType(name);
+        }
+
+        @Override
+        public TypeSolver getParent() {
+            return null;
+        }
+
+        @Override
+        public void setParent(TypeSolver parent) {
+            throw new UnsupportedOperationException("Shared library solvers cannot have a parent");
+        }
+    }
+
+    /**
+     * A worker's link to the shared jar solvers, last in its chain as the jar
+     * solvers used to be.
+     */
+    private static final class JarView implements TypeSolver {
+
+        private final Libraries libraries;
+        private TypeSolver parent;
+
+        JarView(Libraries libraries) {
+            this.libraries = libraries;
+        }
+
+        @Override
+        public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+            return libraries.tryToSolveJarType(name);
+        }
+
+        @Override
+        public TypeSolver getParent() {
+            return parent;
+        }
+
+        @Override
+        public void setParent(TypeSolver parent) {
+            this.parent = parent;
+        }
+    }
+
+    /**
+     * Source solver cache that reports every entry it stores or hands out, so
+     * a lookup answered from the cache still counts as reading the file.
+     * Confined to one worker thread, like the solver that uses it.
+     */
+    private static final class RecordingCache<K, V> implements Cache<K, V> {
+
+        private final Map<K, V> entries = new HashMap<>();
+        private final BiConsumer<K, V> onUse;
+
+        RecordingCache(BiConsumer<K, V> onUse) {
+            this.onUse = onUse;
+        }
+
+        @Override
+        public void put(K key, V value) {
+            entries.put(key, value);
+            onUse.accept(key, value);
+        }
+
+        @Override
+        public Optional<V> get(K key) {
+            V value = entries.get(key);
+            if (value != null) {
+                onUse.accept(key, value);
+            }
+            return Optional.ofNullable(value);
+        }
+
+        @Override
+        public void remove(K key) {
+            entries.remove(key);
+        }
+
+        @Override
+        public void removeAll() {
+            entries.clear();
+        }
+
+        @Override
+        public boolean contains(K key) {
+            return entries.containsKey(key);
+        }
+
+        @Override
+        public long size() {
+            return entries.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return entries.isEmpty();
+        }
+    }
+
+    /**
+     * Loads persisted results. A missing file, or one written for other source
+     * roots or another classpath, leaves the cache empty.
+     */
+    public void loadCache() throws IOException {
+        cache.clear();
+        if (cacheFile == null || !Files.isRegularFile(cacheFile)) {
+            return;
+        }
+        List<String> lines = Files.readAllLines(cacheFile, StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !lines.get(0).equals(CACHE_HEADER + fingerprint)) {
+            return;
+        }
+        for (String line : lines.subList(1, lines.size())) {
+            // U file hash | D file dependency hash | C file class type,type,...
+            String[] parts = line.split("\t", -1);
+            if (parts[0].equals("U") && parts.length == 3) {
+                cache.put(parts[1], new CachedUnit(parts[2], new LinkedHashMap<>(), new LinkedHashMap<>()));
+                continue;
+            }
+            CachedUnit unit = parts.length == 4 ? cache.get(parts[1]) : null;
+            if (unit == null) {
+                continue;
+            }
+            if (parts[0].equals("D")) {
+                unit.dependencies().put(parts[2], parts[3]);
+            } else if (parts[0].equals("C")) {
+                Set<String> types = new LinkedHashSet<>();
+                for (String type : parts[3].split(",")) {
+                    if (!type.isEmpty()) {
+                        types.add(type);
+                    }
+                }
+                unit.typesByClass().put(parts[2], types);
+            }
+        }
+    }
+
+    /**
+     * Persists the cache (no-op without a cache file).
+     */
+    public void saveCache() throws IOException {
+        if (cacheFile == null) {
+            return;
+        }
+        if (cacheFile.getParent() != null) {
+            Files.createDirectories(cacheFile.getParent());
+        }
+        try (BufferedWriter w = Files.newBufferedWriter(cacheFile, StandardCharsets.UTF_8)) {
+            w.write(CACHE_HEADER + fingerprint);
+            w.newLine();
+            for (Map.Entry<String, CachedUnit> e : cache.entrySet()) {
+                CachedUnit unit = e.getValue();
+                // Files without classes keep their U line, so they are not re-parsed
+                w.write("U\t" + e.getKey() + "\t" + unit.hash());
+                w.newLine();
+                for (Map.Entry<String, String> dependency : unit.dependencies().entrySet()) {
+                    w.write("D\t" + e.getKey() + "\t" + dependency.getKey() + "\t" + dependency.getValue());
+                    w.newLine();
+                }
+                for (Map.Entry<String, Set<String>> cls : unit.typesByClass().entrySet()) {
+                    w.write("C\t" + e.getKey() + "\t" + cls.getKey() + "\t" + String.join(",", cls.getValue()));
+                    w.newLine();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.aicontext.maven.inference;
+
+import java.util.function.Consumer;
+
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.stmt.SynchronizedStmt;
+
+/**
+ * Derives {@code inference} entries from code structure.
+ * <p>
+ * Rules are called from the tag extraction traversal for the nodes it visits
+ * anyway, so they add no parse and no traversal of their own; a rule should
+ * only look at the node it is given (not walk its subtree). Each inferred note
+ * is passed to {@code infer} as entry content. Notes on a class or field belong
+ * to the class, notes on a method or a {@code synchronized} block to the
+ * method. One instance is shared by all files, so implementations must be
+ * stateless.
+ * <p>
+ * Besides the built-in {@link InferenceRules}, rules on the plugin classpath
+ * are found with {@link java.util.ServiceLoader}
+ * ({@code META-INF/services/com.aicontext.maven.inference.InferenceRule}).
+ */
+public interface InferenceRule {
+
+    default void onClass(ClassOrInterfaceDeclaration cls, Consumer<String> infer) {
+    }
+
+    default void onField(FieldDeclaration field, Consumer<String> infer) {
+    }
+
+    default void onMethod(MethodDeclaration method, Consumer<String> infer) {
+    }
+
+    default void onSynchronized(SynchronizedStmt block, Consumer<String> infer) {
+    }
+}
@@ -0,0 +1,176 @@
+package com.aicontext.maven.inference;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.github.javaparser.ast.Modifier;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.expr.AnnotationExpr;
+import com.github.javaparser.ast.nodeTypes.NodeWithAnnotations;
+import com.github.javaparser.ast.nodeTypes.NodeWithJavadoc;
+import com.github.javaparser.ast.stmt.SynchronizedStmt;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.javadoc.JavadocBlockTag;
+
+/**
+ * Built-in {@link InferenceRule}s, matched by simple annotation and type names:
+ * <ul>
+ * <li>transaction boundaries ({@code @Transactional} on classes and methods);</li>
+ * <li>concurrency ({@code synchronized} methods and blocks, {@code volatile},
+ * atomic and concurrent collection fields);</li>
+ * <li>deprecated APIs ({@code @Deprecated}, with the {@code @deprecated} Javadoc
+ * text when there is one);</li>
+ * <li>public entry points (HTTP, messaging and scheduler handlers, web
+ * controllers and {@code main}).</li>
+ * </ul>
+ */
+public final class InferenceRules {
+
+    private static final Set<String> CONCURRENT_TYPES = Set.of(
+            "ConcurrentHashMap", "ConcurrentMap", "ConcurrentSkipListMap", "ConcurrentSkipListSet",
+            "ConcurrentLinkedQueue", "ConcurrentLinkedDeque", "CopyOnWriteArrayList", "CopyOnWriteArraySet",
+            "BlockingQueue", "LinkedBlockingQueue", "ArrayBlockingQueue", "AtomicInteger", "AtomicLong",
+            "AtomicBoolean", "AtomicReference", "LongAdder", "ReentrantLock", "ReadWriteLock",
+            "ReentrantReadWriteLock", "Semaphore", "CountDownLatch");
+    private static final Set<String> ENTRY_POINT_CLASSES = Set.of(
+            "RestController", "Controller", "Path", "WebServlet", "ServerEndpoint", "RouteScoped");
+    private static final Set<String> ENTRY_POINT_METHODS = Set.of(
+            "GetMapping", "PostMapping", "PutMapping", "DeleteMapping", "PatchMapping", "RequestMapping",
+            "GET", "POST", "PUT", "DELETE", "PATCH", "Route", "Scheduled", "KafkaListener", "JmsListener",
+            "RabbitListener", "SqsListener", "Incoming", "EventListener", "MessageMapping");
+
+    /** The built-in rules. */
+    public static List<InferenceRule> builtIn() {
+        return List.of(new Transactions(), new Concurrency(), new Deprecation(), new EntryPoints());
+    }
+
+    /**
+     * The built-in rules followed by those registered with {@link ServiceLoader}
+     * in the given class loader.
+     */
+    public static List<InferenceRule> load(ClassLoader classLoader) {
+        List<InferenceRule> rules = new ArrayList<>(builtIn());
+        for (InferenceRule rule : ServiceLoader.load(InferenceRule.class, classLoader)) {
+            rules.add(rule);
+        }
+        return rules;
+    }
+
+    private static Optional<AnnotationExpr> annotation(NodeWithAnnotations<?> node, Set<String> names) {
+        for (AnnotationExpr annotation : node.getAnnotations()) {
+            if (names.contains(annotation.getName().getIdentifier())) {
+                return Optional.of(annotation);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static String simpleTypeName(Type type) {
+        Type element = type.getElementType();
+        return element.isClassOrInterfaceType() ? element.asClassOrInterfaceType().getNameAsString() : element.asString();
+    }
+
+    private static final class Transactions implements InferenceRule {
+        @Override
+        public void onClass(ClassOrInterfaceDeclaration cls, Consumer<String> infer) {
+            annotation(cls, Set.of("Transactional")).ifPresent(a -> infer.accept(
+                    "Transaction boundary: public methods of " + cls.getNameAsString() + " run in a transaction ("
+                            + a + "). Calls between them on `this` do not start a new one."));
+        }
+
+        @Override
+        public void onMethod(MethodDeclaration method, Consumer<String> infer) {
+            annotation(method, Set.of("Transactional")).ifPresent(a -> infer.accept(
+                    "Transaction boundary: " + method.getNameAsString() + "() runs in a transaction (" + a
+                            + "); changes are rolled back if it throws."));
+        }
+    }
+
+    private static final class Concurrency implements InferenceRule {
+        @Override
+        public void onField(FieldDeclaration field, Consumer<String> infer) {
+            String type = simpleTypeName(field.getCommonType());
+            String names = String.join(", ", field.getVariables().stream().map(v -> v.getNameAsString()).toList());
+            if (field.hasModifier(Modifier.Keyword.VOLATILE)) {
+                infer.accept("Concurrency: field " + names + " is volatile and read by several threads; "
+                        + "compound updates need a lock or an atomic type.");
+            } else if (CONCURRENT_TYPES.contains(type)) {
+                infer.accept("Concurrency: field " + names + " (" + type
+                        + ") is shared between threads; keep updates atomic.");
+            }
+        }
+
+        @Override
+        public void onMethod(MethodDeclaration method, Consumer<String> infer) {
+            if (method.isSynchronized()) {
+                infer.accept("Concurrency: " + method.getNameAsString() + "() is synchronized on "
+                        + (method.isStatic() ? "the class" : "the instance")
+                        + "; avoid slow or blocking calls while holding the lock.");
+            }
+        }
+
+        @Override
+        public void onSynchronized(SynchronizedStmt block, Consumer<String> infer) {
+            infer.accept("Concurrency: synchronizes on `" + block.getExpression()
+                    + "`; avoid slow or blocking calls while holding the lock.");
+        }
+    }
+
+    private static final class Deprecation implements InferenceRule {
+        @Override
+        public void onClass(ClassOrInterfaceDeclaration cls, Consumer<String> infer) {
+            if (cls.isAnnotationPresent("Deprecated")) {
+                infer.accept("Deprecated API: " + cls.getNameAsString() + " is deprecated; do not add new usages."
+                        + reason(cls));
+            }
+        }
+
+        @Override
+        public void onMethod(MethodDeclaration method, Consumer<String> infer) {
+            if (method.isAnnotationPresent("Deprecated")) {
+                infer.accept("Deprecated API: " + method.getNameAsString()
+                        + "() is deprecated; do not add new calls." + reason(method));
+            }
+        }
+
+        private static String reason(NodeWithJavadoc<?> node) {
+            return node.getJavadoc()
+                    .flatMap(javadoc -> javadoc.getBlockTags().stream()
+                            .filter(tag -> tag.getType() == JavadocBlockTag.Type.DEPRECATED)
+                            .findFirst())
+                    .map(tag -> " " + tag.getContent().toText().trim())
+                    .filter(text -> !text.isBlank())
+                    .orElse("");
+        }
+    }
+
+    private static final class EntryPoints implements InferenceRule {
+        @Override
+        public void onClass(ClassOrInterfaceDeclaration cls, Consumer<String> infer) {
+            annotation(cls, ENTRY_POINT_CLASSES).ifPresent(a -> infer.accept(
+                    "Entry point: " + cls.getNameAsString() + " is called by the framework (" + a
+                            + "); its public methods are an external contract."));
+        }
+
+        @Override
+        public void onMethod(MethodDeclaration method, Consumer<String> infer) {
+            Optional<AnnotationExpr> handler = annotation(method, ENTRY_POINT_METHODS);
+            if (handler.isPresent()) {
+                infer.accept("Entry point: " + method.getNameAsString() + "() is invoked by the framework ("
+                        + handler.get() + "); keep its signature and behavior backward compatible.");
+            } else if (method.isPublic() && method.isStatic() && method.getNameAsString().equals("main")
+                    && method.getParameters().size() == 1) {
+                infer.accept("Entry point: main() starts the application.");
+            }
+        }
+    }
+
+    private InferenceRules() {
+    }
+}
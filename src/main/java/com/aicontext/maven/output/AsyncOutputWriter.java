@@ -0,0 +1,201 @@
+package com.aicontext.maven.output;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind stage between rendering and disk I/O.
+ * <p>
+ * Renderers hand finished outputs to {@link #submit}, which only blocks when the
+ * bounded queue is full (backpressure when the disk falls behind). A single
+ * writer thread drains the queue in batches, keeps only the last output per
+ * target, groups the batch by directory and stages the files through the
+ * {@link OutputCommitter}. Rendering the next file therefore overlaps with
+ * writing the previous ones. {@link #flush} waits until everything submitted
+ * so far has been staged; the first write failure is rethrown from
+ * {@code submit}, {@code flush} or {@code close}. If the writer thread dies
+ * (including on an {@link Error}), waiting callers are released and fail
+ * instead of blocking on the queue or a barrier forever.
+ */
+public class AsyncOutputWriter implements AutoCloseable {
+
+    private sealed interface Task permits Write, Barrier, Stop {
+    }
+
+    private record Write(String assistant, Path target, String generated) implements Task {
+    }
+
+    private record Barrier(CountDownLatch reached) implements Task {
+    }
+
+    private record Stop() implements Task {
+    }
+
+    private final OutputCommitter committer;
+    private final BlockingQueue<Task> queue;
+    // How often blocked callers check whether the writer thread is still alive
+    private static final long POLL_MILLIS = 100;
+
+    private final Thread thread;
+    private volatile Throwable failure;
+
+    public AsyncOutputWriter(OutputCommitter committer, int capacity) {
+        this.committer = committer;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.thread = new Thread(this::run, "aicontext-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queues a rendered file; blocks while the queue is full.
+     */
+    public void submit(String assistant, Path target, String generated) throws IOException {
+        checkFailure();
+        put(new Write(assistant, target, generated));
+    }
+
+    /**
+     * Blocks until every file submitted before this call has been staged.
+     */
+    public void flush() throws IOException {
+        CountDownLatch reached = new CountDownLatch(1);
+        put(new Barrier(reached));
+        try {
+            while (!reached.await(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (!thread.isAlive()) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for pending writes", e);
+        }
+        checkFailure();
+        if (reached.getCount() > 0) {
+            throw new IOException("Writer thread stopped before pending writes were staged");
+        }
+    }
+
+    /**
+     * Stages the remaining files and stops the writer thread.
+     */
+    @Override
+    public void close() throws IOException {
+        if (thread.isAlive()) {
+            put(new Stop());
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while stopping the writer", e);
+            }
+        }
+        checkFailure();
+    }
+
+    private void run() {
+        List<Task> batch = new ArrayList<>();
+        try {
+            drain(batch);
+        } catch (Throwable t) {
+            if (failure == null) {
+                failure = t;
+            }
+        } finally {
+            // Nobody stages anything from here on: release every waiting flush
+            queue.drainTo(batch);
+            for (Task task : batch) {
+                if (task instanceof Barrier barrier) {
+                    barrier.reached().countDown();
+                }
+            }
+        }
+    }
+
+    private void drain(List<Task> batch) {
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch);
+
+            // Coalesce: last output per target wins, grouped by directory
+            Map<Path, Map<Path, Write>> byDirectory = new LinkedHashMap<>();
+            boolean stop = false;
+            for (Task task : batch) {
+                if (task instanceof Write write) {
+                    Path target = write.target().toAbsolutePath().normalize();
+                    byDirectory.computeIfAbsent(target.getParent(), d -> new LinkedHashMap<>())
+                            .put(target, write);
+                } else if (task instanceof Barrier barrier) {
+                    // Writes queued before the barrier must be staged before it is released
+                    stageAll(byDirectory);
+                    byDirectory.clear();
+                    barrier.reached().countDown();
+                } else {
+                    stop = true;
+                }
+            }
+            stageAll(byDirectory);
+            batch.clear();
+            if (stop) {
+                return;
+            }
+        }
+    }
+
+    private void stageAll(Map<Path, Map<Path, Write>> byDirectory) {
+        if (failure != null) {
+            return;
+        }
+        try {
+            for (Map.Entry<Path, Map<Path, Write>> dir : byDirectory.entrySet()) {
+                committer.ensureDirectory(dir.getKey());
+                for (Write write : dir.getValue().values()) {
+                    committer.stage(write.assistant(), write.target(), write.generated());
+                }
+            }
+        } catch (Throwable t) {
+            // Errors too: the thread has to keep releasing barriers
+            failure = t;
+        }
+    }
+
+    private void put(Task task) throws IOException {
+        try {
+            while (!queue.offer(task, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (!thread.isAlive()) {
+                    checkFailure();
+                    throw new IOException("Writer thread stopped; output can no longer be queued");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while queueing output", e);
+        }
+    }
+
+    private void checkFailure() throws IOException {
+        Throwable t = failure;
+        if (t instanceof IOException io) {
+            throw new IOException("Writing generated files failed: " + io.getMessage(), io);
+        }
+        if (t instanceof RuntimeException re) {
+            throw re;
+        }
+        if (t instanceof Error error) {
+            throw error;
+        }
+    }
+}
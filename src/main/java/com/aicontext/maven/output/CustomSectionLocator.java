@@ -0,0 +1,200 @@
+package com.aicontext.maven.output;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Finds the user-maintained tail of a generated file (everything after the
+ * custom section marker line) without reading the file into memory.
+ * <p>
+ * The file is scanned forward in chunks through one small buffer per thread,
+ * with positional reads that keep a needle-length overlap between chunks. It
+ * is not memory-mapped: a mapping stays open until it is garbage collected,
+ * and on Windows an open mapping makes the later atomic move onto the same
+ * file fail. The result is a byte range that callers copy into the new output with
+ * {@link FileChannel#transferTo}. A tail that only holds the default
+ * "Custom Notes" (Markdown) or customization comment (YAML) template is
+ * reported as empty, so regeneration does not duplicate it.
+ */
+public class CustomSectionLocator {
+
+    /**
+     * Byte range of the preserved tail within the old file.
+     */
+    public record Tail(long offset, long length) {
+
+        public static final Tail NONE = new Tail(0, 0);
+
+        public boolean isEmpty() {
+            return length == 0;
+        }
+
+        /**
+         * Copies this range from {@code source} to the current position of
+         * {@code target}.
+         */
+        public void transfer(FileChannel source, FileChannel target) throws IOException {
+            long position = offset;
+            long remaining = length;
+            while (remaining > 0) {
+                long transferred = source.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    throw new IOException("Could not copy preserved custom section");
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    /** Bytes read per chunk. */
+    public static final int CHUNK_SIZE = 8192;
+
+    private static final byte[] MARKDOWN_HEADING = bytes("## Custom Notes");
+    private static final byte[] MARKDOWN_HINT = bytes("_Add your own project-specific notes");
+    private static final byte[] YAML_HINT = bytes("# Add your own customizations below:");
+    private static final byte[] NEWLINE = {'\n'};
+
+    private final byte[] marker;
+    private final ThreadLocal<ByteBuffer> buffers;
+
+    public CustomSectionLocator(String marker) {
+        this(marker, CHUNK_SIZE);
+    }
+
+    CustomSectionLocator(String marker, int chunkSize) {
+        this.marker = bytes(marker);
+        int size = Math.max(chunkSize, 2 * Math.max(this.marker.length, MARKDOWN_HINT.length));
+        this.buffers = ThreadLocal.withInitial(() -> ByteBuffer.allocate(size));
+    }
+
+    /**
+     * Locates the custom tail in the file behind {@code channel}.
+     *
+     * @return the tail range, or {@link Tail#NONE} if the file has no marker or
+     *         only the untouched default template below it
+     */
+    public Tail locate(FileChannel channel) throws IOException {
+        long end = channel.size();
+        long markerAt = indexOf(channel, marker, 0, end);
+        if (markerAt < 0) {
+            return Tail.NONE;
+        }
+        long lineEnd = indexOf(channel, NEWLINE, markerAt, end);
+        if (lineEnd < 0) {
+            return Tail.NONE;
+        }
+        long start = lineEnd + 1;
+        Tail tail = new Tail(start, end - start);
+        long firstVisible = skipWhitespace(channel, start, end);
+
+        // Skip the default custom section template if present (user hasn't modified it)
+        if (startsWith(channel, firstVisible, end, MARKDOWN_HEADING)) {
+            long hint = indexOf(channel, MARKDOWN_HINT, start, end);
+            if (hint >= 0) {
+                long lineAfterHint = indexOf(channel, NEWLINE, hint, end);
+                if (lineAfterHint < 0 || skipWhitespace(channel, lineAfterHint + 1, end) == end) {
+                    return Tail.NONE;
+                }
+                // User added content after the template - preserve everything
+                return tail;
+            }
+        }
+
+        // For YAML, skip the default comment template
+        if (startsWith(channel, firstVisible, end, YAML_HINT)) {
+            long lineAfterComment = indexOf(channel, NEWLINE, start, end);
+            if (lineAfterComment < 0 || skipWhitespace(channel, lineAfterComment + 1, end) == end) {
+                return Tail.NONE;
+            }
+            return tail;
+        }
+
+        return tail;
+    }
+
+    /**
+     * Reads up to one buffer of bytes starting at {@code position}; the buffer
+     * is flipped for reading.
+     */
+    private ByteBuffer read(FileChannel channel, long position, long end) throws IOException {
+        ByteBuffer buf = buffers.get();
+        buf.clear();
+        if (end - position < buf.capacity()) {
+            buf.limit((int) (end - position));
+        }
+        while (buf.hasRemaining()) {
+            if (channel.read(buf, position + buf.position()) < 0) {
+                break;
+            }
+        }
+        buf.flip();
+        return buf;
+    }
+
+    /**
+     * Absolute offset of the first {@code needle} in [from, end), or -1. Chunks
+     * overlap by {@code needle.length - 1} bytes so a match split across two
+     * reads is found.
+     */
+    private long indexOf(FileChannel channel, byte[] needle, long from, long end) throws IOException {
+        long position = from;
+        while (end - position >= needle.length) {
+            ByteBuffer buf = read(channel, position, end);
+            int last = buf.limit() - needle.length;
+            outer: for (int i = 0; i <= last; i++) {
+                for (int j = 0; j < needle.length; j++) {
+                    if (buf.get(i + j) != needle[j]) {
+                        continue outer;
+                    }
+                }
+                return position + i;
+            }
+            if (position + buf.limit() >= end || buf.limit() < needle.length) {
+                return -1;
+            }
+            position += buf.limit() - (needle.length - 1);
+        }
+        return -1;
+    }
+
+    private boolean startsWith(FileChannel channel, long at, long end, byte[] prefix) throws IOException {
+        if (at + prefix.length > end) {
+            return false;
+        }
+        ByteBuffer buf = read(channel, at, at + prefix.length);
+        for (int j = 0; j < prefix.length; j++) {
+            if (buf.get(j) != prefix[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * First offset in [from, end) that is not whitespace, or {@code end}. Same
+     * notion of whitespace as {@link String#trim()} (code points up to U+0020).
+     */
+    private long skipWhitespace(FileChannel channel, long from, long end) throws IOException {
+        long position = from;
+        while (position < end) {
+            ByteBuffer buf = read(channel, position, end);
+            if (buf.limit() == 0) {
+                return end;
+            }
+            for (int i = 0; i < buf.limit(); i++) {
+                if ((buf.get(i) & 0xFF) > ' ') {
+                    return position + i;
+                }
+            }
+            position += buf.limit();
+        }
+        return end;
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
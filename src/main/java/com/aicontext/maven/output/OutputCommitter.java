@@ -0,0 +1,184 @@
+package com.aicontext.maven.output;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes generated files crash-safely.
+ * <p>
+ * {@link #stage} writes each file to a temp file next to its target (so the
+ * final move never crosses file systems), streaming the preserved custom
+ * section of the existing file after the generated part. {@link #commit}
+ * optionally fsyncs the whole batch, then atomically moves every temp file into
+ * place and records it in the manifest. Readers therefore see either the old or
+ * the new file, never a truncated one. Directories are created at most once per
+ * committer, i.e. once per run.
+ * <p>
+ * Generated content may carry the run's timestamp as a placeholder (see
+ * {@link #setTimestamp}). The placeholder is part of the up-to-date hash and
+ * only replaced when the file is written, so a file whose content is otherwise
+ * unchanged is skipped and keeps the timestamp of its last change.
+ */
+public class OutputCommitter {
+
+    private record Pending(String assistant, Path temp, Path target, String hash) {
+    }
+
+    private final OutputManifest previous;
+    private final OutputManifest current;
+    private final boolean fsync;
+    private final CustomSectionLocator customSectionLocator;
+    private final Set<Path> createdDirectories = ConcurrentHashMap.newKeySet();
+    private final List<Pending> pending = new ArrayList<>();
+    private String timestampPlaceholder;
+    private String timestamp;
+
+    /**
+     * @param previous             manifest of the last run (up-to-date checks), may be null
+     * @param current              manifest of this run (records written files), may be null
+     * @param fsync                force staged files and their directories to disk on commit
+     * @param customSectionMarker  marker after which existing file content is preserved
+     */
+    public OutputCommitter(OutputManifest previous, OutputManifest current, boolean fsync,
+            String customSectionMarker) {
+        this.previous = previous;
+        this.current = current;
+        this.fsync = fsync;
+        this.customSectionLocator = new CustomSectionLocator(customSectionMarker);
+    }
+
+    /**
+     * Replaces {@code placeholder} in written files with {@code value}; the
+     * up-to-date check ignores the value.
+     */
+    public void setTimestamp(String placeholder, String value) {
+        this.timestampPlaceholder = placeholder;
+        this.timestamp = value;
+    }
+
+    /**
+     * Stages the generated part of {@code target}. Files that are up to date
+     * according to the previous manifest are not written at all.
+     */
+    public void stage(String assistant, Path target, String generated) throws IOException {
+        String hash = current != null ? OutputManifest.hash(generated) : null;
+        if (current != null && previous != null && previous.isUpToDate(target, hash)) {
+            current.carryOver(target, previous.get(target));
+            return;
+        }
+
+        ensureDirectory(target.toAbsolutePath().getParent());
+        Path temp = target.resolveSibling("." + target.getFileName() + "."
+                + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            String content = timestampPlaceholder != null ? generated.replace(timestampPlaceholder, timestamp) : generated;
+            ByteBuffer bytes = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                out.write(bytes);
+            }
+            if (Files.isRegularFile(target)) {
+                try (FileChannel in = FileChannel.open(target, StandardOpenOption.READ)) {
+                    customSectionLocator.locate(in).transfer(in, out);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        synchronized (pending) {
+            pending.add(new Pending(assistant, temp, target, hash));
+        }
+    }
+
+    /**
+     * Moves every staged file into place. With fsync enabled, file contents are
+     * forced to disk before the moves and the affected directories after them.
+     */
+    public void commit() throws IOException {
+        List<Pending> batch;
+        synchronized (pending) {
+            batch = new ArrayList<>(pending);
+            pending.clear();
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            if (fsync) {
+                for (Pending p : batch) {
+                    try (FileChannel channel = FileChannel.open(p.temp(), StandardOpenOption.WRITE)) {
+                        channel.force(true);
+                    }
+                }
+            }
+            Set<Path> directories = new LinkedHashSet<>();
+            for (Pending p : batch) {
+                move(p.temp(), p.target());
+                directories.add(p.target().toAbsolutePath().getParent());
+                if (current != null) {
+                    current.record(p.assistant(), p.target(), p.hash());
+                }
+            }
+            if (fsync) {
+                directories.forEach(OutputCommitter::forceDirectory);
+            }
+        } finally {
+            for (Pending p : batch) {
+                Files.deleteIfExists(p.temp());
+            }
+        }
+    }
+
+    /**
+     * Discards every staged file; targets stay untouched.
+     */
+    public void abort() {
+        synchronized (pending) {
+            for (Pending p : pending) {
+                try {
+                    Files.deleteIfExists(p.temp());
+                } catch (IOException ignored) {
+                }
+            }
+            pending.clear();
+        }
+    }
+
+    /**
+     * Creates {@code dir} (and parents) unless this committer already did.
+     */
+    public void ensureDirectory(Path dir) throws IOException {
+        if (dir != null && createdDirectories.add(dir)) {
+            Files.createDirectories(dir);
+        }
+    }
+
+    private static void move(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /** Best effort: not every platform allows opening a directory for fsync. */
+    private static void forceDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.aicontext.maven.output;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records every file written by a generation run together with a hash of its
+ * generated content.
+ * <p>
+ * The manifest lives in the plugin output directory and answers ownership,
+ * up-to-date and stale-file questions without reading the generated files:
+ * <ul>
+ * <li>a path listed in the manifest was written by the plugin</li>
+ * <li>a file whose generated hash, size and modification time match its entry
+ * does not need to be rewritten</li>
+ * <li>a path listed for an assistant that is not written again by the next run
+ * for that assistant is stale</li>
+ * </ul>
+ * Paths are stored relative to the manifest directory so the file survives
+ * moving the checkout.
+ */
+public class OutputManifest {
+
+    public static final String FILE_NAME = "generated-files.manifest";
+
+    private static final String HEADER = "# AIContext generated-files manifest v1";
+
+    /**
+     * A single manifest line: owning assistant, hash of the generated part of
+     * the file, and the size and modification time observed right after
+     * writing.
+     */
+    public record Entry(String assistant, String hash, long size, long lastModified) {
+    }
+
+    private final Path baseDir;
+    private final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+
+    public OutputManifest(Path baseDir) {
+        this.baseDir = baseDir.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Loads the manifest stored in {@code baseDir}, or returns an empty manifest
+     * if none exists yet. Malformed lines are skipped.
+     */
+    public static OutputManifest load(Path baseDir) throws IOException {
+        OutputManifest manifest = new OutputManifest(baseDir);
+        Path file = manifest.baseDir.resolve(FILE_NAME);
+        if (!Files.isRegularFile(file)) {
+            return manifest;
+        }
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\t", 5);
+            if (parts.length != 5) {
+                continue;
+            }
+            try {
+                Entry entry = new Entry(parts[0], parts[1], Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+                manifest.entries.put(manifest.resolve(parts[4]), entry);
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return manifest;
+    }
+
+    /**
+     * Writes the manifest to {@code baseDir}, sorted by path for stable diffs.
+     */
+    public void save() throws IOException {
+        Files.createDirectories(baseDir);
+        Map<String, Entry> sorted = new TreeMap<>();
+        entries.forEach((path, entry) -> sorted.put(relativize(path), entry));
+        try (BufferedWriter writer = Files.newBufferedWriter(baseDir.resolve(FILE_NAME), StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (Map.Entry<String, Entry> e : sorted.entrySet()) {
+                Entry entry = e.getValue();
+                writer.write(entry.assistant() + "\t" + entry.hash() + "\t" + entry.size() + "\t"
+                        + entry.lastModified() + "\t" + e.getKey());
+                writer.newLine();
+            }
+        }
+    }
+
+    public Path getBaseDir() {
+        return baseDir;
+    }
+
+    public Entry get(Path file) {
+        return entries.get(normalize(file));
+    }
+
+    /**
+     * Returns true if the given file was written by the plugin.
+     */
+    public boolean contains(Path file) {
+        return entries.containsKey(normalize(file));
+    }
+
+    /**
+     * Returns true if any recorded file lives below the given directory.
+     */
+    public boolean containsAnyUnder(Path dir) {
+        Path normalizedDir = normalize(dir);
+        for (Path path : entries.keySet()) {
+            if (path.startsWith(normalizedDir)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the file on disk is exactly the one recorded with the given
+     * generated-content hash: same hash, and size and modification time
+     * unchanged since it was written. Costs one {@code stat}, no read.
+     */
+    public boolean isUpToDate(Path file, String hash) {
+        Entry entry = get(file);
+        if (entry == null || !entry.hash().equals(hash)) {
+            return false;
+        }
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            return attrs.isRegularFile()
+                    && attrs.size() == entry.size()
+                    && attrs.lastModifiedTime().toMillis() == entry.lastModified();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Records a freshly written file, capturing its current size and
+     * modification time.
+     */
+    public void record(String assistant, Path file, String hash) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        entries.put(normalize(file),
+                new Entry(assistant, hash, attrs.size(), attrs.lastModifiedTime().toMillis()));
+    }
+
+    /**
+     * Copies an existing entry unchanged (used when a file was up to date and
+     * not rewritten).
+     */
+    public void carryOver(Path file, Entry entry) {
+        entries.put(normalize(file), entry);
+    }
+
+    /**
+     * Copies every entry owned by an assistant that is not part of the current
+     * run, so their files are neither forgotten nor treated as stale.
+     */
+    public void carryOverExcept(OutputManifest previous, Set<String> activeAssistants) {
+        previous.entries.forEach((path, entry) -> {
+            if (!activeAssistants.contains(entry.assistant())) {
+                entries.putIfAbsent(path, entry);
+            }
+        });
+    }
+
+    /**
+     * Returns files recorded here that are absent from {@code current}.
+     */
+    public List<Path> staleFiles(OutputManifest current) {
+        List<Path> stale = new ArrayList<>();
+        for (Path path : entries.keySet()) {
+            if (!current.entries.containsKey(path)) {
+                stale.add(path);
+            }
+        }
+        stale.sort(null);
+        return stale;
+    }
+
+    /**
+     * Returns true if a stale file can be deleted safely, i.e. nobody touched it
+     * since the plugin wrote it.
+     */
+    public boolean isUnmodified(Path file) {
+        Entry entry = get(file);
+        if (entry == null) {
+            return false;
+        }
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            return attrs.size() == entry.size() && attrs.lastModifiedTime().toMillis() == entry.lastModified();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * SHA-256 hex digest of the given content.
+     */
+    public static String hash(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private Path normalize(Path file) {
+        return file.toAbsolutePath().normalize();
+    }
+
+    private Path resolve(String relative) {
+        return baseDir.resolve(relative.replace('/', baseDir.getFileSystem().getSeparator().charAt(0))).normalize();
+    }
+
+    private String relativize(Path path) {
+        return baseDir.relativize(path).toString().replace(path.getFileSystem().getSeparator(), "/");
+    }
+}
@@ -0,0 +1,90 @@
+package com.aicontext.maven.output;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Detects the plugin signature marker in a file without reading it into memory.
+ * <p>
+ * Generated files carry the signature on their first line, so only a small
+ * prefix is read through a {@link FileChannel} into a buffer that is reused
+ * across calls. Files without the marker in that prefix (legacy files, or
+ * files not written by the plugin) are scanned chunk by chunk through the same
+ * buffer. Instances are not thread-safe.
+ */
+public class SignatureDetector {
+
+    /** Bytes read before falling back to the chunked scan. */
+    public static final int HEADER_SIZE = 4096;
+
+    private final byte[] marker;
+    private final ByteBuffer buffer;
+
+    public SignatureDetector(String marker) {
+        this(marker, HEADER_SIZE);
+    }
+
+    SignatureDetector(String marker, int headerSize) {
+        this.marker = marker.getBytes(StandardCharsets.UTF_8);
+        this.buffer = ByteBuffer.allocate(Math.max(headerSize, this.marker.length * 2));
+    }
+
+    /**
+     * Returns true if the file contains the marker. Unreadable files are
+     * reported as not containing it.
+     */
+    public boolean isSigned(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer.clear();
+            boolean eof = fill(channel);
+            buffer.flip();
+            if (contains(buffer)) {
+                return true;
+            }
+            // Legacy files may carry the marker further down: scan the rest in chunks,
+            // keeping enough bytes to match a marker split across two reads
+            while (!eof) {
+                int keep = Math.min(marker.length - 1, buffer.limit());
+                buffer.position(buffer.limit() - keep);
+                buffer.compact();
+                eof = fill(channel);
+                buffer.flip();
+                if (contains(buffer)) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads until the buffer is full; returns true if end of file was reached.
+     */
+    private boolean fill(FileChannel channel) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean contains(ByteBuffer buf) {
+        int limit = buf.limit() - marker.length;
+        outer: for (int i = 0; i <= limit; i++) {
+            for (int j = 0; j < marker.length; j++) {
+                if (buf.get(i + j) != marker[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -12,9 +12,12 @@ public class FileDefinition {
     private String description;
     private FilterDefinition filter;
     private SortDefinition sort;
+    private FocusDefinition focus;
     private String groupBy;
     private Integer limit;
     private Boolean perEntry;
+    private Boolean perPackage;
+    private Boolean graphRollup;
     private String entryFilename;
     private Map<String, Object> context;
 
@@ -62,6 +65,14 @@ public class FileDefinition {
         this.sort = sort;
     }
 
+    public FocusDefinition getFocus() {
+        return focus;
+    }
+
+    public void setFocus(FocusDefinition focus) {
+        this.focus = focus;
+    }
+
     public String getGroupBy() {
         return groupBy;
     }
@@ -86,6 +97,22 @@ public class FileDefinition {
         this.perEntry = perEntry;
     }
 
+    public Boolean getPerPackage() {
+        return perPackage;
+    }
+
+    public void setPerPackage(Boolean perPackage) {
+        this.perPackage = perPackage;
+    }
+
+    public Boolean getGraphRollup() {
+        return graphRollup;
+    }
+
+    public void setGraphRollup(Boolean graphRollup) {
+        this.graphRollup = graphRollup;
+    }
+
     public String getEntryFilename() {
         return entryFilename;
     }
@@ -122,10 +149,22 @@ public class FileDefinition {
             def.setSort(SortDefinition.fromMap((Map<String, Object>) map.get("sort")));
         }
 
+        if (map.get("focus") instanceof Map) {
+            def.setFocus(FocusDefinition.fromMap((Map<String, Object>) map.get("focus")));
+        }
+
         if (map.get("perEntry") instanceof Boolean) {
             def.setPerEntry((Boolean) map.get("perEntry"));
         }
 
+        if (map.get("perPackage") instanceof Boolean) {
+            def.setPerPackage((Boolean) map.get("perPackage"));
+        }
+
+        if (map.get("graphRollup") instanceof Boolean) {
+            def.setGraphRollup((Boolean) map.get("graphRollup"));
+        }
+
         def.setEntryFilename((String) map.get("entryFilename"));
 
         if (map.get("context") instanceof Map) {
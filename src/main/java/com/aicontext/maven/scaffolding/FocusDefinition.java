@@ -0,0 +1,76 @@
+package com.aicontext.maven.scaffolding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Definition for restricting a file to the graph neighborhood of one class,
+ * e.g. everything within 2 hops of {@code PaymentService}.
+ */
+public class FocusDefinition {
+    private String className;
+    private int hops = 2;
+    private List<String> relations = new ArrayList<>();
+    private String direction = "both"; // "out", "in" or "both"
+
+    public String getClassName() {
+        return className;
+    }
+
+    public void setClassName(String className) {
+        this.className = className;
+    }
+
+    public int getHops() {
+        return hops;
+    }
+
+    public void setHops(int hops) {
+        this.hops = hops;
+    }
+
+    public List<String> getRelations() {
+        return relations;
+    }
+
+    public void setRelations(List<String> relations) {
+        this.relations = relations;
+    }
+
+    public String getDirection() {
+        return direction;
+    }
+
+    public void setDirection(String direction) {
+        this.direction = direction;
+    }
+
+    /**
+     * Reads {@code class}, {@code hops}, {@code relations} (list or
+     * comma-separated) and {@code direction}.
+     */
+    public static FocusDefinition fromMap(Map<String, Object> map) {
+        FocusDefinition focus = new FocusDefinition();
+        focus.setClassName((String) map.get("class"));
+        if (map.get("hops") instanceof Number) {
+            focus.setHops(((Number) map.get("hops")).intValue());
+        }
+        Object relations = map.get("relations");
+        if (relations instanceof List<?> list) {
+            for (Object relation : list) {
+                focus.getRelations().add(String.valueOf(relation));
+            }
+        } else if (relations instanceof String text) {
+            for (String relation : text.split(",")) {
+                if (!relation.isBlank()) {
+                    focus.getRelations().add(relation.trim());
+                }
+            }
+        }
+        if (map.get("direction") instanceof String) {
+            focus.setDirection((String) map.get("direction"));
+        }
+        return focus;
+    }
+}
@@ -1,16 +1,22 @@
 package com.aicontext.maven.template;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.Map;
 
 import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
+import com.github.mustachejava.MustacheException;
 import com.github.mustachejava.MustacheFactory;
 
 /**
  * Mustache-based template engine implementation.
+ * <p>
+ * Partials ({@code {{> shared/graph-overview}}}) are named relative to the
+ * template root, like the templates in the scaffolding configuration, and are
+ * loaded through the same {@link TemplateLoader}, so users can override them too.
  */
 public class MustacheTemplateEngine implements TemplateEngine {
     private final TemplateLoader templateLoader;
@@ -18,7 +24,21 @@ public class MustacheTemplateEngine implements TemplateEngine {
 
     public MustacheTemplateEngine(TemplateLoader templateLoader) {
         this.templateLoader = templateLoader;
-        this.mustacheFactory = new DefaultMustacheFactory();
+        this.mustacheFactory = new DefaultMustacheFactory() {
+            @Override
+            public String resolvePartialPath(String dir, String name, String extension) {
+                return name.endsWith(".mustache") ? name : name + ".mustache";
+            }
+
+            @Override
+            public Reader getReader(String resourceName) {
+                try {
+                    return new StringReader(templateLoader.loadTemplate(resourceName));
+                } catch (IOException e) {
+                    throw new MustacheException("Partial not found: " + resourceName, e);
+                }
+            }
+        };
     }
 
     @Override
@@ -1,14 +1,29 @@
 package com.aicontext.maven;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.SystemStreamLog;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.Yaml;
+
+import com.aicontext.maven.graph.GraphValidationState;
+import com.aicontext.maven.graph.SymbolSolvingAnalyzer;
+import com.aicontext.maven.output.OutputManifest;
+import com.aicontext.maven.scaffolding.FileDefinition;
 
 /**
  * Integration tests for AIContextMojo.
@@ -209,6 +224,484 @@ class AIContextMojoIntegrationTest {
         assertThat(content).contains("## Custom Notes");
     }
 
+    @Test
+    void testManifest_RemovesStaleGeneratedFilesOnRegeneration() throws Exception {
+        createTestJavaFiles();
+
+        AIContextMojo mojo = createMojo();
+        mojo.execute();
+
+        // Pretend an earlier run generated a file that the current tags no longer produce
+        Path stale = outputDir.toPath().resolve("claude/rule-com-example-Removed.md");
+        Files.writeString(stale, "<!-- AIContext:generated -->\nold rule\n");
+        OutputManifest manifest = OutputManifest.load(outputDir.toPath());
+        assertThat(manifest.contains(outputDir.toPath().resolve("claude/CLAUDE.md"))).isTrue();
+        manifest.record("claude", stale, OutputManifest.hash("old rule"));
+        manifest.save();
+
+        mojo.execute();
+
+        assertThat(stale).doesNotExist();
+        assertThat(outputDir.toPath().resolve("claude/CLAUDE.md")).exists();
+        assertThat(OutputManifest.load(outputDir.toPath()).contains(stale)).isFalse();
+    }
+
+    @Test
+    void testGraphValidation_FailsForUndocumentedInheritanceAndInstantiation() throws Exception {
+        Path dir = sourceDir.toPath().resolve("com/example");
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("Base.java"), "package com.example; public class Base {}");
+        Files.writeString(dir.resolve("Repository.java"), "package com.example; public class Repository {}");
+        String service = """
+            package com.example;
+
+            /**
+             * @aicontext-graph
+             * Service
+             *   └─[uses]→ Base
+             * %s
+             */
+            public class Service extends Base {
+                void run() {
+                    new Repository();
+                }
+            }
+            """;
+        Files.writeString(dir.resolve("Service.java"), service.formatted(""));
+
+        AIContextMojo mojo = createMojo();
+        setField(mojo, "validateGraph", true);
+
+        assertThatThrownBy(mojo::execute)
+                .isInstanceOf(MojoExecutionException.class)
+                .hasMessageContaining("Graph validation failed");
+
+        Files.writeString(dir.resolve("Service.java"), service.formatted("@aicontext-graph-ignore Repository"));
+        mojo.execute();
+    }
+
+    @Test
+    void testGraphValidation_RevalidatesUnchangedClassWhenReferencedTypeAppears() throws Exception {
+        Path dir = sourceDir.toPath().resolve("com/example");
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("Service.java"), """
+            package com.example;
+
+            /**
+             * @aicontext-graph
+             * Service
+             */
+            public class Service {
+                void run() {
+                    new Repository();
+                }
+            }
+            """);
+
+        AIContextMojo mojo = createMojo();
+        setField(mojo, "validateGraph", true);
+        mojo.execute();
+        assertThat(outputDir.toPath().resolve(GraphValidationState.FILE_NAME)).exists();
+
+        // Service.java is unchanged, but Repository is now a project type
+        Files.writeString(dir.resolve("Repository.java"), "package com.example; public class Repository {}");
+        assertThatThrownBy(mojo::execute)
+                .isInstanceOf(MojoExecutionException.class)
+                .hasMessageContaining("Graph validation failed");
+
+        // Nothing changed: the stored error is reported again
+        assertThatThrownBy(mojo::execute)
+                .isInstanceOf(MojoExecutionException.class)
+                .hasMessageContaining("Graph validation failed");
+
+        Files.delete(dir.resolve("Repository.java"));
+        mojo.execute();
+    }
+
+    @Test
+    void testGraphValidation_SymbolSolvingRevalidatesUnchangedClassWhenReferencedTypeAppears() throws Exception {
+        Path dir = sourceDir.toPath().resolve("com/example");
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("Service.java"), """
+            package com.example;
+
+            /**
+             * @aicontext-graph
+             * Service
+             */
+            public class Service {
+                void run() {
+                    new Repository();
+                }
+            }
+            """);
+
+        AIContextMojo mojo = createMojo();
+        setField(mojo, "validateGraph", true);
+        setField(mojo, "symbolSolving", true);
+        mojo.execute();
+        assertThat(outputDir.toPath().resolve(SymbolSolvingAnalyzer.CACHE_FILE_NAME)).exists();
+
+        // Service.java is unchanged, so its cached resolution must not be reused
+        Files.writeString(dir.resolve("Repository.java"), "package com.example; public class Repository {}");
+        assertThatThrownBy(mojo::execute)
+                .isInstanceOf(MojoExecutionException.class)
+                .hasMessageContaining("Graph validation failed");
+    }
+
+    @Test
+    void testGraphConsistency_KnowsEnumObjectAndGeneratedMethods() throws Exception {
+        Path dir = sourceDir.toPath().resolve("com/example");
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("Status.java"), "package com.example; public enum Status { OPEN; void close() {} }");
+        Files.writeString(dir.resolve("Ledger.java"), "package com.example; public class Ledger { void post() {} }");
+        Files.writeString(dir.resolve("Invoice.java"), """
+            package com.example;
+
+            @lombok.Getter
+            public class Invoice { private long total; }
+            """);
+        Files.writeString(dir.resolve("Service.java"), """
+            package com.example;
+
+            /**
+             * @aicontext-graph
+             * Service
+             *   ├─[calls]→ Status.values(), Status.close(), Status.bogus()
+             *   ├─[calls]→ Invoice.getTotal(), Invoice.toString()
+             *   ├─[calls]→ Ledger.post(), Ledger.equals(), Ledger.reverse()
+             *   └─[uses]→ Status, Invoice, Ledger
+             */
+            public class Service {
+                private Status status;
+                private Invoice invoice;
+                private Ledger ledger;
+            }
+            """);
+
+        List<String> warnings = new ArrayList<>();
+        AIContextMojo mojo = createMojo();
+        mojo.setLog(new SystemStreamLog() {
+            @Override
+            public void warn(CharSequence content) {
+                warnings.add(content.toString());
+            }
+        });
+        setField(mojo, "validateGraph", true);
+        mojo.execute();
+
+        assertThat(warnings).filteredOn(w -> w.contains("declares no method"))
+                .satisfiesExactlyInAnyOrder(
+                        w -> assertThat(w).endsWith("Service [calls]→ Status.bogus() but Status declares no method bogus"),
+                        w -> assertThat(w).endsWith("Service [calls]→ Ledger.reverse() but Ledger declares no method reverse"));
+    }
+
+    @Test
+    void testExecute_LeavesUnchangedClaudeFileAndItsTimestampAlone() throws Exception {
+        createTestJavaFiles();
+        AIContextMojo mojo = createMojo();
+        mojo.execute();
+
+        Path claudeFile = outputDir.toPath().resolve("claude/CLAUDE.md");
+        String first = Files.readString(claudeFile);
+        long writtenAt = Files.getLastModifiedTime(claudeFile).toMillis();
+        assertThat(first).containsPattern("\\*\\*Last Updated\\*\\*: \\d{4}-\\d{2}-\\d{2}T");
+
+        Thread.sleep(5);
+        mojo.execute();
+
+        assertThat(Files.readString(claudeFile)).isEqualTo(first);
+        assertThat(Files.getLastModifiedTime(claudeFile).toMillis()).isEqualTo(writtenAt);
+    }
+
+    @Test
+    void testGraphRollup_WritesOverviewAndPerPackageDrillDown() throws Exception {
+        Path billing = sourceDir.toPath().resolve("com/acme/billing");
+        Path orders = sourceDir.toPath().resolve("com/acme/orders/api");
+        Files.createDirectories(billing);
+        Files.createDirectories(orders);
+        Files.writeString(billing.resolve("PaymentService.java"), """
+            package com.acme.billing;
+
+            /**
+             * @aicontext-graph
+             * PaymentService
+             *   └─[uses]→ Ledger
+             */
+            public class PaymentService {
+                private Ledger ledger;
+            }
+            """);
+        Files.writeString(billing.resolve("Ledger.java"), "package com.acme.billing; public class Ledger {}");
+        Files.writeString(orders.resolve("OrderResource.java"), """
+            package com.acme.orders.api;
+
+            import com.acme.billing.Ledger;
+            import com.acme.billing.PaymentService;
+
+            public class OrderResource {
+                private PaymentService payments;
+                private Ledger ledger;
+            }
+            """);
+
+        AIContextMojo mojo = createMojo();
+        mojo.execute();
+
+        // Opt-in
+        Path claudeDir = outputDir.toPath().resolve("claude/.claude/graph");
+        assertThat(claudeDir).doesNotExist();
+
+        setField(mojo, "graphRollupFiles", true);
+        mojo.execute();
+
+        assertThat(Files.readString(claudeDir.resolve("00-overview.md")))
+                .startsWith("<!-- AIContext:generated -->")
+                .contains("# Dependency Overview")
+                .contains("| com.acme.orders | com.acme.billing | 2 |")
+                .contains("| com.acme.orders.api | com.acme.billing | 2 |")
+                .contains("[com.acme.billing](com.acme.billing.md)");
+        assertThat(Files.readString(claudeDir.resolve("com.acme.billing.md")))
+                .contains("[overview](00-overview.md)")
+                .contains("- PaymentService → Ledger\n")
+                .contains("- OrderResource (`com.acme.orders.api`) → Ledger _(code only)_")
+                .contains("**[uses]** → Ledger");
+        Path cursorDir = outputDir.toPath().resolve("cursor/.cursor/rules/graph");
+        assertThat(Files.readString(cursorDir.resolve("00-overview.md")))
+                .contains("applyIntelligently: true")
+                .contains("| com.acme.orders | com.acme.billing | 2 |");
+        assertThat(Files.readString(cursorDir.resolve("com.acme.orders.api.md")))
+                .contains("description: \"Dependencies of package com.acme.orders.api\"")
+                .contains("# Package com.acme.orders.api");
+    }
+
+    @Test
+    void testGraphRollup_SkippedWithoutGraphTags() throws Exception {
+        Path billing = sourceDir.toPath().resolve("com/acme/billing");
+        Files.createDirectories(billing);
+        Files.writeString(billing.resolve("PaymentService.java"), """
+            package com.acme.billing;
+
+            public class PaymentService {
+                private Ledger ledger;
+            }
+            """);
+        Files.writeString(billing.resolve("Ledger.java"), "package com.acme.billing; public class Ledger {}");
+
+        AIContextMojo mojo = createMojo();
+        setField(mojo, "graphRollupFiles", true);
+        mojo.execute();
+
+        assertThat(outputDir.toPath().resolve("claude/.claude/graph")).doesNotExist();
+        assertThat(outputDir.toPath().resolve("cursor/.cursor/rules/graph")).doesNotExist();
+    }
+
+    @Test
+    void testGraphValidation_FailsOnLayerViolations() throws Exception {
+        Path web = sourceDir.toPath().resolve("com/acme/web");
+        Path repo = sourceDir.toPath().resolve("com/acme/repo");
+        Files.createDirectories(web);
+        Files.createDirectories(repo);
+        Files.writeString(repo.resolve("OrderRepository.java"),
+                "package com.acme.repo; public class OrderRepository {}");
+        Files.writeString(web.resolve("OrderController.java"), """
+            package com.acme.web;
+
+            import com.acme.repo.OrderRepository;
+
+            public class OrderController {
+                private OrderRepository repository;
+            }
+            """);
+
+        Layer webLayer = new Layer();
+        webLayer.setName("web");
+        webLayer.setPackages("com.acme.web");
+        webLayer.setMayDependOn("service");
+        Layer persistence = new Layer();
+        persistence.setName("persistence");
+        persistence.setPackages("com.acme.repo");
+        Layer service = new Layer();
+        service.setName("service");
+        service.setPackages("com.acme.service");
+
+        AIContextMojo mojo = createMojo();
+        setField(mojo, "validateGraph", true);
+        setField(mojo, "layers", List.of(webLayer, service, persistence));
+
+        assertThatThrownBy(mojo::execute)
+                .isInstanceOf(MojoExecutionException.class)
+                .hasMessageContaining("Graph validation failed");
+
+        webLayer.setMayDependOn("service, persistence");
+        mojo.execute();
+    }
+
+    @Test
+    void testGraphValidation_ResolvesTypesOfSiblingModules() throws Exception {
+        Path core = testBaseDir.resolve("core/src/main/java/com/acme/core");
+        Files.createDirectories(core);
+        Files.writeString(core.resolve("Money.java"), "package com.acme.core; public class Money {}");
+        Path app = testBaseDir.resolve("app/src/main/java/com/acme/app");
+        Files.createDirectories(app);
+        String checkout = """
+            package com.acme.app;
+
+            import com.acme.core.Money;
+
+            /**
+             * @aicontext-graph
+             * Checkout
+             * %s
+             */
+            public class Checkout {
+                private Money total;
+            }
+            """;
+        Files.writeString(app.resolve("Checkout.java"), checkout.formatted(""));
+
+        AIContextMojo coreMojo = createMojo();
+        setField(coreMojo, "sourceDir", testBaseDir.resolve("core/src/main/java").toFile());
+        setField(coreMojo, "outputDir", testBaseDir.resolve("core/.aicontext").toFile());
+        setField(coreMojo, "executionRoot", testBaseDir.toFile());
+        coreMojo.execute();
+
+        AIContextMojo appMojo = createMojo();
+        setField(appMojo, "sourceDir", testBaseDir.resolve("app/src/main/java").toFile());
+        setField(appMojo, "outputDir", testBaseDir.resolve("app/.aicontext").toFile());
+        setField(appMojo, "executionRoot", testBaseDir.toFile());
+        setField(appMojo, "validateGraph", true);
+
+        // Money is declared in the core module, not in app's source tree
+        assertThatThrownBy(appMojo::execute)
+                .isInstanceOf(MojoExecutionException.class)
+                .hasMessageContaining("Graph validation failed");
+
+        Files.writeString(app.resolve("Checkout.java"), checkout.formatted("  └─[uses]→ Money"));
+        appMojo.execute();
+    }
+
+    @Test
+    void testFocus_SelectsGraphNeighborhoodOfClass() throws Exception {
+        Path dir = sourceDir.toPath().resolve("com/example");
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("Controller.java"), """
+            package com.example;
+
+            /** @aicontext-rule Controller rule */
+            public class Controller { private Service service; }
+            """);
+        Files.writeString(dir.resolve("Service.java"), """
+            package com.example;
+
+            /** @aicontext-rule Service rule */
+            public class Service { private Repository repository; }
+            """);
+        Files.writeString(dir.resolve("Repository.java"), """
+            package com.example;
+
+            /** @aicontext-rule Repository rule */
+            public class Repository {}
+            """);
+        Files.writeString(dir.resolve("Unrelated.java"), """
+            package com.example;
+
+            /** @aicontext-rule Unrelated rule */
+            public class Unrelated {}
+            """);
+        AIContextMojo mojo = createMojo();
+        mojo.execute();
+
+        // User scaffolding configs need a MavenProject; call the focus step directly
+        FileDefinition fileDef = FileDefinition.fromMap(new Yaml().load("""
+                name: FOCUS.md
+                focus:
+                  class: Service
+                  hops: 1
+                  direction: OUT
+                """));
+        Set<String> members = new HashSet<>();
+        Map<String, Object> focus = mojo.focusToMap(fileDef, members);
+        assertThat(focus).containsEntry("class", "Service").containsEntry("hasNeighbors", true);
+        assertThat(members).containsExactlyInAnyOrder("com.example.Service", "com.example.Repository");
+
+        assertThat(mojo.queryPath("Controller Repository")).isEqualTo("Controller → Service → Repository");
+        assertThat(mojo.queryPath("Repository Controller")).isEqualTo("");
+        assertThat(mojo.queryPath("Repository Controller IN")).isEqualTo("Repository → Service → Controller");
+        assertThat(mojo.queryNeighbors("Service 1")).isEqualTo("Controller, Repository");
+        assertThat(mojo.queryNeighbors("Service in")).isEqualTo("Controller");
+        assertThat(mojo.queryNeighbors("Service Out")).isEqualTo("Repository");
+    }
+
+    @Test
+    void testInference_WritesInferredNotesWithinTheFileBudget() throws Exception {
+        Path dir = sourceDir.toPath().resolve("com/example");
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("Ledger.java"), """
+            package com.example;
+
+            @Deprecated
+            public class Ledger {
+                private final java.util.concurrent.atomic.AtomicLong balance = new java.util.concurrent.atomic.AtomicLong();
+
+                @Transactional
+                public synchronized void post(long amount) {
+                }
+            }
+            """);
+
+        AIContextMojo mojo = createMojo();
+        mojo.execute();
+
+        String notes = Files.readString(outputDir.toPath().resolve("cursor/.cursor/rules/04-context-notes.md"));
+        assertThat(notes)
+                .contains("Deprecated API: Ledger is deprecated")
+                .contains("Concurrency: field balance (AtomicLong) is shared between threads")
+                .contains("Transaction boundary: post() runs in a transaction")
+                .contains("## com.example.Ledger.post()");
+
+        mojo = createMojo();
+        setField(mojo, "inferenceBudget", 1);
+        mojo.execute();
+        notes = Files.readString(outputDir.toPath().resolve("cursor/.cursor/rules/04-context-notes.md"));
+        assertThat(notes).contains("Deprecated API").doesNotContain("Concurrency:");
+    }
+
+    @Test
+    void testGraphValidation_ChecksNestedClassesAgainstTheirOwnDependencies() throws Exception {
+        Path dir = sourceDir.toPath().resolve("com/example");
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("Repository.java"), "package com.example; public class Repository {}");
+        Files.writeString(dir.resolve("Outer.java"), """
+            package com.example;
+
+            /**
+             * @aicontext-graph
+             * Outer
+             *   └─[uses]→ Repository
+             */
+            public class Outer {
+                private Repository repository;
+
+                /**
+                 * @aicontext-graph
+                 * Inner
+                 *   └─[uses]→ Outer
+                 */
+                static class Inner {
+                    private Repository repository;
+                }
+            }
+            """);
+
+        AIContextMojo mojo = createMojo();
+        setField(mojo, "validateGraph", true);
+
+        assertThatThrownBy(mojo::execute)
+                .isInstanceOf(MojoExecutionException.class)
+                .hasMessageContaining("Graph validation failed");
+    }
+
     private AIContextMojo createMojo() throws Exception {
         AIContextMojo mojo = new AIContextMojo();
         
@@ -225,7 +718,7 @@ class AIContextMojoIntegrationTest {
     }
 
     private void setField(Object target, String fieldName, Object value) throws Exception {
-        java.lang.reflect.Field field = target.getClass().getDeclaredField(fieldName);
+        Field field = target.getClass().getDeclaredField(fieldName);
         field.setAccessible(true);
         field.set(target, value);
     }
@@ -0,0 +1,143 @@
+package com.aicontext.maven;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GenerateGraphsMojoTest {
+
+    private File sourceDir;
+    private File suggestedGraphsDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path testBaseDir = Path.of("target/test-output", getClass().getSimpleName(),
+                String.valueOf(System.nanoTime()));
+        sourceDir = testBaseDir.resolve("src/main/java").toFile();
+        suggestedGraphsDir = testBaseDir.resolve("suggested-graphs").toFile();
+        Path dir = sourceDir.toPath().resolve("com/example");
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("Repository.java"), "package com.example; public class Repository {}");
+        Files.writeString(dir.resolve("Service.java"), """
+            package com.example;
+
+            public class Service {
+                private final Repository repository = new Repository();
+            }
+            """);
+    }
+
+    private GenerateGraphsMojo createMojo() throws Exception {
+        GenerateGraphsMojo mojo = new GenerateGraphsMojo();
+        setField(mojo, "sourceDir", sourceDir);
+        setField(mojo, "suggestedGraphsDir", suggestedGraphsDir);
+        return mojo;
+    }
+
+    @Test
+    void execute_writesSuggestionsAndSkipsUnchangedFiles() throws Exception {
+        createMojo().execute();
+
+        Path service = suggestedGraphsDir.toPath().resolve("com/example/Service.txt");
+        assertThat(Files.readString(service)).contains("Service\n  ├─[uses]→ Repository\n");
+        FileTime old = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(service, old);
+
+        createMojo().execute();
+        assertThat(Files.getLastModifiedTime(service)).isEqualTo(old);
+
+        Files.writeString(sourceDir.toPath().resolve("com/example/Service.java"),
+                "package com.example; public class Service {}");
+        createMojo().execute();
+        assertThat(Files.readString(service)).contains("(none detected)");
+    }
+
+    @Test
+    void execute_removesSuggestionsOfClassesThatAreGone() throws Exception {
+        Path out = suggestedGraphsDir.toPath();
+        Files.createDirectories(out);
+        // Flat file written by an older version
+        Files.writeString(out.resolve("Service.txt"), "old");
+        Path legacy = sourceDir.toPath().resolve("com/legacy");
+        Files.createDirectories(legacy);
+        Files.writeString(legacy.resolve("Old.java"), "package com.legacy; public class Old {}");
+        createMojo().execute();
+        assertThat(out.resolve("com/legacy/Old.txt")).exists();
+
+        Files.delete(legacy.resolve("Old.java"));
+        createMojo().execute();
+
+        assertThat(out.resolve("Service.txt")).doesNotExist();
+        assertThat(out.resolve("com/legacy")).doesNotExist();
+        assertThat(out.resolve("com/example/Service.txt")).exists();
+        assertThat(out.resolve(GenerateGraphsMojo.INDEX_FILE)).exists();
+    }
+
+    @Test
+    void execute_shardsByPackageAndIndexesTheDeltaToTheCurrentGraph() throws Exception {
+        Path other = sourceDir.toPath().resolve("com/other");
+        Files.createDirectories(other);
+        Files.writeString(other.resolve("Service.java"), """
+            package com.other;
+
+            import com.example.Repository;
+
+            /**
+             * @aicontext-graph
+             * Service
+             *   └─[uses]→ Cache
+             */
+            public class Service {
+                private Repository repository;
+            }
+            """);
+
+        createMojo().execute();
+
+        Path out = suggestedGraphsDir.toPath();
+        assertThat(out.resolve("com/example/Service.txt")).exists();
+        assertThat(out.resolve("com/other/Service.txt")).exists();
+        assertThat(Files.readAllLines(out.resolve(GenerateGraphsMojo.INDEX_FILE))).contains(
+                "com.example.Repository\tnone\tcom/example/Repository.txt\t\t\t",
+                "com.example.Service\tnone\tcom/example/Service.txt\t\tRepository\t",
+                "com.other.Service\tdrift\tcom/other/Service.txt\tCache\tRepository\tCache");
+    }
+
+    @Test
+    void execute_suggestsDetectedEdgesBesidesUses() throws Exception {
+        Files.writeString(sourceDir.toPath().resolve("com/example/Service.java"), """
+            package com.example;
+
+            public class Service {
+                @Value("${service.timeout}")
+                private int timeout;
+                private final Repository repository = new Repository();
+                private final WebClient client;
+            }
+            """);
+
+        createMojo().execute();
+        assertThat(Files.readString(suggestedGraphsDir.toPath().resolve("com/example/Service.txt")))
+                .contains("Service\n  ├─[uses]→ Repository\n  ├─[external]→ WebClient\n"
+                        + "  ├─[config]→ service.timeout\n");
+
+        GenerateGraphsMojo mojo = createMojo();
+        setField(mojo, "detectEdges", false);
+        mojo.execute();
+        assertThat(Files.readString(suggestedGraphsDir.toPath().resolve("com/example/Service.txt")))
+                .doesNotContain("[config]");
+    }
+
+    private void setField(Object target, String fieldName, Object value) throws Exception {
+        java.lang.reflect.Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -0,0 +1,119 @@
+package com.aicontext.maven;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.aicontext.maven.graph.ProjectTypeIndex;
+
+class ValidateGraphMojoTest {
+
+    private Path testBaseDir;
+    private File sourceDir;
+    private File outputDir;
+    private Path dir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        testBaseDir = Path.of("target/test-output", getClass().getSimpleName(), String.valueOf(System.nanoTime()))
+                .toAbsolutePath();
+        sourceDir = testBaseDir.resolve("src/main/java").toFile();
+        outputDir = testBaseDir.resolve(".aicontext").toFile();
+        dir = sourceDir.toPath().resolve("com/example");
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("Repository.java"), "package com.example; public class Repository {}");
+        Files.writeString(dir.resolve("Service.java"), service(""));
+    }
+
+    private static String service(String body) {
+        return """
+            package com.example;
+
+            /**
+             * @aicontext-graph
+             * Service
+             */
+            public class Service {
+                %s
+            }
+            """.formatted(body);
+    }
+
+    private ValidateGraphMojo createMojo(String files) throws Exception {
+        ValidateGraphMojo mojo = new ValidateGraphMojo();
+        setField(mojo, "sourceDir", sourceDir);
+        setField(mojo, "outputDir", outputDir);
+        setField(mojo, "files", files);
+        return mojo;
+    }
+
+    @Test
+    void execute_validatesOnlyTheGivenFilesUsingTheSavedIndex() throws Exception {
+        Files.writeString(dir.resolve("Service.java"), service("private Repository repository;"));
+
+        // No saved index yet: the tree is scanned once and the index saved
+        createMojo(dir.resolve("Repository.java").toString()).execute();
+        assertThat(outputDir.toPath().resolve(ProjectTypeIndex.FILE_NAME)).exists();
+
+        assertThatThrownBy(() -> createMojo(dir.resolve("Service.java").toString()).execute())
+                .isInstanceOf(MojoExecutionException.class)
+                .hasMessageContaining("Graph validation failed");
+    }
+
+    @Test
+    void execute_validatesFilesChangedSinceGitRef() throws Exception {
+        git("init", "-q");
+        git("add", ".");
+        git("-c", "user.name=test", "-c", "user.email=test@example.com", "commit", "-q", "-m", "init");
+        ValidateGraphMojo mojo = createMojo(null);
+        mojo.execute();
+
+        Files.writeString(dir.resolve("Service.java"), service("private Repository repository;"));
+        assertThatThrownBy(mojo::execute)
+                .isInstanceOf(MojoExecutionException.class)
+                .hasMessageContaining("Graph validation failed");
+
+        Files.writeString(dir.resolve("Service.java"), service("private Repository repository;")
+                .replace(" * Service\n", " * Service\n *   └─[uses]→ Repository\n"));
+        mojo.execute();
+    }
+
+    @Test
+    void execute_findsChangedFilesWhoseNamesGitWouldQuote() throws Exception {
+        // Without -z, git prints this path as "odd\"dir/Service.java"
+        Path odd = sourceDir.toPath().resolve("odd\"dir");
+        Files.createDirectories(odd);
+        Files.writeString(odd.resolve("Service.java"), service(""));
+        Files.delete(dir.resolve("Service.java"));
+        git("init", "-q");
+        git("add", ".");
+        git("-c", "user.name=test", "-c", "user.email=test@example.com", "commit", "-q", "-m", "init");
+
+        Files.writeString(odd.resolve("Service.java"), service("private Repository repository;"));
+        assertThatThrownBy(createMojo(null)::execute)
+                .isInstanceOf(MojoExecutionException.class)
+                .hasMessageContaining("Graph validation failed");
+    }
+
+    private void git(String... args) throws Exception {
+        String[] command = new String[args.length + 1];
+        command[0] = "git";
+        System.arraycopy(args, 0, command, 1, args.length);
+        Process process = new ProcessBuilder(command).directory(testBaseDir.toFile()).inheritIO().start();
+        assertThat(process.waitFor()).isZero();
+    }
+
+    private void setField(Object target, String fieldName, Object value) throws Exception {
+        java.lang.reflect.Field field = target.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
@@ -42,4 +42,28 @@ class ClassDependencyAnalyzerTest {
 
         assertThat(used).containsExactly("Bar");
     }
+
+    @Test
+    void findUsedProjectTypes_withIndexDistinguishesSameSimpleName() {
+        ProjectTypeIndex index = new ProjectTypeIndex();
+        JavaParser parser = new JavaParser();
+        index.addCompilationUnit(parser.parse("package com.example.web; public class Mapper {}")
+                .getResult().orElseThrow(), "web/Mapper.java");
+        index.addCompilationUnit(parser.parse("package com.example.db; public class Mapper {}")
+                .getResult().orElseThrow(), "db/Mapper.java");
+        String source = "package com.example.web;\n"
+                + "import com.example.db.Mapper;\n"
+                + "import java.util.List;\n"
+                + "public class Controller {\n"
+                + "    private List<Mapper> mappers;\n"
+                + "    Controller(Helper helper) {}\n"
+                + "}\n";
+        CompilationUnit cu = parser.parse(source).getResult().orElseThrow();
+        index.addCompilationUnit(cu, "web/Controller.java");
+        ClassOrInterfaceDeclaration cls = cu.findFirst(ClassOrInterfaceDeclaration.class).orElseThrow();
+
+        Set<String> used = ClassDependencyAnalyzer.findUsedProjectTypes(cu, cls, index);
+
+        assertThat(used).containsExactly("com.example.db.Mapper");
+    }
 }
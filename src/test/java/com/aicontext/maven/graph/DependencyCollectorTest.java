@@ -0,0 +1,74 @@
+package com.aicontext.maven.graph;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DependencyCollectorTest {
+
+    private static CompilationUnit parse(String source) {
+        return new JavaParser().parse(source).getResult().orElseThrow();
+    }
+
+    private static ProjectTypeIndex index(String... types) {
+        ProjectTypeIndex index = new ProjectTypeIndex();
+        for (String type : types) {
+            int dot = type.lastIndexOf('.');
+            index.add(new ProjectTypeIndex.Declaration(type, type.substring(dot + 1), type.substring(0, dot),
+                    type + ".java", 1));
+        }
+        return index;
+    }
+
+    @Test
+    void collect_tagsEveryReferenceKind() {
+        ProjectTypeIndex index = index("com.acme.Base", "com.acme.Api", "com.acme.Repo", "com.acme.Order",
+                "com.acme.Factory", "com.acme.Audited", "com.acme.Event", "com.acme.Dto", "com.acme.Util");
+        CompilationUnit cu = parse("package com.acme;\n"
+                + "@Audited\n"
+                + "public class Service extends Base implements Api {\n"
+                + "    private Repo repo;\n"
+                + "    Order load(String id) {\n"
+                + "        Event event = Factory.event();\n"
+                + "        Object o = new Dto();\n"
+                + "        java.util.function.Supplier<Object> s = Util::create;\n"
+                + "        return (Order) o;\n"
+                + "    }\n"
+                + "}\n");
+
+        Map<String, ClassDependencies> classes = new DependencyCollector(index.scopeOf(cu)).collect(cu);
+        Map<String, Set<DependencyKind>> deps = classes.get("com.acme.Service").resolve();
+
+        assertThat(deps).containsEntry("com.acme.Base", Set.of(DependencyKind.EXTENDS))
+                .containsEntry("com.acme.Api", Set.of(DependencyKind.IMPLEMENTS))
+                .containsEntry("com.acme.Repo", Set.of(DependencyKind.FIELD))
+                .containsEntry("com.acme.Order", Set.of(DependencyKind.RETURN, DependencyKind.CAST))
+                .containsEntry("com.acme.Event", Set.of(DependencyKind.LOCAL_VARIABLE))
+                .containsEntry("com.acme.Factory", Set.of(DependencyKind.STATIC_CALL))
+                .containsEntry("com.acme.Dto", Set.of(DependencyKind.INSTANTIATION))
+                .containsEntry("com.acme.Util", Set.of(DependencyKind.STATIC_CALL))
+                .containsEntry("com.acme.Audited", Set.of(DependencyKind.ANNOTATION))
+                .hasSize(9);
+    }
+
+    @Test
+    void collect_attributesNestedClassReferencesToTheNestedClass() {
+        ProjectTypeIndex index = index("com.acme.Repo", "com.acme.Mapper");
+        CompilationUnit cu = parse("package com.acme;\n"
+                + "public class Outer {\n"
+                + "    private Repo repo;\n"
+                + "    static class Inner { java.util.List<Mapper> mappers; }\n"
+                + "}\n");
+        index.addCompilationUnit(cu, "Outer.java");
+
+        Map<String, ClassDependencies> classes = new DependencyCollector(index.scopeOf(cu)).collect(cu);
+
+        assertThat(classes.get("com.acme.Outer").resolvedTypes()).containsExactly("com.acme.Repo");
+        assertThat(classes.get("com.acme.Outer.Inner").resolvedTypes()).containsExactly("com.acme.Mapper");
+    }
+}
@@ -0,0 +1,73 @@
+package com.aicontext.maven.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DependencyGraphTest {
+
+    @Test
+    void build_mergesParallelEdgesAndOrsTheirFlags() {
+        DependencyGraph graph = new DependencyGraph.Builder()
+                .addEdge("A", "B", DependencyGraph.DETECTED)
+                .addEdge("A", "B", DependencyGraph.DOCUMENTED_USES)
+                .addEdge("A", "C", DependencyGraph.DETECTED)
+                .addEdge("A", "A", DependencyGraph.DETECTED)
+                .build();
+
+        int a = graph.id("A");
+        assertThat(graph.edgeCount()).isEqualTo(2);
+        assertThat(graph.fanOut(a)).isEqualTo(2);
+        assertThat(graph.fanIn(graph.id("B"))).isEqualTo(1);
+        int edge = graph.edgeStart(a);
+        assertThat(graph.name(graph.edgeTarget(edge))).isEqualTo("B");
+        assertThat(graph.edgeFlags(edge)).isEqualTo(DependencyGraph.DETECTED | DependencyGraph.DOCUMENTED_USES);
+    }
+
+    @Test
+    void cycles_reportsStronglyConnectedComponents() {
+        DependencyGraph graph = new DependencyGraph.Builder()
+                .addEdge("Order", "Payment", DependencyGraph.DETECTED)
+                .addEdge("Payment", "Invoice", DependencyGraph.DETECTED)
+                .addEdge("Invoice", "Order", DependencyGraph.DETECTED)
+                .addEdge("Invoice", "Mailer", DependencyGraph.DETECTED)
+                .addEdge("Cart", "Order", DependencyGraph.DETECTED)
+                .build();
+
+        assertThat(graph.cycles()).containsExactly(List.of("Invoice", "Order", "Payment"));
+        assertThat(graph.top(1, true)).containsExactly(graph.id("Order"));
+    }
+
+    @Test
+    void cycles_handlesLongChainsWithoutRecursion() {
+        int n = 100_000;
+        DependencyGraph.Builder builder = new DependencyGraph.Builder();
+        for (int i = 0; i < n; i++) {
+            builder.addEdge("C" + i, "C" + ((i + 1) % n), DependencyGraph.DETECTED);
+        }
+        DependencyGraph graph = builder.build();
+
+        assertThat(graph.nodeCount()).isEqualTo(n);
+        assertThat(graph.cycles()).hasSize(1);
+        assertThat(graph.cycles().get(0)).hasSize(n);
+    }
+
+    @Test
+    void transpose_reversesOnlyMatchingEdges() {
+        DependencyGraph graph = new DependencyGraph.Builder()
+                .addEdge("A", "C", DependencyGraph.DOCUMENTED_USES)
+                .addEdge("B", "C", DependencyGraph.DOCUMENTED_CALLS)
+                .addEdge("D", "C", DependencyGraph.DETECTED)
+                .build();
+
+        DependencyGraph inverse = graph.transpose(DependencyGraph.DOCUMENTED_USES | DependencyGraph.DOCUMENTED_CALLS);
+
+        int c = inverse.id("C");
+        assertThat(inverse.fanOut(c)).isEqualTo(2);
+        assertThat(inverse.name(inverse.edgeTarget(inverse.edgeStart(c)))).isEqualTo("A");
+        assertThat(inverse.name(inverse.edgeTarget(inverse.edgeStart(c) + 1))).isEqualTo("B");
+        assertThat(inverse.fanOut(inverse.id("A"))).isZero();
+    }
+}
@@ -0,0 +1,73 @@
+package com.aicontext.maven.graph;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EdgeDetectorsTest {
+
+    private static Map<String, Set<String>> edgesOf(String source, String className) {
+        CompilationUnit cu = new JavaParser().parse(source).getResult().orElseThrow();
+        ProjectTypeIndex index = new ProjectTypeIndex();
+        index.addCompilationUnit(cu, "Test.java");
+        return new DependencyCollector(index.scopeOf(cu), EdgeDetectors.builtIn()).collect(cu)
+                .get(className).getEdges();
+    }
+
+    @Test
+    void builtIn_detectsDbEventsConfigAndExternalEdgesInOneTraversal() {
+        Map<String, Set<String>> edges = edgesOf("""
+                package com.acme;
+
+                public class OrderService {
+                    @Value("${orders.limit:10} / ${orders.region}")
+                    private int limit;
+                    @ConfigProperty(name = "orders.currency")
+                    String currency;
+                    private final JdbcTemplate jdbc;
+                    private final RestTemplate rest;
+                    private final KafkaTemplate<String, String> kafkaTemplate;
+                    private final ApplicationEventPublisher publisher;
+
+                    void place(Order order) {
+                        publisher.publishEvent(new OrderPlaced(order));
+                        kafkaTemplate.send("orders.placed", order.id());
+                        String key = System.getenv("STRIPE_API_KEY");
+                    }
+
+                    @KafkaListener(topics = {"payments.settled"})
+                    void onSettled(String message) {
+                    }
+                }
+                """, "com.acme.OrderService");
+
+        assertThat(edges.get("db")).containsExactly("JdbcTemplate");
+        assertThat(edges.get("external")).containsExactly("RestTemplate");
+        assertThat(edges.get("config")).containsExactlyInAnyOrder(
+                "orders.limit", "orders.region", "orders.currency", "STRIPE_API_KEY");
+        assertThat(edges.get("events")).containsExactlyInAnyOrder("OrderPlaced", "orders.placed", "payments.settled");
+    }
+
+    @Test
+    void builtIn_detectsEntityTablesAndRepositoryEntities() {
+        assertThat(edgesOf("""
+                package com.acme;
+
+                @Entity
+                @Table(name = "orders")
+                public class Order {
+                }
+                """, "com.acme.Order")).isEqualTo(Map.of("db", Set.of("orders")));
+        assertThat(edgesOf("""
+                package com.acme;
+
+                public interface OrderRepository extends JpaRepository<Order, Long> {
+                }
+                """, "com.acme.OrderRepository")).isEqualTo(Map.of("db", Set.of("Order")));
+    }
+}
@@ -0,0 +1,74 @@
+package com.aicontext.maven.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GraphConsistencyTest {
+
+    @Test
+    void check_reportsCallsWithoutMatchingByAndMissingMethods() {
+        GraphConsistency consistency = new GraphConsistency(Map.of(
+                "OrderService", Set.of("checkout"),
+                "PaymentService", Set.of("charge"),
+                "AuditLog", Set.of()), Map.of());
+        consistency.add("OrderService", "OrderService.java:3", GraphNotationParser.parseBlocks("""
+                OrderService
+                  ├─[calls]→ PaymentService.charge(), PaymentService.refund()
+                  └─[calls]→ AuditLog.record()
+                """), null);
+        consistency.add("PaymentService", "PaymentService.java:5", GraphNotationParser.parseBlocks("""
+                PaymentService
+                  └─[by]← CheckoutController, OrderService
+                """), null);
+        consistency.add("CheckoutController", "CheckoutController.java:7", GraphNotationParser.parseBlocks("""
+                CheckoutController
+                  └─[uses]→ OrderService
+                """), null);
+
+        assertThat(consistency.check()).containsExactly(
+                "OrderService.java:3: OrderService [calls]→ AuditLog.record() but AuditLog declares no method record",
+                "OrderService.java:3: OrderService [calls]→ PaymentService.refund() but PaymentService declares "
+                        + "no method refund",
+                "PaymentService.java:5: PaymentService [by]← CheckoutController but the graph of "
+                        + "CheckoutController has no [calls] or [uses] to PaymentService");
+    }
+
+    @Test
+    void check_reportsCallerMissingFromDocumentedBy() {
+        GraphConsistency consistency = new GraphConsistency(Map.of(), Map.of());
+        consistency.add("OrderService", "OrderService.java:3", GraphNotationParser.parseBlocks("""
+                OrderService
+                  └─[calls]→ PaymentService.charge()
+                """), null);
+        consistency.add("PaymentService", "PaymentService.java:5", GraphNotationParser.parseBlocks("""
+                PaymentService
+                  └─[by]← CheckoutController
+                """), null);
+
+        assertThat(consistency.check()).containsExactly(
+                "OrderService.java:3: OrderService [calls]→ PaymentService.charge() but the [by]← edges of "
+                        + "PaymentService do not list OrderService");
+        assertThat(GraphConsistency.methodOf("PaymentService.charge()")).isEqualTo("charge");
+        assertThat(GraphConsistency.methodOf("PaymentService")).isNull();
+    }
+
+    @Test
+    void check_skipsObjectMethodsAndClassesWithUnknownMethods() {
+        // Invoice has Lombok-generated accessors, so it is not in the method map
+        GraphConsistency consistency = new GraphConsistency(Map.of(
+                "OrderService", Set.of("checkout"),
+                "Status", Set.of("values", "valueOf")), Map.of());
+        consistency.add("OrderService", "OrderService.java:3", GraphNotationParser.parseBlocks("""
+                OrderService
+                  ├─[calls]→ Status.values(), Status.toString()
+                  ├─[calls]→ Invoice.getTotal()
+                  └─[calls]→ OrderService.hashCode()
+                """), null);
+
+        assertThat(consistency.check()).isEmpty();
+    }
+}
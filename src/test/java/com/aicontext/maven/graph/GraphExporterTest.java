@@ -0,0 +1,120 @@
+package com.aicontext.maven.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GraphExporterTest {
+
+    private static final List<GraphExporter.DocumentedGraph> GRAPHS = List.of(
+            new GraphExporter.DocumentedGraph("com.acme.billing.PaymentService",
+                    GraphNotationParser.parseBlocks("PaymentService\n"
+                            + "  ├─[uses]→ StripeClient\n"
+                            + "  └─[by]← OrderService.checkout()\n")),
+            new GraphExporter.DocumentedGraph("com.acme.orders.OrderService",
+                    GraphNotationParser.parseBlocks("OrderService\n"
+                            + "  └─[external]→ \"https://api.example.com/<v1>\"\n")));
+
+    private static String export(List<String> packages, GraphExporter.Format format) throws IOException {
+        StringWriter out = new StringWriter();
+        new GraphExporter(packages).export(GRAPHS, format, out);
+        return out.toString();
+    }
+
+    @Test
+    void export_writesEachFormatWithEscaping() throws IOException {
+        assertThat(export(List.of(), GraphExporter.Format.DOT))
+                .startsWith("digraph relationships {")
+                .contains("\"PaymentService\" -> \"StripeClient\" [label=\"uses\"];")
+                .contains("\"OrderService.checkout()\" -> \"PaymentService\" [label=\"by\"];")
+                .contains("\"\\\"https://api.example.com/<v1>\\\"\";");
+
+        assertThat(export(List.of(), GraphExporter.Format.GRAPHML))
+                .contains("<node id=\"&quot;https://api.example.com/&lt;v1&gt;&quot;\"/>")
+                .contains("source=\"PaymentService\" target=\"StripeClient\"")
+                .endsWith("</graphml>\n");
+
+        String json = export(List.of(), GraphExporter.Format.JSON);
+        assertThat(json)
+                .contains("{\"id\": \"\\\"https://api.example.com/<v1>\\\"\"}")
+                .contains("{\"source\": \"PaymentService\", \"target\": \"StripeClient\", \"relation\": \"uses\"}");
+        assertThat(json.indexOf("\"edges\"")).isGreaterThan(json.lastIndexOf("{\"id\""));
+
+        assertThat(export(List.of(), GraphExporter.Format.MERMAID))
+                .startsWith("graph LR\n")
+                .contains("[\"#quot;https://api.example.com/<v1>#quot;\"]")
+                .contains("-->|uses|");
+    }
+
+    @Test
+    void export_filtersByPackageAndSkipsInferredEdges() throws IOException {
+        List<GraphNode> withInferred = List.of(new GraphNode("PaymentService", List.of(
+                new GraphEdge("by", GraphEdge.Direction.INBOUND, List.of("RefundJob"), true))));
+        StringWriter out = new StringWriter();
+        new GraphExporter(List.of("com.acme.billing")).export(List.of(
+                GRAPHS.get(0),
+                GRAPHS.get(1),
+                new GraphExporter.DocumentedGraph("com.acme.billing.PaymentService", withInferred)),
+                GraphExporter.Format.DOT, out);
+
+        assertThat(out.toString())
+                .contains("\"PaymentService\" -> \"StripeClient\"")
+                .doesNotContain("api.example.com")
+                .doesNotContain("RefundJob");
+    }
+
+    @Test
+    void export_streamsLargeGraphsWithoutBufferingTheDocument() throws IOException {
+        List<GraphExporter.DocumentedGraph> graphs = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            graphs.add(new GraphExporter.DocumentedGraph("com.acme.C" + i, List.of(new GraphNode("C" + i,
+                    List.of(new GraphEdge("uses", GraphEdge.Direction.OUTBOUND, List.of("C" + (i + 1))))))));
+        }
+        CountingWriter out = new CountingWriter();
+        new GraphExporter(List.of()).export(graphs, GraphExporter.Format.JSON, out);
+
+        assertThat(out.chars).isGreaterThan(1_000_000L);
+        assertThat(out.largestWrite).isLessThan(200);
+    }
+
+    @Test
+    void parse_acceptsNamesAndExtensions() {
+        assertThat(GraphExporter.Format.parse(" Mermaid ")).isEqualTo(GraphExporter.Format.MERMAID);
+        assertThat(GraphExporter.Format.parse("mmd")).isEqualTo(GraphExporter.Format.MERMAID);
+        assertThatThrownBy(() -> GraphExporter.Format.parse("svg"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("svg");
+    }
+
+    private static final class CountingWriter extends Writer {
+        long chars;
+        int largestWrite;
+
+        @Override
+        public void write(char[] buf, int off, int len) {
+            chars += len;
+            largestWrite = Math.max(largestWrite, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            chars += len;
+            largestWrite = Math.max(largestWrite, len);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
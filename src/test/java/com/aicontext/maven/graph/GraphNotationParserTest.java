@@ -91,4 +91,45 @@ class GraphNotationParserTest {
         assertThat(nodes.get(1).getName()).isEqualTo("StripeClient");
         assertThat(nodes.get(1).getEdges()).hasSize(2);
     }
+
+    @Test
+    void parse_reportsMalformedEdgeLinesWithPositionAndKeepsTheRest() {
+        String content = "PaymentService\r\n"
+                + " *  ├─[uses StripeClient\r\n"
+                + "  ├─[calls]→ StripeClient.charge()\r\n"
+                + "  └─[by] OrderService\r\n"
+                + "\r\n"
+                + "StripeClient\n"
+                + "  └─[external]→   \n";
+        GraphNotationParser.Result result = GraphNotationParser.parse(content);
+
+        assertThat(result.nodes()).extracting(GraphNode::getName).containsExactly("PaymentService", "StripeClient");
+        assertThat(result.nodes().get(0).getEdges()).singleElement()
+                .satisfies(e -> assertThat(e.getTargets()).containsExactly("StripeClient.charge()"));
+        assertThat(result.problems()).extracting(GraphNotationParser.Problem::toString).containsExactly(
+                "line 2, column 7: missing ']' after relation",
+                "line 4, column 10: expected '→' or '←' after [by]",
+                "line 7, column 16: missing targets after [external]");
+    }
+
+    @Test
+    void parseBlocks_javadocOnlyLinesDoNotSplitBlocks() {
+        String content = "OrderService\n *\n  └─[uses]→ Repository, Mapper<Order, Dto>\n   \n\n";
+        List<GraphNode> nodes = GraphNotationParser.parseBlocks(content);
+        assertThat(nodes).singleElement().satisfies(node -> assertThat(node.getEdges().get(0).getTargets())
+                .containsExactly("Repository", "Mapper<Order", "Dto>"));
+    }
+
+    @Test
+    void parse_withPoolSharesNameInstancesAcrossGraphs() {
+        java.util.Map<String, String> pool = new java.util.HashMap<>();
+        GraphNode order = GraphNotationParser.parse("OrderService\n  └─[uses]→ PaymentService", pool).nodes().get(0);
+        GraphNode refund = GraphNotationParser.parse("RefundJob\n  ├─[uses]→ PaymentService\n"
+                + "  └─[by]← OrderService", pool).nodes().get(0);
+
+        assertThat(refund.getEdges().get(0).getTargets().get(0)).isSameAs(order.getEdges().get(0).getTargets().get(0));
+        assertThat(refund.getEdges().get(0).getRelationType()).isSameAs(order.getEdges().get(0).getRelationType());
+        assertThat(refund.getEdges().get(1).getTargets().get(0)).isSameAs(order.getName());
+        assertThat(pool).containsOnlyKeys("OrderService", "PaymentService", "RefundJob", "uses", "by");
+    }
 }
@@ -0,0 +1,57 @@
+package com.aicontext.maven.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GraphQueryTest {
+
+    // OrderController → OrderService → PaymentService → PaymentRepository,
+    // RefundJob → PaymentService (documented calls), PaymentService → AuditLog (detected only)
+    private final GraphQuery query = new GraphQuery(new DependencyGraph.Builder()
+            .addEdge("com.acme.web.OrderController", "com.acme.order.OrderService", DependencyGraph.DOCUMENTED_USES)
+            .addEdge("com.acme.order.OrderService", "com.acme.pay.PaymentService", DependencyGraph.DOCUMENTED_CALLS)
+            .addEdge("com.acme.pay.PaymentService", "com.acme.pay.PaymentRepository", DependencyGraph.DOCUMENTED_USES)
+            .addEdge("com.acme.pay.RefundJob", "com.acme.pay.PaymentService", DependencyGraph.DOCUMENTED_CALLS)
+            .addEdge("com.acme.pay.PaymentService", "com.acme.audit.AuditLog", DependencyGraph.DETECTED)
+            .build());
+
+    private static List<String> names(List<GraphQuery.Neighbor> neighbors) {
+        return neighbors.stream().map(n -> ProjectTypeIndex.simpleName(n.name()) + "@" + n.distance()).toList();
+    }
+
+    @Test
+    void neighborhood_followsDirectionAndRelationsUpToTheHopLimit() {
+        assertThat(names(query.neighborhood("PaymentService", 2, GraphQuery.ALL_RELATIONS,
+                GraphQuery.Direction.BOTH)))
+                .containsExactly("AuditLog@1", "OrderService@1", "PaymentRepository@1", "RefundJob@1",
+                        "OrderController@2");
+        assertThat(names(query.neighborhood("com.acme.pay.PaymentService", 3, GraphQuery.ALL_RELATIONS,
+                GraphQuery.Direction.INBOUND)))
+                .containsExactly("OrderService@1", "RefundJob@1", "OrderController@2");
+        assertThat(names(query.neighborhood("PaymentService", 1, GraphQuery.relationMask(List.of("uses", "calls")),
+                GraphQuery.Direction.OUTBOUND)))
+                .containsExactly("PaymentRepository@1");
+        assertThat(query.neighborhood("Unknown", 2, GraphQuery.ALL_RELATIONS, GraphQuery.Direction.BOTH)).isEmpty();
+    }
+
+    @Test
+    void shortestPath_returnsBothEndsOrNothing() {
+        assertThat(query.shortestPath("OrderController", "PaymentRepository", GraphQuery.ALL_RELATIONS,
+                GraphQuery.Direction.OUTBOUND))
+                .containsExactly("com.acme.web.OrderController", "com.acme.order.OrderService",
+                        "com.acme.pay.PaymentService", "com.acme.pay.PaymentRepository");
+        assertThat(query.shortestPath("RefundJob", "OrderController", GraphQuery.ALL_RELATIONS,
+                GraphQuery.Direction.OUTBOUND)).isEmpty();
+        assertThat(query.shortestPath("RefundJob", "OrderService", GraphQuery.ALL_RELATIONS,
+                GraphQuery.Direction.BOTH))
+                .containsExactly("com.acme.pay.RefundJob", "com.acme.pay.PaymentService", "com.acme.order.OrderService");
+        assertThat(query.shortestPath("AuditLog", "AuditLog", GraphQuery.ALL_RELATIONS, GraphQuery.Direction.BOTH))
+                .containsExactly("com.acme.audit.AuditLog");
+        assertThatThrownBy(() -> GraphQuery.relationMask(List.of("owns")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
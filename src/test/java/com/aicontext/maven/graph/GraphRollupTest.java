@@ -0,0 +1,51 @@
+package com.aicontext.maven.graph;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GraphRollupTest {
+
+    private static String packageOf(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : null;
+    }
+
+    @Test
+    void of_aggregatesClassEdgesIntoWeightedPackageAndModuleEdges() {
+        DependencyGraph graph = new DependencyGraph.Builder()
+                .addEdge("com.acme.orders.api.OrderResource", "com.acme.billing.PaymentService", DependencyGraph.DETECTED)
+                .addEdge("com.acme.orders.api.OrderResource", "com.acme.billing.Ledger", DependencyGraph.DETECTED)
+                .addEdge("com.acme.orders.OrderService", "com.acme.billing.Ledger", DependencyGraph.DOCUMENTED_USES)
+                .addEdge("com.acme.orders.api.OrderResource", "com.acme.orders.OrderService", DependencyGraph.DETECTED)
+                .addEdge("com.acme.billing.PaymentService", "com.acme.billing.Ledger", DependencyGraph.DETECTED)
+                .addEdge("com.acme.billing.PaymentService", "StripeClient", DependencyGraph.DOCUMENTED_USES)
+                .build();
+
+        GraphRollup rollup = GraphRollup.of(graph, GraphRollupTest::packageOf, 3);
+
+        assertThat(rollup.packageEdges()).containsExactly(
+                new GraphRollup.WeightedEdge("com.acme.orders.api", "com.acme.billing", 2),
+                new GraphRollup.WeightedEdge("com.acme.orders", "com.acme.billing", 1),
+                new GraphRollup.WeightedEdge("com.acme.orders.api", "com.acme.orders", 1));
+        assertThat(rollup.moduleEdges()).containsExactly(
+                new GraphRollup.WeightedEdge("com.acme.orders", "com.acme.billing", 3));
+        assertThat(rollup.moduleCount()).isEqualTo(2);
+
+        GraphRollup.PackageView billing = rollup.get("com.acme.billing");
+        assertThat(billing.getClasses()).containsExactly("com.acme.billing.Ledger", "com.acme.billing.PaymentService");
+        assertThat(billing.getInternalEdges()).extracting(GraphRollup.ClassEdge::to)
+                .containsExactly("com.acme.billing.Ledger");
+        assertThat(billing.getIncomingEdges()).hasSize(3);
+        assertThat(billing.getOutgoingEdges()).isEmpty();
+        assertThat(rollup.packages()).extracting(GraphRollup.PackageView::getName)
+                .containsExactly("com.acme.billing", "com.acme.orders", "com.acme.orders.api");
+    }
+
+    @Test
+    void moduleOf_cutsPackageToDepth() {
+        assertThat(GraphRollup.moduleOf("com.acme.billing.api", 3)).isEqualTo("com.acme.billing");
+        assertThat(GraphRollup.moduleOf("com.acme", 3)).isEqualTo("com.acme");
+        assertThat(GraphRollup.moduleOf("com.acme.billing", 0)).isEqualTo("com.acme.billing");
+    }
+}
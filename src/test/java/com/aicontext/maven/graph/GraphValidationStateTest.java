@@ -0,0 +1,90 @@
+package com.aicontext.maven.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GraphValidationStateTest {
+
+    private static Path stateFile() throws IOException {
+        Path dir = Paths.get("target/test-output/GraphValidationStateTest/" + System.nanoTime());
+        Files.createDirectories(dir);
+        return dir.resolve(GraphValidationState.FILE_NAME);
+    }
+
+    private static GraphValidationState saved(Path file) throws IOException {
+        GraphValidationState state = GraphValidationState.load(file, "names");
+        state.put("com.acme.OrderService", new GraphValidationState.ClassState("h1",
+                Set.of("com.acme.PaymentService"), Set.of("PaymentService"), Set.of("PaymentService", "Mapper"),
+                List.of("OrderService.java:3: Class dependency 'X' found but not in graph."), List.of()));
+        state.put("com.acme.RefundJob", new GraphValidationState.ClassState("h2",
+                Set.of(), Set.of(), Set.of("Clock"), List.of(), List.of("RefundJob.java:5 lenient\twarning")));
+        state.setProjectTypes(Set.of("com.acme.OrderService", "com.acme.RefundJob", "com.acme.PaymentService"));
+        state.save();
+        return GraphValidationState.load(file, "names");
+    }
+
+    @Test
+    void dirtyClasses_onlyChangedFilesAndClassesMentioningAddedOrRemovedTypes() throws IOException {
+        GraphValidationState state = saved(stateFile());
+        Map<String, String> hashes = Map.of("com.acme.OrderService", "h1", "com.acme.RefundJob", "h2");
+
+        assertThat(state.dirtyClasses(hashes,
+                Set.of("com.acme.OrderService", "com.acme.RefundJob", "com.acme.PaymentService"))).isEmpty();
+        assertThat(state.dirtyClasses(Map.of("com.acme.OrderService", "h1", "com.acme.RefundJob", "changed"),
+                Set.of("com.acme.OrderService", "com.acme.RefundJob", "com.acme.PaymentService")))
+                .containsExactly("com.acme.RefundJob");
+        // A new com.other.Mapper may now resolve the name Mapper in OrderService
+        assertThat(state.dirtyClasses(hashes, Set.of("com.acme.OrderService", "com.acme.RefundJob",
+                "com.acme.PaymentService", "com.other.Mapper"))).containsExactly("com.acme.OrderService");
+        // Removing a dependency target
+        assertThat(state.dirtyClasses(hashes, Set.of("com.acme.OrderService", "com.acme.RefundJob")))
+                .containsExactly("com.acme.OrderService");
+    }
+
+    @Test
+    void changedDependencies_classesWhoseResolvedDependenciesDiffer() throws IOException {
+        GraphValidationState state = saved(stateFile());
+
+        assertThat(state.changedDependencies(Map.of("com.acme.OrderService", Set.of("com.acme.PaymentService")),
+                List.of("com.acme.OrderService", "com.acme.RefundJob"))).isEmpty();
+        // Same file, but a called method now returns another type
+        assertThat(state.changedDependencies(Map.of("com.acme.OrderService", Set.of("com.acme.Ledger")),
+                List.of("com.acme.OrderService", "com.acme.RefundJob", "com.acme.NewJob")))
+                .containsExactly("com.acme.OrderService", "com.acme.NewJob");
+    }
+
+    @Test
+    void load_roundTripsMessagesAndDiscardsOtherModes() throws IOException {
+        Path file = stateFile();
+        GraphValidationState state = saved(file);
+
+        assertThat(state.get("com.acme.OrderService").errors())
+                .containsExactly("OrderService.java:3: Class dependency 'X' found but not in graph.");
+        assertThat(state.get("com.acme.RefundJob").warnings()).containsExactly("RefundJob.java:5 lenient\twarning");
+        assertThat(state.get("com.acme.OrderService").dependencies()).containsExactly("com.acme.PaymentService");
+        assertThat(GraphValidationState.load(file, "symbols").get("com.acme.OrderService")).isNull();
+    }
+
+    @Test
+    void loadAnyMode_keepsTheModeTheFileWasWrittenIn() throws IOException {
+        Path file = stateFile();
+        GraphValidationState symbols = GraphValidationState.load(file, "symbols");
+        symbols.put("com.acme.OrderService", new GraphValidationState.ClassState("h1",
+                Set.of("com.acme.PaymentService"), Set.of(), Set.of(), List.of(), List.of()));
+        symbols.save();
+
+        GraphValidationState state = GraphValidationState.loadAnyMode(file, "names");
+        assertThat(state.getMode()).isEqualTo("symbols");
+        assertThat(state.dependentsOf(List.of("com.acme.PaymentService"))).containsExactly("com.acme.OrderService");
+        assertThat(GraphValidationState.loadAnyMode(stateFile(), "names").getMode()).isEqualTo("names");
+    }
+}
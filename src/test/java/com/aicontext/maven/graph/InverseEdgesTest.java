@@ -0,0 +1,57 @@
+package com.aicontext.maven.graph;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InverseEdgesTest {
+
+    private final ProjectTypeIndex index = new ProjectTypeIndex();
+
+    private ClassDependencies context(String simpleName) {
+        CompilationUnit cu = new JavaParser().parse("package com.acme; class " + simpleName + " {}")
+                .getResult().orElseThrow();
+        index.addCompilationUnit(cu, simpleName + ".java");
+        return new ClassDependencies("com.acme." + simpleName, index.scopeOf(cu));
+    }
+
+    @Test
+    void merge_addsUndocumentedCallersAsInferredByEdge() {
+        List<GraphNode> order = GraphNotationParser.parseBlocks("OrderService\n  └─[uses]→ PaymentService\n");
+        List<GraphNode> refund = GraphNotationParser.parseBlocks("RefundJob\n  └─[calls]→ PaymentService.refund()\n");
+        List<GraphNode> payment = GraphNotationParser.parseBlocks("PaymentService\n"
+                + "  ├─[uses]→ StripeClient\n"
+                + "  └─[by]← OrderService.checkout()\n");
+        ClassDependencies orderContext = context("OrderService");
+        ClassDependencies refundContext = context("RefundJob");
+        ClassDependencies paymentContext = context("PaymentService");
+        DependencyGraph graph = new ProjectGraphBuilder()
+                .addDocumented("com.acme.OrderService", order, orderContext)
+                .addDocumented("com.acme.RefundJob", refund, refundContext)
+                .addDocumented("com.acme.PaymentService", payment, paymentContext)
+                .build();
+
+        List<GraphNode> merged = new InverseEdges(graph).merge("com.acme.PaymentService", payment, paymentContext);
+
+        List<GraphEdge> edges = merged.get(0).getEdges();
+        assertThat(edges).hasSize(3);
+        GraphEdge inferred = edges.get(2);
+        assertThat(inferred.isInferred()).isTrue();
+        assertThat(inferred.isInbound()).isTrue();
+        assertThat(inferred.getRelationType()).isEqualTo("by");
+        assertThat(inferred.getTargets()).containsExactly("RefundJob");
+    }
+
+    @Test
+    void merge_leavesNodesWithoutCallersUnchanged() {
+        List<GraphNode> order = GraphNotationParser.parseBlocks("OrderService\n  └─[uses]→ PaymentService\n");
+        DependencyGraph graph = new ProjectGraphBuilder().addDocumented("com.acme.OrderService", order, null).build();
+
+        assertThat(new InverseEdges(graph).merge("com.acme.OrderService", order, null).get(0))
+                .isSameAs(order.get(0));
+    }
+}
@@ -0,0 +1,73 @@
+package com.aicontext.maven.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LayerRulesTest {
+
+    private static String packageOf(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : null;
+    }
+
+    private static LayerRules rules() {
+        return new LayerRules(List.of(
+                new LayerRules.Layer("web", List.of("com.acme.*.web"), Set.of("service"), Set.of("persistence")),
+                new LayerRules.Layer("service", List.of("com.acme.**.service"), null, Set.of()),
+                new LayerRules.Layer("persistence", List.of("com.acme.**.repo"), Set.of(), Set.of())));
+    }
+
+    @Test
+    void layerOf_matchesSegmentWildcardsAndSubpackages() {
+        LayerRules rules = rules();
+
+        assertThat(rules.layerOf("com.acme.orders.web")).isZero();
+        assertThat(rules.layerOf("com.acme.orders.web.dto")).isZero();
+        assertThat(rules.layerOf("com.acme.web")).isEqualTo(-1);
+        assertThat(rules.layerOf("com.acme.service")).isEqualTo(1);
+        assertThat(rules.layerOf("com.acme.billing.core.repo")).isEqualTo(2);
+        assertThat(rules.layerOf("org.other")).isEqualTo(-1);
+    }
+
+    @Test
+    void check_reportsDirectAndTransitiveViolations() {
+        DependencyGraph graph = new DependencyGraph.Builder()
+                .addEdge("com.acme.orders.web.OrderController", "com.acme.orders.service.OrderService",
+                        DependencyGraph.DETECTED)
+                // Cycle between two services; one of them reaches the repository
+                .addEdge("com.acme.orders.service.OrderService", "com.acme.orders.service.PricingService",
+                        DependencyGraph.DETECTED)
+                .addEdge("com.acme.orders.service.PricingService", "com.acme.orders.service.OrderService",
+                        DependencyGraph.DETECTED)
+                .addEdge("com.acme.orders.service.PricingService", "com.acme.orders.repo.OrderRepository",
+                        DependencyGraph.DETECTED)
+                .addEdge("com.acme.orders.repo.OrderRepository", "com.acme.orders.service.Events",
+                        DependencyGraph.DETECTED)
+                // Documented-only edges are not code dependencies
+                .addEdge("com.acme.orders.web.HealthController", "com.acme.orders.repo.OrderRepository",
+                        DependencyGraph.DOCUMENTED_USES)
+                .build();
+
+        List<String> violations = rules().check(graph, LayerRulesTest::packageOf);
+
+        assertThat(violations).containsExactly(
+                "Layer violation: com.acme.orders.repo.OrderRepository (persistence) depends on "
+                        + "com.acme.orders.service.Events (service); persistence may depend on: (none)",
+                "Layer violation: com.acme.orders.web.OrderController (web) reaches persistence via "
+                        + "OrderController → OrderService → PricingService → OrderRepository; "
+                        + "web must not reach persistence");
+    }
+
+    @Test
+    void constructor_rejectsUnknownLayers() {
+        assertThatThrownBy(() -> new LayerRules(List.of(
+                new LayerRules.Layer("web", List.of("com.acme.web"), Set.of("domain"), Set.of()))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unknown layer: domain");
+    }
+}
@@ -0,0 +1,37 @@
+package com.aicontext.maven.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectGraphBuilderTest {
+
+    @Test
+    void classOf_stripsMemberReferences() {
+        assertThat(ProjectGraphBuilder.classOf("OrderService.placeOrder()")).isEqualTo("OrderService");
+        assertThat(ProjectGraphBuilder.classOf("OrderService.placeOrder")).isEqualTo("OrderService");
+        assertThat(ProjectGraphBuilder.classOf("com.acme.OrderService")).isEqualTo("com.acme.OrderService");
+    }
+
+    @Test
+    void addDocumented_addsUsesCallsAndInboundByEdges() {
+        List<GraphNode> nodes = GraphNotationParser.parseBlocks("PaymentService\n"
+                + "  ├─[uses]→ StripeClient\n"
+                + "  ├─[calls]→ Ledger.post()\n"
+                + "  ├─[db]→ payments(table)\n"
+                + "  └─[by]← OrderService.checkout()\n");
+
+        DependencyGraph graph = new ProjectGraphBuilder()
+                .addDocumented("com.acme.PaymentService", nodes, null)
+                .build();
+
+        int payment = graph.id("com.acme.PaymentService");
+        assertThat(graph.fanOut(payment)).isEqualTo(2);
+        assertThat(graph.fanIn(payment)).isEqualTo(1);
+        assertThat(graph.id("payments")).isEqualTo(-1);
+        int order = graph.id("OrderService");
+        assertThat(graph.edgeFlags(graph.edgeStart(order))).isEqualTo(DependencyGraph.DOCUMENTED_BY);
+    }
+}
@@ -0,0 +1,99 @@
+package com.aicontext.maven.graph;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectTypeIndexTest {
+
+    private static CompilationUnit parse(String source) {
+        return new JavaParser().parse(source).getResult().orElseThrow();
+    }
+
+    private static ProjectTypeIndex index(String... sources) {
+        ProjectTypeIndex index = new ProjectTypeIndex();
+        for (int i = 0; i < sources.length; i++) {
+            index.addCompilationUnit(parse(sources[i]), "File" + i + ".java");
+        }
+        return index;
+    }
+
+    @Test
+    void addCompilationUnit_indexesNestedTypesByQualifiedName() {
+        ProjectTypeIndex index = index("package com.acme;\n"
+                + "public class Outer { static class Inner {} }\n");
+
+        assertThat(index.contains("com.acme.Outer")).isTrue();
+        assertThat(index.contains("com.acme.Outer.Inner")).isTrue();
+        assertThat(index.get("com.acme.Outer").line()).isEqualTo(2);
+    }
+
+    @Test
+    void addCompilationUnit_indexesEnumsRecordsAndAnnotationTypes() {
+        ProjectTypeIndex index = index(
+                "package com.acme; public enum Status { OPEN; enum Reason { LATE } }",
+                "package com.acme; public record Money(long cents) {}",
+                "package com.acme; public @interface Audited {}");
+
+        assertThat(index.contains("com.acme.Status")).isTrue();
+        assertThat(index.contains("com.acme.Status.Reason")).isTrue();
+        assertThat(index.contains("com.acme.Money")).isTrue();
+        assertThat(index.contains("com.acme.Audited")).isTrue();
+    }
+
+    @Test
+    void resolve_prefersTypesDeclaredInTheSameFileIncludingEnumsAndRecords() {
+        ProjectTypeIndex index = index(
+                "package com.acme.a; public enum Status { OPEN }",
+                "package com.acme.a; public class Money {}",
+                "package com.acme.b; public class Invoice { enum Status { DRAFT } record Money(long cents) {} }");
+        CompilationUnit invoice = parse("package com.acme.b;\n"
+                + "public class Invoice { enum Status { DRAFT } record Money(long cents) {} }\n");
+
+        ProjectTypeIndex.Scope scope = index.scopeOf(invoice);
+        assertThat(scope.resolve("Status")).isEqualTo("com.acme.b.Invoice.Status");
+        assertThat(scope.resolve("Money")).isEqualTo("com.acme.b.Invoice.Money");
+    }
+
+    @Test
+    void resolve_prefersSingleImportOverSamePackage() {
+        ProjectTypeIndex index = index(
+                "package com.acme.a; public class Mapper {}",
+                "package com.acme.b; public class Mapper {}");
+        CompilationUnit user = parse("package com.acme.a;\n"
+                + "import com.acme.b.Mapper;\n"
+                + "class User {}\n");
+
+        assertThat(index.scopeOf(user).resolve("Mapper")).isEqualTo("com.acme.b.Mapper");
+    }
+
+    @Test
+    void resolve_usesSamePackageThenOnDemandImports() {
+        ProjectTypeIndex index = index(
+                "package com.acme.a; public class Repo {}",
+                "package com.acme.b; public class Mapper {}");
+        CompilationUnit user = parse("package com.acme.a;\n"
+                + "import com.acme.b.*;\n"
+                + "class User {}\n");
+
+        ProjectTypeIndex.Scope scope = index.scopeOf(user);
+        assertThat(scope.resolve("Repo")).isEqualTo("com.acme.a.Repo");
+        assertThat(scope.resolve("Mapper")).isEqualTo("com.acme.b.Mapper");
+        assertThat(scope.resolve("String")).isNull();
+    }
+
+    @Test
+    void resolve_handlesQualifiedAndOuterInnerNames() {
+        ProjectTypeIndex index = index(
+                "package com.acme.b; public class Outer { public static class Inner {} }");
+        CompilationUnit user = parse("package com.acme.a;\n"
+                + "import com.acme.b.Outer;\n"
+                + "class User {}\n");
+
+        ProjectTypeIndex.Scope scope = index.scopeOf(user);
+        assertThat(scope.resolve("Outer.Inner")).isEqualTo("com.acme.b.Outer.Inner");
+        assertThat(scope.resolve("com.acme.b.Outer")).isEqualTo("com.acme.b.Outer");
+    }
+}
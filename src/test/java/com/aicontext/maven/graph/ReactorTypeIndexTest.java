@@ -0,0 +1,81 @@
+package com.aicontext.maven.graph;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+
+class ReactorTypeIndexTest {
+
+    @TempDir
+    Path root;
+
+    private static CompilationUnit parse(String source) {
+        return new JavaParser().parse(source).getResult().orElseThrow();
+    }
+
+    private static ProjectTypeIndex index(String source) {
+        ProjectTypeIndex index = new ProjectTypeIndex();
+        index.addCompilationUnit(parse(source), "File.java");
+        return index;
+    }
+
+    @Test
+    void scopeResolvesTypesPublishedBySiblingModules() {
+        ReactorTypeIndex reactor = ReactorTypeIndex.forBuild(root, 1);
+        reactor.publish("core", index("package com.acme.core; public class Money {}"));
+
+        ProjectTypeIndex app = index("package com.acme.app; public class Checkout {}");
+        CompilationUnit user = parse("package com.acme.app;\n"
+                + "import com.acme.core.Money;\n"
+                + "class Checkout {}\n");
+        assertThat(app.scopeOf(user).resolve("Money")).isNull();
+
+        app.setReactor(reactor);
+        assertThat(app.scopeOf(user).resolve("Money")).isEqualTo("com.acme.core.Money");
+        assertThat(app.scopeOf(user).resolve("com.acme.core.Money")).isEqualTo("com.acme.core.Money");
+        assertThat(app.contains("com.acme.core.Money")).isFalse();
+        assertThat(ReactorTypeIndex.forBuild(root.resolve("."), 1)).isSameAs(reactor);
+    }
+
+    @Test
+    void publishingAModuleAgainReplacesItsTypes() {
+        ReactorTypeIndex reactor = ReactorTypeIndex.forBuild(root, 1);
+        reactor.publish("core", index("package com.acme.core; public class Money {}"));
+        reactor.publish("core", index("package com.acme.core; public class Amount {}"));
+
+        assertThat(reactor.contains("com.acme.core.Money")).isFalse();
+        assertThat(reactor.moduleOf("com.acme.core.Amount")).isEqualTo("core");
+        assertThat(reactor.typeNames()).containsExactly("com.acme.core.Amount");
+    }
+
+    @Test
+    void viewOnlySeesTheModulesItDependsOn() {
+        ReactorTypeIndex reactor = ReactorTypeIndex.forBuild(root, 1);
+        reactor.publish("core", index("package com.acme.core; public class Money {}"));
+        reactor.publish("web", index("package com.acme.web; public class Page {}"));
+
+        ReactorTypeIndex app = reactor.restrictedTo(List.of("core"));
+        assertThat(app.contains("com.acme.core.Money")).isTrue();
+        assertThat(app.contains("com.acme.web.Page")).isFalse();
+        assertThat(app.moduleOf("com.acme.web.Page")).isNull();
+        assertThat(app.typeNames()).containsExactly("com.acme.core.Money");
+    }
+
+    @Test
+    void aNewBuildStartsFromAnEmptyIndex() {
+        ReactorTypeIndex first = ReactorTypeIndex.forBuild(root, 1);
+        first.publish("core", index("package com.acme.core; public class Money {}"));
+
+        ReactorTypeIndex second = ReactorTypeIndex.forBuild(root, 2);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.contains("com.acme.core.Money")).isFalse();
+        assertThat(second.typeNames()).isEmpty();
+    }
+}
@@ -0,0 +1,185 @@
+package com.aicontext.maven.graph;
+
+import com.github.javaparser.JavaParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+import javax.tools.ToolProvider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SymbolSolvingAnalyzerTest {
+
+    private Path baseDir;
+    private Path sourceRoot;
+    private ProjectTypeIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        baseDir = Path.of("target/test-output", getClass().getSimpleName(),
+                String.valueOf(System.nanoTime())).toAbsolutePath();
+        sourceRoot = baseDir.resolve("src");
+        write("com/acme/a/Mapper.java", "package com.acme.a; public class Mapper {}");
+        write("com/acme/b/Mapper.java", "package com.acme.b; public class Mapper {}");
+        write("com/acme/b/Repo.java", "package com.acme.b; public class Repo {}");
+        write("com/acme/b/Repos.java", "package com.acme.b; public class Repos { public static Repo create() { return null; } }");
+        write("com/acme/app/Service.java", "package com.acme.app;\n"
+                + "import com.acme.b.*;\n"
+                + "public class Service {\n"
+                + "    private Mapper mapper;\n"
+                + "    void run() { var repo = Repos.create(); }\n"
+                + "}\n");
+        index = new ProjectTypeIndex();
+        try (var files = Files.walk(sourceRoot)) {
+            for (Path file : files.filter(p -> p.toString().endsWith(".java")).toList()) {
+                index.addCompilationUnit(new JavaParser().parse(file).getResult().orElseThrow(), file.toString());
+            }
+        }
+    }
+
+    private Path write(String relative, String source) throws Exception {
+        Path file = sourceRoot.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, source);
+        return file;
+    }
+
+    // A jar with the given library class, compiled from source
+    private Path compiledJar(String className, String source) throws Exception {
+        Path src = baseDir.resolve("lib-src/" + className.replace('.', '/') + ".java");
+        Files.createDirectories(src.getParent());
+        Files.writeString(src, source);
+        Path classes = baseDir.resolve("lib-classes");
+        assertThat(ToolProvider.getSystemJavaCompiler().run(null, null, null,
+                "-d", classes.toString(), src.toString())).isZero();
+        Path jar = baseDir.resolve("lib.jar");
+        String entry = className.replace('.', '/') + ".class";
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            out.putNextEntry(new ZipEntry(entry));
+            out.write(Files.readAllBytes(classes.resolve(entry)));
+            out.closeEntry();
+        }
+        return jar;
+    }
+
+    private SymbolSolvingAnalyzer analyzer(Path cacheFile) {
+        return new SymbolSolvingAnalyzer(List.of(sourceRoot), List.of(), cacheFile, 2);
+    }
+
+    @Test
+    void findUsedProjectTypes_resolvesWildcardImportsAndVarLocals() throws Exception {
+        Path service = sourceRoot.resolve("com/acme/app/Service.java");
+
+        Map<String, Set<String>> used = analyzer(null).findUsedProjectTypes(List.of(service), index);
+
+        assertThat(used.get("com.acme.app.Service"))
+                .containsExactlyInAnyOrder("com.acme.b.Mapper", "com.acme.b.Repo", "com.acme.b.Repos");
+    }
+
+    @Test
+    void findUsedProjectTypes_reusesPersistedResultsForUnchangedFiles() throws Exception {
+        Path cacheFile = baseDir.resolve(SymbolSolvingAnalyzer.CACHE_FILE_NAME);
+        Path service = sourceRoot.resolve("com/acme/app/Service.java");
+        SymbolSolvingAnalyzer first = analyzer(cacheFile);
+        first.findUsedProjectTypes(List.of(service), index);
+        first.saveCache();
+
+        SymbolSolvingAnalyzer second = analyzer(cacheFile);
+        second.loadCache();
+        Map<String, Set<String>> cached = second.findUsedProjectTypes(List.of(service), index);
+        assertThat(second.getResolvedFileCount()).isZero();
+        assertThat(cached.get("com.acme.app.Service")).contains("com.acme.b.Mapper");
+
+        write("com/acme/app/Service.java", "package com.acme.app;\n"
+                + "public class Service { private com.acme.a.Mapper mapper; }\n");
+        Map<String, Set<String>> changed = second.findUsedProjectTypes(List.of(service), index);
+        assertThat(second.getResolvedFileCount()).isEqualTo(1);
+        assertThat(changed.get("com.acme.app.Service")).containsExactly("com.acme.a.Mapper");
+    }
+
+    @Test
+    void findUsedProjectTypes_resolvesUnchangedFileAgainWhenAProjectTypeIsAdded() throws Exception {
+        Path cacheFile = baseDir.resolve(SymbolSolvingAnalyzer.CACHE_FILE_NAME);
+        Path service = sourceRoot.resolve("com/acme/app/Service.java");
+        SymbolSolvingAnalyzer first = analyzer(cacheFile);
+        first.findUsedProjectTypes(List.of(service), index);
+        first.saveCache();
+
+        // Same package beats the on-demand import
+        Path mapper = write("com/acme/app/Mapper.java", "package com.acme.app; public class Mapper {}");
+        index.addCompilationUnit(new JavaParser().parse(mapper).getResult().orElseThrow(), mapper.toString());
+        SymbolSolvingAnalyzer second = analyzer(cacheFile);
+        second.loadCache();
+        Map<String, Set<String>> used = second.findUsedProjectTypes(List.of(service), index);
+
+        assertThat(second.getResolvedFileCount()).isEqualTo(1);
+        assertThat(used.get("com.acme.app.Service")).contains("com.acme.app.Mapper").doesNotContain("com.acme.b.Mapper");
+    }
+
+    @Test
+    void findUsedProjectTypes_resolvesUnchangedFileAgainWhenAFileItReadChanges() throws Exception {
+        Path cacheFile = baseDir.resolve(SymbolSolvingAnalyzer.CACHE_FILE_NAME);
+        Path service = sourceRoot.resolve("com/acme/app/Service.java");
+        SymbolSolvingAnalyzer first = analyzer(cacheFile);
+        first.findUsedProjectTypes(List.of(service), index);
+        first.saveCache();
+
+        // Only the called method's return type changes: same file set, same project types
+        write("com/acme/b/Repos.java", "package com.acme.b;\n"
+                + "public class Repos { public static com.acme.a.Mapper create() { return null; } }");
+        SymbolSolvingAnalyzer second = analyzer(cacheFile);
+        second.loadCache();
+        Map<String, Set<String>> used = second.findUsedProjectTypes(List.of(service), index);
+
+        assertThat(second.getResolvedFileCount()).isEqualTo(1);
+        assertThat(used.get("com.acme.app.Service")).contains("com.acme.a.Mapper").doesNotContain("com.acme.b.Repo");
+    }
+
+    @Test
+    void findUsedProjectTypes_resolvesJarTypesOnEveryWorker() throws Exception {
+        Path jar = compiledJar("com.lib.Box", "package com.lib;\n"
+                + "public class Box<T> { public static <T> Box<T> of(T value) { return new Box<>(); } }");
+        List<Path> files = new ArrayList<>();
+        for (String name : List.of("First", "Second", "Third")) {
+            // Repo is only known from the inferred type Box<Repo>
+            Path file = write("com/acme/app/" + name + ".java", "package com.acme.app;\n"
+                    + "import com.acme.b.Repos;\n"
+                    + "public class " + name + " { void run() { var box = com.lib.Box.of(Repos.create()); } }\n");
+            index.addCompilationUnit(new JavaParser().parse(file).getResult().orElseThrow(), file.toString());
+            files.add(file);
+        }
+
+        Map<String, Set<String>> used = new SymbolSolvingAnalyzer(List.of(sourceRoot), List.of(jar), null, 3)
+                .findUsedProjectTypes(files, index);
+
+        for (String name : List.of("First", "Second", "Third")) {
+            assertThat(used.get("com.acme.app." + name)).contains("com.acme.b.Repo");
+        }
+    }
+
+    @Test
+    void loadCache_discardsResultsWhenAJarIsRebuiltInPlace() throws Exception {
+        Path cacheFile = baseDir.resolve(SymbolSolvingAnalyzer.CACHE_FILE_NAME);
+        Path jar = baseDir.resolve("lib.jar");
+        Files.write(jar, new byte[] {1});
+        Path service = sourceRoot.resolve("com/acme/app/Service.java");
+        SymbolSolvingAnalyzer first = new SymbolSolvingAnalyzer(List.of(sourceRoot), List.of(jar), cacheFile, 1);
+        first.findUsedProjectTypes(List.of(service), index);
+        first.saveCache();
+
+        Files.write(jar, new byte[] {1, 2});
+        SymbolSolvingAnalyzer second = new SymbolSolvingAnalyzer(List.of(sourceRoot), List.of(jar), cacheFile, 1);
+        second.loadCache();
+        second.findUsedProjectTypes(List.of(service), index);
+
+        assertThat(second.getResolvedFileCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,78 @@
+package com.aicontext.maven.inference;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.FieldDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.stmt.SynchronizedStmt;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InferenceRulesTest {
+
+    private static List<String> infer(String source) {
+        CompilationUnit cu = new JavaParser().parse(source).getResult().orElseThrow();
+        List<String> notes = new ArrayList<>();
+        for (InferenceRule rule : InferenceRules.builtIn()) {
+            cu.findAll(ClassOrInterfaceDeclaration.class).forEach(n -> rule.onClass(n, notes::add));
+            cu.findAll(FieldDeclaration.class).forEach(n -> rule.onField(n, notes::add));
+            cu.findAll(MethodDeclaration.class).forEach(n -> rule.onMethod(n, notes::add));
+            cu.findAll(SynchronizedStmt.class).forEach(n -> rule.onSynchronized(n, notes::add));
+        }
+        return notes;
+    }
+
+    @Test
+    void builtIn_infersTransactionsConcurrencyDeprecationsAndEntryPoints() {
+        List<String> notes = infer("""
+                @RestController
+                public class OrderController {
+                    private final ConcurrentHashMap<String, Order> cache = new ConcurrentHashMap<>();
+                    private volatile boolean open;
+
+                    @PostMapping("/orders")
+                    @Transactional
+                    public Order place(Order order) {
+                        synchronized (cache) {
+                            return order;
+                        }
+                    }
+
+                    /**
+                     * @deprecated use {@link #place} instead
+                     */
+                    @Deprecated
+                    public synchronized void legacyPlace() {
+                    }
+                }
+                """);
+
+        assertThat(notes).containsExactly(
+                "Transaction boundary: place() runs in a transaction (@Transactional); changes are rolled back if it throws.",
+                "Concurrency: field cache (ConcurrentHashMap) is shared between threads; keep updates atomic.",
+                "Concurrency: field open is volatile and read by several threads; compound updates need a lock or an atomic type.",
+                "Concurrency: legacyPlace() is synchronized on the instance; avoid slow or blocking calls while holding the lock.",
+                "Concurrency: synchronizes on `cache`; avoid slow or blocking calls while holding the lock.",
+                "Deprecated API: legacyPlace() is deprecated; do not add new calls. use {@link #place} instead",
+                "Entry point: OrderController is called by the framework (@RestController); its public methods are an external contract.",
+                "Entry point: place() is invoked by the framework (@PostMapping(\"/orders\")); keep its signature and behavior backward compatible.");
+    }
+
+    @Test
+    void builtIn_ignoresPlainCode() {
+        assertThat(infer("""
+                public class Calculator {
+                    private int total;
+
+                    public int add(int value) {
+                        return total += value;
+                    }
+                }
+                """)).isEmpty();
+    }
+}
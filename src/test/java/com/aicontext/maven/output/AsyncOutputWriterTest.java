@@ -0,0 +1,93 @@
+package com.aicontext.maven.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncOutputWriterTest {
+
+    private static final String MARKER = "AICONTEXT:CUSTOM";
+
+    private Path baseDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        baseDir = Path.of("target/test-output", getClass().getSimpleName(),
+                String.valueOf(System.nanoTime()));
+        Files.createDirectories(baseDir);
+    }
+
+    @Test
+    void flush_stagesEverySubmittedFileEvenWithTinyQueue() throws Exception {
+        OutputCommitter committer = new OutputCommitter(null, null, false, MARKER);
+        try (AsyncOutputWriter writer = new AsyncOutputWriter(committer, 1)) {
+            for (int i = 0; i < 50; i++) {
+                writer.submit("cursor", baseDir.resolve("rules-" + (i % 3) + "/rule-" + i + ".md"), "rule " + i);
+            }
+            writer.flush();
+        }
+        committer.commit();
+
+        assertThat(Files.readString(baseDir.resolve("rules-0/rule-0.md"))).isEqualTo("rule 0");
+        assertThat(Files.readString(baseDir.resolve("rules-1/rule-49.md"))).isEqualTo("rule 49");
+    }
+
+    @Test
+    void submit_keepsLastOutputForTheSameTarget() throws Exception {
+        OutputCommitter committer = new OutputCommitter(null, null, false, MARKER);
+        Path target = baseDir.resolve("CLAUDE.md");
+        try (AsyncOutputWriter writer = new AsyncOutputWriter(committer, 8)) {
+            writer.submit("claude", target, "first");
+            writer.submit("claude", target, "second");
+            writer.flush();
+        }
+        committer.commit();
+
+        assertThat(Files.readString(target)).isEqualTo("second");
+    }
+
+    @Test
+    void flush_reportsWriteFailures() throws Exception {
+        Path blocker = baseDir.resolve("not-a-directory");
+        Files.writeString(blocker, "file");
+        OutputCommitter committer = new OutputCommitter(null, null, false, MARKER);
+        AsyncOutputWriter writer = new AsyncOutputWriter(committer, 4);
+
+        writer.submit("claude", blocker.resolve("RULES.md"), "content");
+
+        assertThatThrownBy(writer::flush).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> writer.submit("claude", baseDir.resolve("OK.md"), "x"))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(writer::close).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void submitAndFlush_failFastWhenStagingThrowsAnError() {
+        OutputCommitter committer = new OutputCommitter(null, null, false, MARKER) {
+            @Override
+            public void stage(String assistant, Path target, String generated) {
+                throw new StackOverflowError("staging");
+            }
+        };
+        AsyncOutputWriter writer = new AsyncOutputWriter(committer, 1);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            assertThatThrownBy(() -> {
+                for (int i = 0; i < 50; i++) {
+                    writer.submit("claude", baseDir.resolve("RULE-" + i + ".md"), "rule " + i);
+                }
+                writer.flush();
+            }).isInstanceOf(StackOverflowError.class);
+            assertThatThrownBy(writer::flush).isInstanceOf(StackOverflowError.class);
+            assertThatThrownBy(writer::close).isInstanceOf(StackOverflowError.class);
+        });
+    }
+}
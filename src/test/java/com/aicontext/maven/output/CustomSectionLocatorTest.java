@@ -0,0 +1,87 @@
+package com.aicontext.maven.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CustomSectionLocatorTest {
+
+    private static final String MARKDOWN_TEMPLATE = "# Generated\n\n---\n\n"
+            + "<!-- AICONTEXT:CUSTOM - Content below this line will be preserved on regeneration -->\n\n"
+            + "## Custom Notes\n\n"
+            + "_Add your own project-specific notes, rules, or context below. This section will not be overwritten._\n\n";
+
+    private final CustomSectionLocator locator = new CustomSectionLocator("AICONTEXT:CUSTOM");
+    private Path baseDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        baseDir = Path.of("target/test-output", getClass().getSimpleName(),
+                String.valueOf(System.nanoTime()));
+        Files.createDirectories(baseDir);
+    }
+
+    @Test
+    void locate_ignoresUntouchedMarkdownTemplate() throws Exception {
+        assertThat(locate(MARKDOWN_TEMPLATE)).isEqualTo("");
+    }
+
+    @Test
+    void locate_returnsTemplateAndUserContentBelowMarker() throws Exception {
+        String tail = locate(MARKDOWN_TEMPLATE + "## Team Conventions\n\n- Prefer records\n");
+
+        assertThat(tail).startsWith("\n## Custom Notes");
+        assertThat(tail).endsWith("## Team Conventions\n\n- Prefer records\n");
+    }
+
+    @Test
+    void locate_ignoresUntouchedYamlTemplate() throws Exception {
+        String yaml = "# AIContext:generated\nname: x\n"
+                + "# AICONTEXT:CUSTOM - Content below this line will be preserved on regeneration\n"
+                + "# Add your own customizations below:\n";
+
+        assertThat(locate(yaml)).isEqualTo("");
+        assertThat(locate(yaml + "extra: true\n")).isEqualTo("# Add your own customizations below:\nextra: true\n");
+    }
+
+    @Test
+    void locate_returnsNothingWithoutMarker() throws Exception {
+        assertThat(locate("# Generated\nno marker here\n")).isEqualTo("");
+        assertThat(locate("")).isEqualTo("");
+    }
+
+    @Test
+    void locate_findsMarkerInTheMiddleOfAFileLargerThanTheBuffer() throws Exception {
+        String generated = "# Generated\n" + "- rule line\n".repeat(400);
+        String notes = "## Team Conventions\n\n" + "- keep this\n".repeat(300);
+        // Every chunk size splits the marker, hint or template at a different offset
+        for (int chunkSize = 64; chunkSize <= 512; chunkSize += 37) {
+            CustomSectionLocator small = new CustomSectionLocator("AICONTEXT:CUSTOM", chunkSize);
+            assertThat(locate(small, generated + MARKDOWN_TEMPLATE)).isEqualTo("");
+            assertThat(locate(small, generated + MARKDOWN_TEMPLATE + notes))
+                    .startsWith("\n## Custom Notes")
+                    .endsWith(notes);
+        }
+    }
+
+    private String locate(String content) throws Exception {
+        return locate(locator, content);
+    }
+
+    private String locate(CustomSectionLocator locator, String content) throws Exception {
+        Path source = baseDir.resolve("source-" + System.nanoTime() + ".md");
+        Path target = baseDir.resolve("target-" + System.nanoTime() + ".md");
+        Files.writeString(source, content);
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            locator.locate(in).transfer(in, out);
+        }
+        return Files.readString(target);
+    }
+}
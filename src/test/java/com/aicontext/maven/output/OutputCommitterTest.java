@@ -0,0 +1,112 @@
+package com.aicontext.maven.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OutputCommitterTest {
+
+    private static final String MARKER = "AICONTEXT:CUSTOM";
+
+    private Path baseDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        baseDir = Path.of("target/test-output", getClass().getSimpleName(),
+                String.valueOf(System.nanoTime()));
+        Files.createDirectories(baseDir);
+    }
+
+    @Test
+    void stage_leavesTargetUntouchedUntilCommit() throws Exception {
+        Path target = baseDir.resolve("nested/dir/RULES.md");
+        OutputCommitter committer = new OutputCommitter(null, null, true, MARKER);
+
+        committer.stage("claude", target, "generated\n");
+        assertThat(target).doesNotExist();
+
+        committer.commit();
+        assertThat(Files.readString(target)).isEqualTo("generated\n");
+        assertThat(tempFiles(target.getParent())).isZero();
+    }
+
+    @Test
+    void stage_appendsPreservedCustomSectionOfExistingFile() throws Exception {
+        Path target = baseDir.resolve("CLAUDE.md");
+        Files.writeString(target, "old body\n<!-- " + MARKER + " -->\nmy notes\n");
+        OutputCommitter committer = new OutputCommitter(null, null, false, MARKER);
+
+        committer.stage("claude", target, "new body\n<!-- " + MARKER + " -->\n");
+        committer.commit();
+
+        assertThat(Files.readString(target)).isEqualTo("new body\n<!-- " + MARKER + " -->\nmy notes\n");
+    }
+
+    @Test
+    void abort_discardsStagedFiles() throws Exception {
+        Path target = baseDir.resolve("DECISIONS.md");
+        Files.writeString(target, "previous");
+        OutputCommitter committer = new OutputCommitter(null, null, false, MARKER);
+
+        committer.stage("claude", target, "replacement");
+        committer.abort();
+        committer.commit();
+
+        assertThat(Files.readString(target)).isEqualTo("previous");
+        assertThat(tempFiles(baseDir)).isZero();
+    }
+
+    @Test
+    void stage_skipsFilesUpToDateInPreviousManifest() throws Exception {
+        Path target = baseDir.resolve("ARCHITECTURE.md");
+        OutputManifest first = new OutputManifest(baseDir);
+        OutputCommitter firstRun = new OutputCommitter(new OutputManifest(baseDir), first, false, MARKER);
+        firstRun.stage("claude", target, "same");
+        firstRun.commit();
+        long writtenAt = Files.getLastModifiedTime(target).toMillis();
+
+        OutputManifest second = new OutputManifest(baseDir);
+        OutputCommitter secondRun = new OutputCommitter(first, second, false, MARKER);
+        secondRun.stage("claude", target, "same");
+        secondRun.commit();
+
+        assertThat(second.contains(target)).isTrue();
+        assertThat(Files.getLastModifiedTime(target).toMillis()).isEqualTo(writtenAt);
+        assertThat(tempFiles(baseDir)).isZero();
+    }
+
+    @Test
+    void stage_ignoresTimestampWhenCheckingUpToDate() throws Exception {
+        Path target = baseDir.resolve("CLAUDE.md");
+        OutputManifest first = new OutputManifest(baseDir);
+        OutputCommitter firstRun = new OutputCommitter(new OutputManifest(baseDir), first, false, MARKER);
+        firstRun.setTimestamp("@@now@@", "2026-01-01T10:00");
+        firstRun.stage("claude", target, "Updated @@now@@\n");
+        firstRun.commit();
+        assertThat(Files.readString(target)).isEqualTo("Updated 2026-01-01T10:00\n");
+
+        OutputManifest second = new OutputManifest(baseDir);
+        OutputCommitter secondRun = new OutputCommitter(first, second, false, MARKER);
+        secondRun.setTimestamp("@@now@@", "2026-01-02T10:00");
+        secondRun.stage("claude", target, "Updated @@now@@\n");
+        secondRun.commit();
+        assertThat(Files.readString(target)).isEqualTo("Updated 2026-01-01T10:00\n");
+
+        OutputCommitter thirdRun = new OutputCommitter(second, new OutputManifest(baseDir), false, MARKER);
+        thirdRun.setTimestamp("@@now@@", "2026-01-03T10:00");
+        thirdRun.stage("claude", target, "Changed @@now@@\n");
+        thirdRun.commit();
+        assertThat(Files.readString(target)).isEqualTo("Changed 2026-01-03T10:00\n");
+    }
+
+    private long tempFiles(Path dir) throws Exception {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(".tmp")).count();
+        }
+    }
+}
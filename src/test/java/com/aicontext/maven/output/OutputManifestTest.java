@@ -0,0 +1,92 @@
+package com.aicontext.maven.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OutputManifestTest {
+
+    private Path baseDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        baseDir = Path.of("target/test-output", getClass().getSimpleName(),
+                String.valueOf(System.nanoTime()));
+        Files.createDirectories(baseDir);
+    }
+
+    @Test
+    void saveAndLoad_roundTripsEntriesWithRelativePaths() throws Exception {
+        Path file = write("claude/CLAUDE.md", "hello");
+        OutputManifest manifest = new OutputManifest(baseDir.resolve(".aicontext"));
+        manifest.record("claude", file, OutputManifest.hash("hello"));
+        manifest.save();
+
+        String stored = Files.readString(baseDir.resolve(".aicontext").resolve(OutputManifest.FILE_NAME));
+        assertThat(stored).contains("../claude/CLAUDE.md");
+
+        OutputManifest loaded = OutputManifest.load(baseDir.resolve(".aicontext"));
+        assertThat(loaded.contains(file)).isTrue();
+        assertThat(loaded.containsAnyUnder(baseDir.resolve("claude"))).isTrue();
+        assertThat(loaded.containsAnyUnder(baseDir.resolve("cursor"))).isFalse();
+        assertThat(loaded.get(file).assistant()).isEqualTo("claude");
+    }
+
+    @Test
+    void isUpToDate_requiresSameHashAndUntouchedFile() throws Exception {
+        Path file = write("RULES.md", "rules");
+        OutputManifest manifest = new OutputManifest(baseDir);
+        String hash = OutputManifest.hash("rules");
+        manifest.record("claude", file, hash);
+
+        assertThat(manifest.isUpToDate(file, hash)).isTrue();
+        assertThat(manifest.isUpToDate(file, OutputManifest.hash("other"))).isFalse();
+
+        Files.writeString(file, "rules plus user notes");
+        assertThat(manifest.isUpToDate(file, hash)).isFalse();
+        assertThat(manifest.isUnmodified(file)).isFalse();
+    }
+
+    @Test
+    void staleFiles_listsOnlyFilesMissingFromCurrentRun() throws Exception {
+        Path kept = write("rules/rule-a.md", "a");
+        Path removed = write("rules/rule-b.md", "b");
+        Path otherAssistant = write("copilot/copilot-instructions.md", "c");
+
+        OutputManifest previous = new OutputManifest(baseDir);
+        previous.record("cursor", kept, OutputManifest.hash("a"));
+        previous.record("cursor", removed, OutputManifest.hash("b"));
+        previous.record("copilot", otherAssistant, OutputManifest.hash("c"));
+
+        OutputManifest current = new OutputManifest(baseDir);
+        current.record("cursor", kept, OutputManifest.hash("a"));
+        current.carryOverExcept(previous, Set.of("cursor"));
+
+        assertThat(previous.staleFiles(current)).containsExactly(removed.toAbsolutePath().normalize());
+        assertThat(previous.isUnmodified(removed)).isTrue();
+    }
+
+    @Test
+    void isUnmodified_detectsTouchedFile() throws Exception {
+        Path file = write("DECISIONS.md", "same");
+        OutputManifest manifest = new OutputManifest(baseDir);
+        manifest.record("claude", file, OutputManifest.hash("same"));
+
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() - 60_000));
+
+        assertThat(manifest.isUnmodified(file)).isFalse();
+    }
+
+    private Path write(String relative, String content) throws Exception {
+        Path file = baseDir.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+        return file;
+    }
+}
@@ -0,0 +1,55 @@
+package com.aicontext.maven.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SignatureDetectorTest {
+
+    private static final String MARKER = "AIContext:generated";
+
+    private Path baseDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        baseDir = Path.of("target/test-output", getClass().getSimpleName(),
+                String.valueOf(System.nanoTime()));
+        Files.createDirectories(baseDir);
+    }
+
+    @Test
+    void isSigned_detectsSignatureOnFirstLine() throws Exception {
+        Path file = baseDir.resolve("CLAUDE.md");
+        Files.writeString(file, "<!-- " + MARKER + " -->\n# Title\n" + "x".repeat(100_000));
+
+        assertThat(new SignatureDetector(MARKER).isSigned(file)).isTrue();
+    }
+
+    @Test
+    void isSigned_fallsBackToScanForLegacyFiles() throws Exception {
+        // Small header so the marker straddles the boundary between two chunks
+        SignatureDetector detector = new SignatureDetector(MARKER, 64);
+        Path file = baseDir.resolve("legacy.md");
+        Files.writeString(file, "y".repeat(54) + MARKER + "\n");
+
+        assertThat(detector.isSigned(file)).isTrue();
+    }
+
+    @Test
+    void isSigned_returnsFalseForForeignAndMissingFiles() throws Exception {
+        SignatureDetector detector = new SignatureDetector(MARKER, 64);
+        Path file = baseDir.resolve("manual.md");
+        Files.writeString(file, "# Hand-written instructions\n" + "z".repeat(500));
+
+        assertThat(detector.isSigned(file)).isFalse();
+        assertThat(detector.isSigned(baseDir.resolve("missing.md"))).isFalse();
+        // The reused buffer must not leak state between calls
+        Files.writeString(baseDir.resolve("short.md"), MARKER);
+        assertThat(detector.isSigned(baseDir.resolve("short.md"))).isTrue();
+        assertThat(detector.isSigned(file)).isFalse();
+    }
+}